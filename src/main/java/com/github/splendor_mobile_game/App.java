@@ -6,8 +6,12 @@ import java.util.Arrays;
 import java.util.List;
 
 import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.websocket.communication.CompressionSettings;
 import com.github.splendor_mobile_game.websocket.communication.ConnectionCheckerWithoutDefaultConstructorException;
+import com.github.splendor_mobile_game.websocket.communication.ThreadingSettings;
 import com.github.splendor_mobile_game.websocket.communication.WebSocketSplendorServer;
+import com.github.splendor_mobile_game.websocket.communication.limits.InboundLimits;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutboundLimits;
 import com.github.splendor_mobile_game.websocket.config.Config;
 import com.github.splendor_mobile_game.websocket.config.EnvConfig;
 import com.github.splendor_mobile_game.websocket.config.exceptions.InvalidConfigException;
@@ -23,7 +27,8 @@ public class App {
 	private static List<Class<?>> classesWithReactions = new ArrayList<>(Arrays.asList(
 		CreateRoom.class, JoinRoom.class, DebugGetRandomCard.class, LeaveRoom.class, GetTokens.class,
 		 EndTurnTest.class, StartGame.class, BuyRevealedMine.class, MakeReservationFromDeck.class, 
-		 BuyReservedMine.class, EndTurn.class,MakeReservationFromTable.class,Kick.class,SendChatMessage.class
+		 BuyReservedMine.class, EndTurn.class,MakeReservationFromTable.class,Kick.class,SendChatMessage.class,
+		 GetLegalActions.class
 	));
 
 
@@ -52,14 +57,32 @@ public class App {
 		int port = config.getPort();
 		WebSocketSplendorServer server = new WebSocketSplendorServer(
 			new InetSocketAddress(port),
-			reactionManager.reactions,
+			reactionManager.getBindings(),
 			SimpleConnectionChecker.class,
 			config.getPingIntervalMs(),
 			config.getConnectionCheckIntervalMs(),
-			new InMemoryDatabase()
+			new InMemoryDatabase(),
+			new CompressionSettings(config.isCompressionEnabled(), config.getCompressionThresholdBytes(), config.getCompressionLevel()),
+			new ThreadingSettings(config.getDecoderThreads(), config.getReactionThreads(), config.getReactionExecutorType())
 		);
 
 		server.setConnectionLostTimeout(config.getConnectionLostTimeoutSec());
+		server.setTcpNoDelay(config.isTcpNoDelay());
+		server.setMaxPendingConnections(config.getMaxPendingConnections());
+		server.setOutboundLimits(new OutboundLimits(config.getOutboundQueueMaxBytes(), config.getOutboundQueueMaxMessages()));
+		server.setInboundLimits(new InboundLimits(config.getConnectionRateLimit(), config.getRequestRateLimits(),
+			config.getCpuQuotaMsPerMinute(), config.getMaxRateLimitViolationsPerMinute()));
+		server.setReplayCacheLimits(config.getReplayCacheSize(), config.getReplayCacheTtlSec() * 1000L);
+
+		// Let the games reach the end of the turn when the process is asked to stop
+		long drainTimeoutMs = config.getDrainTimeoutSec() * 1000L;
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				server.drain(drainTimeoutMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}, "shutdown-drain"));
 
 		// Start the server
 		Log.INFO("Starting the server on ws://localhost:" + port);
@@ -0,0 +1,165 @@
+package com.github.splendor_mobile_game.database;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * The immutable set of the development cards the games are played with. It's loaded once and shared by all the games,
+ * so starting a game doesn't copy it. The cards are found by their IDs from the CSV file, which are dense,
+ * or by their UUIDs, and the cards of each tier are precomputed.
+ */
+public final class CardCatalog {
+
+    /** The CSV file the standard catalog is loaded from. */
+    public static final String DEFAULT_FILE = "resources/CardDatabase.csv";
+
+    /** Loads the standard catalog the first time it's asked for. */
+    private static class StandardHolder {
+        static final CardCatalog INSTANCE = load(DEFAULT_FILE);
+    }
+
+    /** The cards by their IDs, the slots of the missing IDs are null. */
+    private final Card[] cardsById;
+
+    private final Map<UUID, Card> cardsByUuid;
+
+    private final Map<CardTier, List<Card>> cardsByTier;
+
+    private final List<Card> allCards;
+
+    /**
+     * @param cards the cards of the catalog, with unique non-negative IDs
+     * @throws IllegalArgumentException if two cards have the same ID
+     */
+    public CardCatalog(Collection<Card> cards) {
+        int maxId = -1;
+        for (Card card : cards) {
+            maxId = Math.max(maxId, card.getCardID());
+        }
+
+        Card[] cardsById = new Card[maxId + 1];
+        Map<UUID, Card> cardsByUuid = new HashMap<>();
+        Map<CardTier, List<Card>> cardsByTier = new EnumMap<>(CardTier.class);
+        for (CardTier tier : CardTier.values()) {
+            cardsByTier.put(tier, new ArrayList<>());
+        }
+
+        for (Card card : cards) {
+            if (cardsById[card.getCardID()] != null) {
+                throw new IllegalArgumentException("Two cards have the same ID " + card.getCardID());
+            }
+            cardsById[card.getCardID()] = card;
+            cardsByUuid.put(card.getUuid(), card);
+            cardsByTier.get(card.getCardTier()).add(card);
+        }
+
+        for (CardTier tier : CardTier.values()) {
+            cardsByTier.put(tier, List.copyOf(cardsByTier.get(tier)));
+        }
+
+        this.cardsById = cardsById;
+        this.cardsByUuid = Map.copyOf(cardsByUuid);
+        this.cardsByTier = cardsByTier;
+        this.allCards = List.copyOf(cards);
+    }
+
+    /**
+     * @return the catalog loaded from {@link #DEFAULT_FILE}, the same instance on every call
+     */
+    public static CardCatalog standard() {
+        return StandardHolder.INSTANCE;
+    }
+
+    /**
+     * Loads the catalog from the CSV file. The invalid lines are logged and skipped.
+     *
+     * @param csvFile the path of the CSV file
+     * @return the catalog, empty if the file can't be read
+     */
+    public static CardCatalog load(String csvFile) {
+        String line = "";
+        String csvSplitBy = ";";
+        List<Card> cards = new ArrayList<>();
+
+        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
+
+            line = br.readLine();   //skipping first line because there are headlines
+
+            while ((line = br.readLine()) != null) {
+
+                String[] data = line.split(csvSplitBy);
+
+                try {
+                    Card card = new Card(CardTier.valueOf(data[0]),
+                                    Integer.parseInt(data[2]),
+                                    Integer.parseInt(data[5]),
+                                    Integer.parseInt(data[4]),
+                                    Integer.parseInt(data[6]),
+                                    Integer.parseInt(data[7]),
+                                    Integer.parseInt(data[3]),
+                                    TokenType.valueOf(data[1]),
+                                    Integer.parseInt(data[8]));
+
+                    cards.add(card);
+                } catch (IllegalArgumentException e) {
+                    Log.ERROR(e.getMessage());
+                }
+
+            }
+
+        } catch (IOException e) {
+            Log.ERROR(e.getMessage());
+        }
+
+        return new CardCatalog(cards);
+    }
+
+    /**
+     * @param cardId the ID of the card
+     * @return the card, or null if there is no card with the ID
+     */
+    public Card get(int cardId) {
+        return cardId >= 0 && cardId < this.cardsById.length ? this.cardsById[cardId] : null;
+    }
+
+    /**
+     * @param uuid the UUID of the card
+     * @return the card, or null if there is no card with the UUID
+     */
+    public Card get(UUID uuid) {
+        return uuid == null ? null : this.cardsByUuid.get(uuid);
+    }
+
+    /**
+     * @param tier the tier of the cards
+     * @return the unmodifiable list of the cards of the tier, in the order of the file
+     */
+    public List<Card> getCards(CardTier tier) {
+        return this.cardsByTier.get(tier);
+    }
+
+    /**
+     * @return the unmodifiable list of all the cards, in the order of the file
+     */
+    public List<Card> getAll() {
+        return this.allCards;
+    }
+
+    public int size() {
+        return this.allCards.size();
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.github.splendor_mobile_game.database;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.game.enums.CardTier;
@@ -14,10 +15,16 @@ public interface Database {
 
     public User getUser(UUID uuid);
 
-    public User getUserByConnectionHashCode(int connectionHashCode);
+    public User getUserByConnectionHashCode(long connectionHashCode);
 
     public void addUser(User user);
 
+    /**
+     * Removes the user from the database, together with the information which room they are in.
+     * @param user the user to remove
+     */
+    public void removeUser(User user);
+
     public Room getRoom(UUID uuid);
 
     public Room getRoomWithUser(UUID userUuid);
@@ -26,23 +33,70 @@ public interface Database {
 
     public void addRoom(Room room);
 
-    public void deleteRoom(Room room);
+    /**
+     * Removes the room from the database, together with the information which users are in it.
+     * @param room the room to remove
+     */
+    public void removeRoom(Room room);
+
+    /**
+     * Called by the room when the user has joined it, so the database knows which room the user is in.
+     * @param user the user who has joined the room
+     * @param room the room
+     */
+    public void userJoinedRoom(User user, Room room);
+
+    /**
+     * Called by the room when the user has left it or has been kicked from it.
+     * @param user the user who has left the room
+     * @param room the room
+     */
+    public void userLeftRoom(User user, Room room);
 
     public Card getCard(UUID cardUuid);
 
-    public ArrayList<User> getAllUsers();
-
-    public ArrayList<Room> getAllRooms();
-
-    public void loadNobles();
-
+    /**
+     * Adds the card which isn't part of the catalog, so it can be found by {@link #getCard(UUID)}.
+     * The games are still dealt the cards of the catalog only.
+     * @param card the card to add
+     */
+    public void addCard(Card card);
+
+    /**
+     * @return the cards the games are played with
+     */
+    public CardCatalog getCardCatalog();
+
+    /**
+     * @return the nobles the games are played with
+     */
+    public NobleCatalog getNobleCatalog();
+
+    /**
+     * @return the snapshot of all the users, it doesn't change with the database
+     */
+    public List<User> getAllUsers();
+
+    /**
+     * @return the snapshot of all the rooms, it doesn't change with the database
+     */
+    public List<Room> getAllRooms();
+
+    /**
+     * @return the copy of the nobles of the catalog, which the game can draw from
+     */
     public ArrayList<Noble> getAllNobles();
 
-    public void loadCards();
-
-    public ArrayList<Card> getAllCards();
+    /**
+     * @return the unmodifiable list of the cards of the catalog
+     */
+    public List<Card> getAllCards();
 
-    public ArrayList<Card> getSpecifiedCards(CardTier tier);
+    /**
+     * @param tier the tier of the cards
+     * @return the unmodifiable list of the cards of the tier, precomputed by the catalog
+     */
+    public List<Card> getSpecifiedCards(CardTier tier);
 
     public void isUserInRoom(UUID uuid) throws UserAlreadyInRoomException;
 }
@@ -1,214 +1,207 @@
 package com.github.splendor_mobile_game.database;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.github.splendor_mobile_game.game.enums.CardTier;
-import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Noble;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserAlreadyInRoomException;
-import com.github.splendor_mobile_game.websocket.utils.Log;
 
 
+/**
+ * The database keeping everything in memory. The users and rooms are stored in maps by their UUIDs,
+ * and the secondary indexes find the room by its enter code, the user by the ID of their connection
+ * and the room the user is in, so none of the lookups scans the whole database.
+ *
+ * The reactions of different rooms run in parallel, so the maps are concurrent and the lookups don't lock.
+ * The changes are made under the lock of the database, which keeps the indexes consistent with each other,
+ * by {@link #addUser(User)}, {@link #removeUser(User)}, {@link #addRoom(Room)}, {@link #removeRoom(Room)}
+ * and by the rooms, which report the users joining and leaving them. The listings are snapshots
+ * in the order the users and rooms were added.
+ *
+ * The cards and nobles come from the immutable catalogs shared by all the databases, see {@link CardCatalog}.
+ */
 public class InMemoryDatabase implements Database {
 
-    private ArrayList<User> allUsers = new ArrayList<>();
-    private ArrayList<Room> allRooms = new ArrayList<>();
-    private ArrayList<Card> allCards = new ArrayList<>();
-    private ArrayList<Noble> allNobles = new ArrayList<>();
+    private final Map<UUID, User> users = new ConcurrentHashMap<>();
+    private final Map<UUID, Room> rooms = new ConcurrentHashMap<>();
+    private final CardCatalog cardCatalog;
+    private final NobleCatalog nobleCatalog;
 
+    /** The cards which aren't part of the catalog, see {@link #addCard(Card)}. */
+    private final Map<UUID, Card> extraCards = new ConcurrentHashMap<>();
+
+    /** The users in the order they were added, guarded by the lock of the database. */
+    private final Map<UUID, User> usersInOrder = new LinkedHashMap<>();
+
+    /** The rooms in the order they were added, guarded by the lock of the database. */
+    private final Map<UUID, Room> roomsInOrder = new LinkedHashMap<>();
+
+    /** The rooms by their enter codes. */
+    private final Map<String, Room> roomsByEnterCode = new ConcurrentHashMap<>();
+
+    /** The users by the IDs of their connections. */
+    private final Map<Long, User> usersByConnection = new ConcurrentHashMap<>();
+
+    /** The rooms by the UUIDs of the users in them. */
+    private final Map<UUID, Room> roomsByUser = new ConcurrentHashMap<>();
+
+    /** Creates the database with the standard catalogs of the cards and nobles. */
     public InMemoryDatabase() {
-        loadCards();
-        loadNobles();
+        this(CardCatalog.standard(), NobleCatalog.standard());
+    }
+
+    /**
+     * @param cardCatalog the cards the games are played with
+     * @param nobleCatalog the nobles the games are played with
+     */
+    public InMemoryDatabase(CardCatalog cardCatalog, NobleCatalog nobleCatalog) {
+        this.cardCatalog = cardCatalog;
+        this.nobleCatalog = nobleCatalog;
     }
 
 
 
     @Override
     public User getUser(UUID uuid) {
-        for(User user : allUsers) {
-            if (user.getUuid().equals(uuid)) return user;
-        }
-        return null;
+        return this.users.get(uuid);
     }
 
 
     @Override
-    public void addUser(User user) {
-        this.allUsers.add(user);
+    public synchronized void addUser(User user) {
+        this.usersInOrder.put(user.getUuid(), user);
+        this.users.put(user.getUuid(), user);
+        this.usersByConnection.put(user.getConnectionHashCode(), user);
     }
 
     @Override
-    public Room getRoom(UUID uuid) {
-        for(Room room : allRooms) {
-            if (room.getUuid().equals(uuid)) return room;
+    public synchronized void removeUser(User user) {
+        if (this.users.remove(user.getUuid()) == null) {
+            return;
         }
-        return null;
+
+        this.usersInOrder.remove(user.getUuid());
+        this.usersByConnection.remove(user.getConnectionHashCode(), user);
+        this.roomsByUser.remove(user.getUuid());
     }
 
     @Override
-    public Room getRoom(String enterCode) {
-        for(Room room : allRooms) {
-            if (room.getEnterCode().equals(enterCode)) return room;
-        }
-        return null;
+    public Room getRoom(UUID uuid) {
+        return this.rooms.get(uuid);
     }
 
     @Override
-    public void addRoom(Room room) {
-        this.allRooms.add(room);
+    public Room getRoom(String enterCode) {
+        return this.roomsByEnterCode.get(enterCode);
     }
 
     @Override
-    public void deleteRoom(Room room) {
-        this.allRooms.remove(room);
+    public synchronized void addRoom(Room room) {
+        this.roomsInOrder.put(room.getUuid(), room);
+        this.rooms.put(room.getUuid(), room);
+        this.roomsByEnterCode.put(room.getEnterCode(), room);
+        for (User user : room.getAllUsers()) {
+            this.roomsByUser.put(user.getUuid(), room);
+        }
     }
 
     @Override
-    public Card getCard(UUID cardUuid){
-        for(Card card : allCards) {
-            if (card.getUuid().equals(cardUuid)) return card;
+    public synchronized void removeRoom(Room room) {
+        if (this.rooms.remove(room.getUuid()) == null) {
+            return;
+        }
+
+        this.roomsInOrder.remove(room.getUuid());
+        this.roomsByEnterCode.remove(room.getEnterCode(), room);
+        for (User user : room.getAllUsers()) {
+            this.roomsByUser.remove(user.getUuid(), room);
         }
-        return null;
     }
 
     @Override
-    public ArrayList<User> getAllUsers() {
-        return allUsers;
+    public synchronized void userJoinedRoom(User user, Room room) {
+        // The users of the room not added yet are indexed by addRoom
+        if (this.rooms.get(room.getUuid()) == room) {
+            this.roomsByUser.put(user.getUuid(), room);
+        }
     }
 
     @Override
-    public ArrayList<Room> getAllRooms() {
-        return allRooms;
+    public synchronized void userLeftRoom(User user, Room room) {
+        this.roomsByUser.remove(user.getUuid(), room);
     }
 
     @Override
-    public void loadNobles(){
-        String csvFile = "resources/NobleDatabase.csv";
-        String line = "";
-        String csvSplitBy = ";";
-
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-
-            line = br.readLine();   //skipping first line because there are headlines
-
-            while ((line = br.readLine()) != null) {
-
-                String[] data = line.split(csvSplitBy);
-
-                try {
-                    Noble nobleCard = new Noble(
-                        Integer.parseInt(data[2]),
-                        Integer.parseInt(data[1]),
-                        Integer.parseInt(data[3]),
-                        Integer.parseInt(data[4]),
-                        Integer.parseInt(data[0]),
-                        Integer.parseInt(data[5])
-                    );
-                                    
-                    this.allNobles.add(nobleCard);
-                } catch (IllegalArgumentException e) {
-                    Log.ERROR(e.getMessage());
-                }
-
-            }
-
-        } catch (IOException e) {
-            Log.ERROR(e.getMessage());
-        } catch (Exception e) {
-            Log.ERROR(e.getMessage());
-            e.printStackTrace();
-        }
+    public Card getCard(UUID cardUuid){
+        Card card = this.cardCatalog.get(cardUuid);
+        return card != null ? card : this.extraCards.get(cardUuid);
     }
 
     @Override
-    public void loadCards() {
-        String csvFile = "resources/CardDatabase.csv";
-        String line = "";
-        String csvSplitBy = ";";
-
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-
-            line = br.readLine();   //skipping first line because there are headlines
-
-            while ((line = br.readLine()) != null) {
+    public void addCard(Card card) {
+        this.extraCards.put(card.getUuid(), card);
+    }
 
-                String[] data = line.split(csvSplitBy);
+    @Override
+    public synchronized List<User> getAllUsers() {
+        return List.copyOf(this.usersInOrder.values());
+    }
 
-                try {
-                    Card card = new Card(CardTier.valueOf(data[0]),
-                                    Integer.parseInt(data[2]),
-                                    Integer.parseInt(data[5]),
-                                    Integer.parseInt(data[4]),
-                                    Integer.parseInt(data[6]),
-                                    Integer.parseInt(data[7]),
-                                    Integer.parseInt(data[3]),
-                                    TokenType.valueOf(data[1]),
-                                    Integer.parseInt(data[8]));
-                                    
-                    this.allCards.add(card);
-                } catch (IllegalArgumentException e) {
-                    Log.ERROR(e.getMessage());
-                }
+    @Override
+    public synchronized List<Room> getAllRooms() {
+        return List.copyOf(this.roomsInOrder.values());
+    }
 
-            }
+    @Override
+    public CardCatalog getCardCatalog() {
+        return this.cardCatalog;
+    }
 
-        } catch (IOException e) {
-            Log.ERROR(e.getMessage());
-        } catch (Exception e) {
-            Log.ERROR(e.getMessage());
-            e.printStackTrace();
-        }
+    @Override
+    public NobleCatalog getNobleCatalog() {
+        return this.nobleCatalog;
     }
 
     @Override
     public ArrayList<Noble> getAllNobles(){
-        ArrayList<Noble> array=new ArrayList<>(this.allNobles);
-        return array;
+        return new ArrayList<>(this.nobleCatalog.getAll());
     }
 
     @Override
-    public ArrayList<Card> getAllCards() {
-      return this.allCards;
+    public List<Card> getAllCards() {
+        return this.cardCatalog.getAll();
     }
 
     @Override
-    public ArrayList<Card> getSpecifiedCards(CardTier tier) {
-        ArrayList<Card> tempCardList = new ArrayList<Card>(allCards);
-        tempCardList.removeIf(card -> card.getCardTier() != tier);
-        return tempCardList;
+    public List<Card> getSpecifiedCards(CardTier tier) {
+        return this.cardCatalog.getCards(tier);
     }
 
     @Override
-    public User getUserByConnectionHashCode(int connectionHashCode) {
-        return this.allUsers.stream()
-            .filter(user -> user.getConnectionHashCode() == connectionHashCode)
-            .findFirst()
-            .orElse(null);
+    public User getUserByConnectionHashCode(long connectionHashCode) {
+        return this.usersByConnection.get(connectionHashCode);
     }
 
     @Override
     public Room getRoomWithUser(UUID userUuid) {
-        User user = this.getUser(userUuid);
-        return this.allRooms.stream()
-            .filter(room -> room.userExists(user))
-            .findFirst()
-            .orElse(null);
+        // The rooms could keep the users which have been removed from the database
+        if (!this.users.containsKey(userUuid)) {
+            return null;
+        }
+        return this.roomsByUser.get(userUuid);
     }
 
     @Override
     public void isUserInRoom(UUID uuid) throws UserAlreadyInRoomException {
-        User user = getUser(uuid);
-        if (user != null) {
-            for (Room r : getAllRooms())
-                if (r.getAllUsers().contains(user))
-                    throw new UserAlreadyInRoomException("Leave your current room before joining another.");
-        }
+        if (this.getRoomWithUser(uuid) != null)
+            throw new UserAlreadyInRoomException("Leave your current room before joining another.");
     }
 }
@@ -0,0 +1,139 @@
+package com.github.splendor_mobile_game.database;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.game.model.Noble;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * The immutable set of the noble tiles the games are played with, loaded once and shared by all the games.
+ * The nobles are found by their IDs from the CSV file or by their UUIDs, see {@link CardCatalog}.
+ */
+public final class NobleCatalog {
+
+    /** The CSV file the standard catalog is loaded from. */
+    public static final String DEFAULT_FILE = "resources/NobleDatabase.csv";
+
+    /** Loads the standard catalog the first time it's asked for. */
+    private static class StandardHolder {
+        static final NobleCatalog INSTANCE = load(DEFAULT_FILE);
+    }
+
+    /** The nobles by their IDs, the slots of the missing IDs are null. */
+    private final Noble[] noblesById;
+
+    private final Map<UUID, Noble> noblesByUuid;
+
+    private final List<Noble> allNobles;
+
+    /**
+     * @param nobles the nobles of the catalog, with unique non-negative IDs
+     * @throws IllegalArgumentException if two nobles have the same ID
+     */
+    public NobleCatalog(Collection<Noble> nobles) {
+        int maxId = -1;
+        for (Noble noble : nobles) {
+            maxId = Math.max(maxId, noble.getNobleID());
+        }
+
+        Noble[] noblesById = new Noble[maxId + 1];
+        Map<UUID, Noble> noblesByUuid = new HashMap<>();
+        for (Noble noble : nobles) {
+            if (noblesById[noble.getNobleID()] != null) {
+                throw new IllegalArgumentException("Two nobles have the same ID " + noble.getNobleID());
+            }
+            noblesById[noble.getNobleID()] = noble;
+            noblesByUuid.put(noble.getUuid(), noble);
+        }
+
+        this.noblesById = noblesById;
+        this.noblesByUuid = Map.copyOf(noblesByUuid);
+        this.allNobles = List.copyOf(nobles);
+    }
+
+    /**
+     * @return the catalog loaded from {@link #DEFAULT_FILE}, the same instance on every call
+     */
+    public static NobleCatalog standard() {
+        return StandardHolder.INSTANCE;
+    }
+
+    /**
+     * Loads the catalog from the CSV file. The invalid lines are logged and skipped.
+     *
+     * @param csvFile the path of the CSV file
+     * @return the catalog, empty if the file can't be read
+     */
+    public static NobleCatalog load(String csvFile) {
+        String line = "";
+        String csvSplitBy = ";";
+        List<Noble> nobles = new ArrayList<>();
+
+        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
+
+            line = br.readLine();   //skipping first line because there are headlines
+
+            while ((line = br.readLine()) != null) {
+
+                String[] data = line.split(csvSplitBy);
+
+                try {
+                    Noble nobleCard = new Noble(
+                        Integer.parseInt(data[2]),
+                        Integer.parseInt(data[1]),
+                        Integer.parseInt(data[3]),
+                        Integer.parseInt(data[4]),
+                        Integer.parseInt(data[0]),
+                        Integer.parseInt(data[5])
+                    );
+
+                    nobles.add(nobleCard);
+                } catch (IllegalArgumentException e) {
+                    Log.ERROR(e.getMessage());
+                }
+
+            }
+
+        } catch (IOException e) {
+            Log.ERROR(e.getMessage());
+        }
+
+        return new NobleCatalog(nobles);
+    }
+
+    /**
+     * @param nobleId the ID of the noble
+     * @return the noble, or null if there is no noble with the ID
+     */
+    public Noble get(int nobleId) {
+        return nobleId >= 0 && nobleId < this.noblesById.length ? this.noblesById[nobleId] : null;
+    }
+
+    /**
+     * @param uuid the UUID of the noble
+     * @return the noble, or null if there is no noble with the UUID
+     */
+    public Noble get(UUID uuid) {
+        return uuid == null ? null : this.noblesByUuid.get(uuid);
+    }
+
+    /**
+     * @return the unmodifiable list of all the nobles, in the order of the file
+     */
+    public List<Noble> getAll() {
+        return this.allNobles;
+    }
+
+    public int size() {
+        return this.allNobles.size();
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.github.splendor_mobile_game.database;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.game.enums.CardTier;
@@ -22,7 +23,17 @@ public class SqliteDatabase implements Database {
     }
 
     @Override
-    public void deleteRoom(Room room) {
+    public void removeRoom(Room room) {
+
+    }
+
+    @Override
+    public void userJoinedRoom(User user, Room room) {
+
+    }
+
+    @Override
+    public void userLeftRoom(User user, Room room) {
 
     }
 
@@ -33,13 +44,18 @@ public class SqliteDatabase implements Database {
     }
 
     @Override
-    public ArrayList<Room> getAllRooms() {
+    public void removeUser(User user) {
+
+    }
+
+    @Override
+    public List<Room> getAllRooms() {
         // TODO Auto-generated method stub
         return null;
     }
 
     @Override
-    public ArrayList<User> getAllUsers() {
+    public List<User> getAllUsers() {
         // TODO Auto-generated method stub
         return null;
     }
@@ -68,13 +84,18 @@ public class SqliteDatabase implements Database {
     }
 
     @Override
-    public void loadNobles() {
-        // TODO Auto-generated method stub
+    public void addCard(Card card) {
+
     }
 
     @Override
-    public void loadCards() {
-        // TODO Auto-generated method stub
+    public CardCatalog getCardCatalog() {
+        return null;
+    }
+
+    @Override
+    public NobleCatalog getNobleCatalog() {
+        return null;
     }
 
     @Override
@@ -84,19 +105,19 @@ public class SqliteDatabase implements Database {
     }
 
     @Override
-    public ArrayList<Card> getAllCards() {
+    public List<Card> getAllCards() {
         // TODO Auto-generated method stub
         return null;
     }
 
     @Override
-    public ArrayList<Card> getSpecifiedCards(CardTier tier) {
+    public List<Card> getSpecifiedCards(CardTier tier) {
         // TODO Auto-generated method stub
         return null;
     }
 
     @Override
-    public User getUserByConnectionHashCode(int connectionHashCode) {
+    public User getUserByConnectionHashCode(long connectionHashCode) {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'getUserByConnectionHashCode'");
     }
@@ -0,0 +1,181 @@
+package com.github.splendor_mobile_game.game;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Game;
+import com.github.splendor_mobile_game.game.model.TokenVector;
+
+/**
+ * Every action a player can legally perform in their turn, returned by {@link Game#legalActions}.
+ * The actions are kept as bitmasks, so the description is a single small object however many actions there are:
+ * <ul>
+ *   <li>the revealed cards use the bits of {@link Game#revealedSlotBit(CardTier, int)},</li>
+ *   <li>the reserved cards use bit i for the i-th reserved card of the player,</li>
+ *   <li>the decks use bit {@code tier.ordinal()},</li>
+ *   <li>the tokens taken two of the same color use bit {@code type.ordinal()},</li>
+ *   <li>the tokens taken one of each color use bit {@code colors}, where the bits of {@code colors} are the ordinals
+ *       of the taken types, so e.g. taking an emerald, a ruby and an onyx is bit {@link #colorsBit(TokenType...)}.</li>
+ * </ul>
+ * It doesn't check whose turn it is nor whether the player has already performed an action, that's up to the caller.
+ */
+final public class LegalActions {
+
+    private final int takeDifferentColors;
+    private final int takeTwoOfColor;
+    private final int buyRevealed;
+    private final int buyReserved;
+    private final int reserveRevealed;
+    private final int reserveFromDeck;
+
+    public LegalActions(int takeDifferentColors, int takeTwoOfColor, int buyRevealed, int buyReserved, int reserveRevealed, int reserveFromDeck) {
+        this.takeDifferentColors = takeDifferentColors;
+        this.takeTwoOfColor = takeTwoOfColor;
+        this.buyRevealed = buyRevealed;
+        this.buyReserved = buyReserved;
+        this.reserveRevealed = reserveRevealed;
+        this.reserveFromDeck = reserveFromDeck;
+    }
+
+    /**
+     * Computes which combinations of tokens can be taken from the table. The player takes either two tokens
+     * of a color with at least 4 tokens on the table, or three tokens of different colors. When fewer than three
+     * colors are left on the table, they take one token of each of the colors that are left.
+     *
+     * @param tokensOnTable the tokens on the table
+     * @return the legal combinations of different colors, see {@link #getTakeDifferentColors()}
+     */
+    public static int takeDifferentColors(TokenVector tokensOnTable) {
+        int available = 0;
+        for (TokenType type : TokenType.values()) {
+            if (type != TokenType.GOLD_JOKER && tokensOnTable.get(type) > 0) available |= 1 << type.ordinal();
+        }
+
+        if (Integer.bitCount(available) < 3) {
+            return available == 0 ? 0 : 1 << available;
+        }
+
+        int combinations = 0;
+        for (int colors = available; colors != 0; colors = (colors - 1) & available) {
+            if (Integer.bitCount(colors) == 3) combinations |= 1 << colors;
+        }
+        return combinations;
+    }
+
+    /**
+     * @param tokensOnTable the tokens on the table
+     * @return the colors of which two tokens can be taken, see {@link #getTakeTwoOfColor()}
+     */
+    public static int takeTwoOfColor(TokenVector tokensOnTable) {
+        int colors = 0;
+        for (TokenType type : TokenType.values()) {
+            if (type != TokenType.GOLD_JOKER && tokensOnTable.get(type) >= 4) colors |= 1 << type.ordinal();
+        }
+        return colors;
+    }
+
+    /**
+     * @param types the types of the tokens
+     * @return the bit of {@link #getTakeDifferentColors()} standing for taking one token of each type
+     */
+    public static int colorsBit(TokenType... types) {
+        int colors = 0;
+        for (TokenType type : types) colors |= 1 << type.ordinal();
+        return 1 << colors;
+    }
+
+    /**
+     * @param tokensTaken the tokens the player wants to take
+     * @return true if the player can take the tokens
+     */
+    public boolean canTakeTokens(TokenVector tokensTaken) {
+        int ones = 0;
+        int twos = 0;
+        for (TokenType type : TokenType.values()) {
+            int count = tokensTaken.get(type);
+            if (count == 0) continue;
+            if (type == TokenType.GOLD_JOKER || count < 0 || count > 2) return false;
+            if (count == 1) ones |= 1 << type.ordinal();
+            else twos |= 1 << type.ordinal();
+        }
+
+        if (twos != 0) {
+            return ones == 0 && Integer.bitCount(twos) == 1 && (this.takeTwoOfColor & twos) != 0;
+        }
+        return ones != 0 && (this.takeDifferentColors & (1 << ones)) != 0;
+    }
+
+    public boolean canBuyRevealed(CardTier tier, int slot) {
+        return slot >= 0 && (this.buyRevealed & Game.revealedSlotBit(tier, slot)) != 0;
+    }
+
+    public boolean canBuyReserved(int index) {
+        return index >= 0 && (this.buyReserved & (1 << index)) != 0;
+    }
+
+    public boolean canReserveRevealed(CardTier tier, int slot) {
+        return slot >= 0 && (this.reserveRevealed & Game.revealedSlotBit(tier, slot)) != 0;
+    }
+
+    public boolean canReserveFromDeck(CardTier tier) {
+        return (this.reserveFromDeck & (1 << tier.ordinal())) != 0;
+    }
+
+    /**
+     * @return true if the player can take any tokens
+     */
+    public boolean canTakeAnyTokens() {
+        return this.takeDifferentColors != 0 || this.takeTwoOfColor != 0;
+    }
+
+    /**
+     * @return true if the player can't perform any action, so they may end their turn without one
+     */
+    public boolean isEmpty() {
+        return !this.canTakeAnyTokens() && this.buyRevealed == 0 && this.buyReserved == 0
+            && this.reserveRevealed == 0 && this.reserveFromDeck == 0;
+    }
+
+    /**
+     * @return the legal combinations of one token of each of different colors, bit {@code colors} stands for
+     *         taking the colors whose ordinals are the bits of {@code colors}
+     */
+    public int getTakeDifferentColors() {
+        return takeDifferentColors;
+    }
+
+    /**
+     * @return the colors of which two tokens can be taken, bit {@code type.ordinal()} stands for the type
+     */
+    public int getTakeTwoOfColor() {
+        return takeTwoOfColor;
+    }
+
+    /**
+     * @return the revealed cards the player can buy, see {@link Game#revealedSlotBit(CardTier, int)}
+     */
+    public int getBuyRevealed() {
+        return buyRevealed;
+    }
+
+    /**
+     * @return the reserved cards the player can buy, bit i stands for the i-th reserved card
+     */
+    public int getBuyReserved() {
+        return buyReserved;
+    }
+
+    /**
+     * @return the revealed cards the player can reserve, see {@link Game#revealedSlotBit(CardTier, int)}
+     */
+    public int getReserveRevealed() {
+        return reserveRevealed;
+    }
+
+    /**
+     * @return the tiers of which the player can reserve the top card of the deck, bit {@code tier.ordinal()} stands for the tier
+     */
+    public int getReserveFromDeck() {
+        return reserveFromDeck;
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.github.splendor_mobile_game.game.exceptions;
 
-public class NotEnoughBonusPointsException extends Exception {
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
+public class NotEnoughBonusPointsException extends ValidationException {
 
     public NotEnoughBonusPointsException() {}
 
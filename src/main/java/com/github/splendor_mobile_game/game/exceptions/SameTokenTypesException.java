@@ -1,6 +1,8 @@
 package com.github.splendor_mobile_game.game.exceptions;
 
-public class SameTokenTypesException extends Exception {
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
+public class SameTokenTypesException extends ValidationException {
 
     public SameTokenTypesException() {}
 
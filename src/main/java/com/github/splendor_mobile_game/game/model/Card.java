@@ -1,7 +1,5 @@
 package com.github.splendor_mobile_game.game.model;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.game.enums.CardTier;
@@ -24,7 +22,7 @@ public class Card {
     // private final int diamondCost;
     // private final int onyxCost;
 
-    private Map<TokenType, Integer> cost = new HashMap<TokenType, Integer>();
+    private final TokenVector cost;
 
 
     public Card(CardTier cardTier, int points, int emeraldCost, int sapphireCost, int rubyCost, int diamondCost, int onyxCost, TokenType token, int cardID) {
@@ -32,11 +30,7 @@ public class Card {
         this.cardTier     = cardTier;
         this.points       = points;
 
-        this.cost.put(TokenType.EMERALD, emeraldCost);
-        this.cost.put(TokenType.SAPPHIRE, sapphireCost);
-        this.cost.put(TokenType.RUBY, rubyCost);
-        this.cost.put(TokenType.DIAMOND, diamondCost);
-        this.cost.put(TokenType.ONYX, onyxCost);
+        this.cost = TokenVector.ofGems(emeraldCost, sapphireCost, rubyCost, diamondCost, onyxCost);
 
         this.cardID = cardID;
 
@@ -92,6 +86,13 @@ public class Card {
         return this.cost.get(type);
     }
 
+    /**
+     * @return the cost of the card, it must not be modified
+     */
+    TokenVector getCost() {
+        return this.cost;
+    }
+
     @Override
     public String toString() {
         return String.format("%s %d %d %d %d %d %d %s", cardTier.toString(), points, this.cost.get(TokenType.EMERALD), this.cost.get(TokenType.SAPPHIRE),  this.cost.get(TokenType.RUBY),  this.cost.get(TokenType.DIAMOND),  this.cost.get(TokenType.ONYX),  additionalToken.toString());
@@ -1,27 +1,77 @@
 package com.github.splendor_mobile_game.game.model;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
+import com.github.splendor_mobile_game.database.CardCatalog;
 import com.github.splendor_mobile_game.game.enums.CardTier;
 
-public class Deck extends ArrayList<Card> {
+/**
+ * The face-down pile of the cards of one tier. The IDs of the cards are shuffled once, when the game starts,
+ * and the cards are drawn from the top of the pile by moving the cursor, so a draw doesn't shift or allocate anything.
+ * The cards themselves come from the {@link CardCatalog} shared by all the games.
+ */
+public class Deck {
     private final CardTier tier;
 
-    public Deck(CardTier tier){
-        super();
-        this.tier=tier;
+    private final CardCatalog catalog;
+
+    /** The IDs of the cards in the order they are drawn. */
+    private final int[] cardIds;
+
+    /** The index of the next card to draw. */
+    private int cursor = 0;
+
+    /**
+     * Creates the shuffled pile of the cards.
+     *
+     * @param tier the tier of the cards
+     * @param catalog the catalog the cards come from
+     * @param random the random number generator of the game
+     */
+    public Deck(CardTier tier, CardCatalog catalog, Random random) {
+        this.tier = tier;
+        this.catalog = catalog;
+
+        List<Card> cards = catalog.getCards(tier);
+        this.cardIds = new int[cards.size()];
+        for (int i = 0; i < this.cardIds.length; i++) {
+            this.cardIds[i] = cards.get(i).getCardID();
+        }
+
+        // Fisher-Yates shuffle
+        for (int i = this.cardIds.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int cardId = this.cardIds[i];
+            this.cardIds[i] = this.cardIds[j];
+            this.cardIds[j] = cardId;
+        }
+    }
+
+    /**
+     * Draws the card from the top of the pile.
+     *
+     * @return the drawn card, or null if the pile is empty
+     */
+    public Card draw() {
+        if (this.isEmpty()) {
+            return null;
+        }
+        return this.catalog.get(this.cardIds[this.cursor++]);
     }
-    public Deck(CardTier tier,int size){
-        super(size);
-        this.tier=tier;
+
+    public boolean isEmpty() {
+        return this.cursor >= this.cardIds.length;
     }
 
-    public Deck(CardTier tier,java.util.Collection<? extends Card> collection){
-        super(collection);
-        this.tier=tier;
+    /**
+     * @return the number of the cards left in the pile
+     */
+    public int size() {
+        return this.cardIds.length - this.cursor;
     }
 
     public CardTier getTier(){
         return tier;
     }  
-} 
\ No newline at end of file
+}
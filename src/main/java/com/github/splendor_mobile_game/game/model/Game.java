@@ -4,69 +4,173 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.game.LegalActions;
 import com.github.splendor_mobile_game.game.ReservationResult;
 import com.github.splendor_mobile_game.game.enums.CardTier;
 import com.github.splendor_mobile_game.game.enums.TokenType;
-import com.github.splendor_mobile_game.game.exceptions.CanPerformAnActionException;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.CardDoesntExistException;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
 public class Game {
 
+    /** The number of the cards of each tier revealed on the table, while the deck of the tier lasts. */
+    public static final int REVEALED_CARDS_PER_TIER = 4;
 
-    private final Map<TokenType, Integer> tokensOnTable = new HashMap<TokenType, Integer>();
+    /** The maximum number of the cards a player can have reserved at once. */
+    public static final int MAX_RESERVED_CARDS = 3;
+
+    /** The maximum number of the tokens a player can hold, they can't reserve a card when holding more. */
+    public static final int MAX_TOKENS = 10;
+
+    private final TokenVector tokensOnTable = new TokenVector();
 
     private int gameReservationCount=0;
 
     public ArrayList<User> users = new ArrayList<>();
 
-    private final Map<CardTier,Deck> revealedCards = new HashMap<CardTier,Deck>(); // Cards that were already revealed
-    private final Map<CardTier,Deck> decks = new HashMap<CardTier,Deck>(); // Cards of each tier visible on the table
+    private final Map<CardTier,List<Card>> revealedCards = new HashMap<CardTier,List<Card>>(); // Cards of each tier visible on the table
+    private final Map<CardTier,List<Card>> revealedCardsViews = new HashMap<CardTier,List<Card>>(); // Read-only views of the revealed cards
+    private final Map<CardTier,Deck> decks = new HashMap<CardTier,Deck>(); // Face-down piles of each tier
+
+    /** The random number generator of the game, used to shuffle the decks and draw the nobles. */
+    private final Random random;
 
     private ArrayList<Noble> nobles;
     /** Maximum number of non-gold tokens generated for game. Depends on player count */
     private int maxNonGoldTokensOnStart = 7;
     private final Database database;
 
+    /** The version of the game state, increased every time the recorded changes are taken as a delta. */
+    private long stateVersion = 0;
+
+    /** The changes of the game state made since the last delta was taken. */
+    private final List<GameStateChange> pendingChanges = new ArrayList<>();
+
     public Game(Database database, ArrayList<User> users) {
+        this(database, users, new Random());
+    }
+
+    /**
+     * @param database the database
+     * @param users the players
+     * @param random the random number generator of the game, which decides the order of the cards and the nobles
+     */
+    public Game(Database database, ArrayList<User> users, Random random) {
         this.database = database;
         this.users = users;
+        this.random = random;
         start(users.size());
+
+        for (User user : users) {
+            user.setStateChangeListener(change -> {
+                // The tokens and the bonuses of the user decide what they can afford
+                if (change instanceof GameStateChange.TokensChanged) refreshMasks(user);
+                recordChange(change);
+            });
+            refreshMasks(user);
+        }
     }
 
+    /**
+     * Returns the bit standing for the slot of the revealed cards in {@link User#getAffordableRevealedMask()}.
+     * @param tier the tier of the card
+     * @param slot the index of the card in {@link #getRevealedCards(CardTier)}
+     * @return the bit of the slot
+     */
+    public static int revealedSlotBit(CardTier tier, int slot) {
+        return 1 << (tier.ordinal() * REVEALED_CARDS_PER_TIER + slot);
+    }
 
+    private static int revealedTierBits(CardTier tier) {
+        return ((1 << REVEALED_CARDS_PER_TIER) - 1) << (tier.ordinal() * REVEALED_CARDS_PER_TIER);
+    }
 
+    /** Recomputes which revealed cards and nobles the user can afford, after their tokens or bonuses have changed. */
+    private void refreshMasks(User user) {
+        int revealedMask = 0;
+        for (CardTier tier : CardTier.values()) {
+            List<Card> revealed = revealedCards.get(tier);
+            for (int slot = 0; slot < revealed.size(); slot++) {
+                if (user.canBuyCard(revealed.get(slot))) revealedMask |= revealedSlotBit(tier, slot);
+            }
+        }
+        user.setAffordableRevealedMask(revealedMask);
+        refreshNoblesMask(user);
+        user.markMasksFresh();
+    }
 
-    private Card getRandomCardOrNull(CardTier tier) {
-        Deck deck = decks.get(tier);
+    /** Recomputes the bit of the revealed slot for every player, after the card in the slot has been replaced. */
+    private void refreshRevealedSlot(CardTier tier, int slot) {
+        Card card = revealedCards.get(tier).get(slot);
+        int bit = revealedSlotBit(tier, slot);
+        for (User user : users) {
+            int mask = user.getAffordableRevealedMask() & ~bit;
+            user.setAffordableRevealedMask(user.canBuyCard(card) ? mask | bit : mask);
+        }
+    }
 
-        // We draw cards until deck will be empty
-        if (deck.size() < 1) return null;
+    /** Recomputes the bits of the tier for every player, after the revealed cards of the tier have moved. */
+    private void refreshRevealedTier(CardTier tier) {
+        List<Card> revealed = revealedCards.get(tier);
+        for (User user : users) {
+            int mask = user.getAffordableRevealedMask() & ~revealedTierBits(tier);
+            for (int slot = 0; slot < revealed.size(); slot++) {
+                if (user.canBuyCard(revealed.get(slot))) mask |= revealedSlotBit(tier, slot);
+            }
+            user.setAffordableRevealedMask(mask);
+        }
+    }
 
-        Random rand = new Random();
-        int index = rand.nextInt(deck.size()); // Get random index
-        return deck.get(index);
+    private void refreshNoblesMask(User user) {
+        int mask = 0;
+        for (int i = 0; i < nobles.size(); i++) {
+            if (user.canTakeNoble(nobles.get(i))) mask |= 1 << i;
+        }
+        user.setEligibleNoblesMask(mask);
     }
 
+    /**
+     * Records the change of the game state. A newer change of the same tokens replaces the older one.
+     * @param change the change of the game state
+     */
+    void recordChange(GameStateChange change) {
+        this.pendingChanges.removeIf(change::supersedes);
+        this.pendingChanges.add(change);
+    }
 
+    private void recordTableTokensChange() {
+        this.recordChange(new GameStateChange.TokensChanged(null, this.tokensOnTable));
+    }
 
+    /**
+     * Takes all the changes recorded since the previous call as the delta of the next version of the state.
+     * @return the delta with the changes, or null if the state hasn't changed
+     */
+    public GameStateDelta takeStateDelta() {
+        if (this.pendingChanges.isEmpty()) return null;
 
-    private boolean canReserveCardFromDeck(CardTier tier, User user) {
-        return !(getRandomCardOrNull(tier) == null) && user.getReservationCount() < 3;
+        GameStateDelta delta = new GameStateDelta(++this.stateVersion, new ArrayList<>(this.pendingChanges));
+        this.pendingChanges.clear();
+        return delta;
     }
 
-    private boolean canReserveCardFromTable(Card card, User user) {
-        return !(card == null) && user.getReservationCount() < 3 && isCardRevealed(card.getUuid());
+    public long getStateVersion() {
+        return stateVersion;
     }
 
 
+
+
+
+
     public ReservationResult reserveCardFromDeck(CardTier tier, User player) throws CardDoesntExistException {
-        Card card = getRandomCard(tier);
+        Card card = drawCard(tier);
         if (card == null) throw new CardDoesntExistException("Deck " + tier + " is empty.");
 
         boolean goldenToken;
@@ -77,6 +181,7 @@ public class Game {
             goldenToken=removeToken(TokenType.GOLD_JOKER);
         }
         player.reserveCard(card,goldenToken);
+        recordChange(new GameStateChange.CardReserved(player.getUuid(), tier, null));
 
         gameReservationCount++;
 
@@ -96,6 +201,7 @@ public class Game {
         }
         
         player.reserveCard(card,goldenToken);
+        recordChange(new GameStateChange.CardReserved(player.getUuid(), card.getCardTier(), card.getUuid()));
         Card newCard = takeCardFromRevealed(card);
 
         gameReservationCount++;
@@ -132,42 +238,53 @@ public class Game {
             return false;
         }
 
-        tokensOnTable.put(type, tokensOnTable.get(type)-1);
+        tokensOnTable.add(type, -1);
+        recordTableTokensChange();
         return true;
     }
     
     //The return Card is a card that was drawn from deck and put on table
     public Card takeCardFromRevealed(Card card){
-        removeCardFromRevealed(card);
-
-        Card cardDrawn = getRandomCard(card.getCardTier());
-        if(cardDrawn!=null){
-            addCardToRevealed(cardDrawn);
+        List<Card> revealed = revealedCards.get(card.getCardTier());
+        int slot = revealed.indexOf(card);
+
+        // The drawn card takes the slot of the taken one, the slot disappears when the deck is empty
+        Card cardDrawn = drawCard(card.getCardTier());
+        if (slot < 0) {
+            if (cardDrawn != null) revealed.add(cardDrawn);
+            refreshRevealedTier(card.getCardTier());
+        } else if (cardDrawn != null) {
+            revealed.set(slot, cardDrawn);
+            refreshRevealedSlot(card.getCardTier(), slot);
+        } else {
+            revealed.remove(slot);
+            refreshRevealedTier(card.getCardTier());
         }
+        recordChange(new GameStateChange.RevealedCardReplaced(card.getCardTier(), card, cardDrawn));
         
         return cardDrawn;
     }
 
-    private void removeCardFromRevealed(Card card){
-        CardTier cardTier = card.getCardTier();
-        revealedCards.get(cardTier).remove(card);
-    }
-
-    private void addCardToRevealed(Card card){
-        revealedCards.get(card.getCardTier()).add(card);
-    }
-
     public boolean isCardRevealed(UUID uuid) {
-        for (Deck deck : revealedCards.values())
-            for (Card card : deck)
+        for (List<Card> revealed : revealedCards.values())
+            for (Card card : revealed)
                 if (uuid.equals(card.getUuid())) return true;
 
         return false;
     }
 
     public void addTokens(TokenType tokenType,int count){
-        int prev = tokensOnTable.get(tokenType);
-        tokensOnTable.put(tokenType,count+prev);
+        tokensOnTable.add(tokenType, count);
+        recordTableTokensChange();
+    }
+
+    /**
+     * Puts the tokens on the table, e.g. the tokens paid for a card.
+     * @param tokens the tokens put on the table
+     */
+    public void addTokens(TokenVector tokens){
+        tokensOnTable.add(tokens);
+        recordTableTokensChange();
     }
 
 
@@ -177,22 +294,27 @@ public class Game {
         if (playerCount == 3) this.maxNonGoldTokensOnStart = 5;
 
         // Assign all tokenLists
-        tokensOnTable.put(TokenType.EMERALD,    maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.SAPPHIRE,   maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.RUBY,       maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.DIAMOND,    maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.ONYX,       maxNonGoldTokensOnStart);
-        tokensOnTable.put(TokenType.GOLD_JOKER, 5);
-
-        //Get ALL cards from database
-        decks.put(CardTier.LEVEL_1,new Deck(CardTier.LEVEL_1,database.getSpecifiedCards(CardTier.LEVEL_1)));
-        decks.put(CardTier.LEVEL_2,new Deck(CardTier.LEVEL_2,database.getSpecifiedCards(CardTier.LEVEL_2)));
-        decks.put(CardTier.LEVEL_3,new Deck(CardTier.LEVEL_3,database.getSpecifiedCards(CardTier.LEVEL_3)));
-        
-        // Choose random cards from deck
-        revealedCards.put(CardTier.LEVEL_1,new Deck(CardTier.LEVEL_1,getRandomCards((CardTier.LEVEL_1),4)));
-        revealedCards.put(CardTier.LEVEL_2,new Deck(CardTier.LEVEL_2,getRandomCards((CardTier.LEVEL_2),4)));
-        revealedCards.put(CardTier.LEVEL_3,new Deck(CardTier.LEVEL_3,getRandomCards((CardTier.LEVEL_3),4)));
+        tokensOnTable.set(TokenType.EMERALD,    maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.SAPPHIRE,   maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.RUBY,       maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.DIAMOND,    maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.ONYX,       maxNonGoldTokensOnStart);
+        tokensOnTable.set(TokenType.GOLD_JOKER, 5);
+
+        for (CardTier tier : CardTier.values()) {
+            // Shuffle the cards of the catalog shared by all the games
+            decks.put(tier, new Deck(tier, database.getCardCatalog(), random));
+
+            // Reveal the cards from the top of the deck
+            List<Card> revealed = new ArrayList<>(REVEALED_CARDS_PER_TIER);
+            for (int i = 0; i < REVEALED_CARDS_PER_TIER; i++) {
+                Card card = drawCard(tier);
+                if (card == null) break;
+                revealed.add(card);
+            }
+            revealedCards.put(tier, revealed);
+            revealedCardsViews.put(tier, Collections.unmodifiableList(revealed));
+        }
 
         // Choose random noble cards from database
         nobles = getRandomNobles(playerCount+1);
@@ -215,11 +337,16 @@ public class Game {
      * function which updates token amount on the table by adding or subtracting their current amount by numbers listed in tokensChange map 
      * It is used in GetTokens reaction so it skips Gold token type because users can't take gold tokens by themselves
     */
+    public void changeTokens(TokenVector tokensChange) {
+        int goldTokens = this.tokensOnTable.get(TokenType.GOLD_JOKER);
+        this.tokensOnTable.subtract(tokensChange);
+        this.tokensOnTable.set(TokenType.GOLD_JOKER, goldTokens);
+        recordTableTokensChange();
+    }
+
+    /** Same as {@link #changeTokens(TokenVector)}, the missing token types don't change. */
     public void changeTokens(Map<TokenType, Integer> tokenMap) {
-        for(Map.Entry<TokenType, Integer> set : this.tokensOnTable.entrySet()) {
-            if(set.getKey() == TokenType.GOLD_JOKER) continue;
-            this.tokensOnTable.put(set.getKey(), set.getValue() - tokenMap.get(set.getKey()));
-        }
+        this.changeTokens(TokenVector.of(tokenMap));
     }
 
 
@@ -239,7 +366,7 @@ public class Game {
 
     //Only for testing private function TO BE DELETED
     private void testForDuplicates(CardTier tier){
-        Deck deck1 = revealedCards.get(tier);
+        List<Card> deck1 = revealedCards.get(tier);
 
         for(int i=0;i<deck1.size();++i){
             for(int j=0;j<deck1.size();++j){
@@ -251,9 +378,12 @@ public class Game {
         }
     }
 
-    public Deck getRevealedCards(CardTier tier){
-        Deck deck = new Deck(tier, revealedCards.get(tier));
-        return deck;
+    /**
+     * @param tier the tier of the cards
+     * @return the read-only view of the cards of the tier visible on the table, it changes with the game
+     */
+    public List<Card> getRevealedCards(CardTier tier){
+        return revealedCardsViews.get(tier);
     }
 
     public ArrayList<Noble> getNobles(){
@@ -263,8 +393,16 @@ public class Game {
 
 
     public boolean takeNobleIfPossible(User user, Noble noble) {
+        if (user.areMasksStale()) refreshMasks(user);
+
+        int index = this.nobles.indexOf(noble);
+        if (index < 0 || (user.getEligibleNoblesMask() & (1 << index)) == 0) return false;
+
         if (user.takeNoble(noble)) {
-            this.nobles.remove(noble);
+            this.nobles.remove(index);
+            // The nobles after the taken one have moved
+            for (User player : this.users) refreshNoblesMask(player);
+            recordChange(new GameStateChange.NobleTaken(user.getUuid(), noble.getUuid(), user.getPoints()));
             return true;
         }
         return false;
@@ -335,62 +473,39 @@ public class Game {
        
 
 
-    private Card getRandomCard(CardTier tier){
-        Deck deck = getRandomCards(tier,1);
-
-        if(deck.size()==0){
-            return null;
-        }else{
-            return deck.get(0);
-        }      
-    }
-
-
     /**
+     * Draws the card from the top of the deck.
      *
-     * @param tier -> Tier of deck from which we draw cards
-     * @param amount -> Amount of elements we want to draw
-     * @return Deck -> Collection of randomly picked cards
+     * @param tier -> Tier of deck from which we draw the card
+     * @return Card -> The drawn card, or null if the deck is empty
      */
-    private Deck getRandomCards(CardTier tier, int amount) {
-        Deck deck = decks.get(tier);
-
-        // We draw cards until deck will be empty
-        if ( deck.size() < amount) amount=deck.size();
-
-        Deck array = new Deck(tier);
-
-        Random rand = new Random();
-        for(;amount > 0;amount--) {
-            int index = rand.nextInt(deck.size()); // Get random index
-            Card drawnCard =deck.remove(index);
-            array.add(drawnCard);
-            
-            //globalIndex in that context is an index of InMemoryDatabase.allCards
-            int globalIndex=database.getAllCards().indexOf(drawnCard);          
-            Log.DEBUG("Card has been drawn of tier "+tier.toString()+" and index "+globalIndex);
+    private Card drawCard(CardTier tier) {
+        Card drawnCard = decks.get(tier).draw();
+        if (drawnCard != null) {
+            Log.DEBUG("Card has been drawn of tier "+tier.toString()+" and ID "+drawnCard.getCardID());
         }
-
-        return array;
+        return drawnCard;
     }
 
     private ArrayList<Noble> getRandomNobles(int amount){
-        ArrayList<Noble> nobles = this.database.getAllNobles();
-        ArrayList<Noble> array = new ArrayList<>();
+        List<Noble> nobles = this.database.getNobleCatalog().getAll();
 
         // We draw cards until deck will be empty
         if ( nobles.size() < amount) amount=nobles.size();
 
-        Random rand = new Random();
-        while(amount > 0) {
-            if(nobles.size()==0){
-                return null;
-            }
-            int index = rand.nextInt(nobles.size()); // Get random index       
-            array.add(nobles.remove(index));
-            
+        // Shuffle only as many indices as there are nobles to draw
+        int[] indices = new int[nobles.size()];
+        for (int i = 0; i < indices.length; i++) indices[i] = i;
+
+        ArrayList<Noble> array = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++) {
+            int j = i + random.nextInt(indices.length - i);
+            int index = indices[j];
+            indices[j] = indices[i];
+            indices[i] = index;
+            array.add(nobles.get(index));
+
             Log.DEBUG("Noble tile has been drawned");
-            amount--;
         }
 
         return array;
@@ -399,52 +514,80 @@ public class Game {
 
 
 
-    public void canPerformAnyAction(User user) throws CanPerformAnActionException {
+    /**
+     * Finds an action the user can still perform in their turn. It's asked for whenever a player
+     * wants to end the turn without any action, so it reports the result instead of throwing it.
+     *
+     * @param user the player whose turn it is
+     * @return the description of an action the user can perform, or null if they can't perform any action
+     */
+    public String findPossibleAction(User user) {
+        LegalActions actions = legalActions(user);
 
         // Check if user can reserve any card from deck
-        if (canReserveCardFromDeck(CardTier.LEVEL_1, user)) throw new CanPerformAnActionException("You can reserve a card of tier 1!");
-        if (canReserveCardFromDeck(CardTier.LEVEL_2, user)) throw new CanPerformAnActionException("You can reserve a card of tier 2!");
-        if (canReserveCardFromDeck(CardTier.LEVEL_3, user)) throw new CanPerformAnActionException("You can reserve a card of tier 3!");
-
-        // Check if user can buy or reserve card from table
-        for (Deck deck : revealedCards.values()) {
-            for (Card card : deck) {
-
-                // Check if user can reserve a card from table
-                if (canReserveCardFromTable(card, user))
-                    throw new CanPerformAnActionException(String.format("There is a card of %s tier which you can reserve!", deck.getTier().toString()));
-
-                // Check if user can buy a card from table
-                if (user.canBuyCard(card))
-                    throw new CanPerformAnActionException(String.format("You can buy a card of %s tier!", deck.getTier().toString()));
+        for (CardTier tier : CardTier.values()) {
+            if (actions.canReserveFromDeck(tier)) return "You can reserve a card of tier " + (tier.ordinal() + 1) + "!";
+        }
 
-            }
+        // Check if user can reserve a card from table
+        for (CardTier tier : CardTier.values()) {
+            if ((actions.getReserveRevealed() & revealedTierBits(tier)) != 0)
+                return String.format("There is a card of %s tier which you can reserve!", tier.toString());
         }
 
+        // Check if user can buy a card from table
+        if (actions.getBuyRevealed() != 0) {
+            CardTier tier = CardTier.values()[Integer.numberOfTrailingZeros(actions.getBuyRevealed()) / REVEALED_CARDS_PER_TIER];
+            return String.format("You can buy a card of %s tier!", tier.toString());
+        }
 
         // Check if user can buy reserved card
-        for (Card card : user.getReservedCards())
-            if (user.canBuyCard(card)) throw new CanPerformAnActionException("You can buy one of your reserved cards!");
+        if (actions.getBuyReserved() != 0) return "You can buy one of your reserved cards!";
 
+        // Check if user can take tokens. If there are fewer than 3 colors left, the user still takes one token of each of them.
+        if (actions.getTakeTwoOfColor() != 0) return "You can take 2 tokens of some color!";
+        if (actions.getTakeDifferentColors() != 0) return "You can take 3 tokens of different colors!";
 
+        return null;
+    }
 
-        int greaterThanOneCount = 0;
-        // Check if user can take tokens
-        for (Map.Entry<TokenType, Integer> entry : tokensOnTable.entrySet()) {
-            if (entry.getKey() == TokenType.GOLD_JOKER) continue;
-
-            if (entry.getValue() >= 4)
-                throw new CanPerformAnActionException("You can take 2 tokens of some color!");
-
-            if (entry.getValue() >= 1) greaterThanOneCount += 1;
+    /**
+     * Finds every action the user can legally perform in their turn. It's the one place the rules of the actions
+     * are checked in, the reactions validate the requests against it. It doesn't check whose turn it is.
+     *
+     * @param user the player
+     * @return the legal actions of the user
+     */
+    public LegalActions legalActions(User user) {
+        // The tokens can change without the game being told, e.g. by the debugging tools, so the masks are checked first
+        if (user.areMasksStale()) refreshMasks(user);
+
+        int reserveRevealed = 0;
+        int reserveFromDeck = 0;
+        if (user.getReservationCount() < MAX_RESERVED_CARDS && user.getTokenCount() <= MAX_TOKENS) {
+            for (CardTier tier : CardTier.values()) {
+                int revealed = revealedCards.get(tier).size();
+                reserveRevealed |= ((1 << revealed) - 1) << (tier.ordinal() * REVEALED_CARDS_PER_TIER);
+                if (!decks.get(tier).isEmpty()) reserveFromDeck |= 1 << tier.ordinal();
+            }
         }
 
-        // If we check, if greaterThanOneCount >= 3, then user can take 3 tokens. But actually if only greaterThanOneCount >= 1, then user can still take one token,
-        // because there is no possibility to take 2 or 3 different tokens. But it doesn't matter. What matters, is that user can perform an action regardless how many
-        // tokens he would need to return.
-        if (greaterThanOneCount >= 1)
-            throw new CanPerformAnActionException("You can take 3 tokens of different colors!");
+        return new LegalActions(
+            LegalActions.takeDifferentColors(tokensOnTable),
+            LegalActions.takeTwoOfColor(tokensOnTable),
+            user.getAffordableRevealedMask(),
+            user.getAffordableReservedMask(),
+            reserveRevealed,
+            reserveFromDeck
+        );
     }
 
+    /**
+     * @param card the card
+     * @return the index of the card in {@link #getRevealedCards(CardTier)} of its tier, or -1 if it isn't revealed
+     */
+    public int getRevealedSlot(Card card) {
+        return revealedCards.get(card.getCardTier()).indexOf(card);
+    }
 
 }
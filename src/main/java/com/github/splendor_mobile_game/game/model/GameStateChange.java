@@ -0,0 +1,148 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+
+/**
+ * A single change of the game state, recorded when the game or one of its players is modified.
+ * The changes are sent to the clients in a {@link GameStateDelta}, so they can update their state
+ * without receiving the whole game again.
+ *
+ * The token counts are always sent as the values after the change, not the differences,
+ * so applying the same change twice doesn't break the state of the client.
+ */
+public abstract class GameStateChange {
+
+    public enum ChangeType {
+        TOKENS_CHANGED,
+        REVEALED_CARD_REPLACED,
+        CARD_RESERVED,
+        CARD_PURCHASED,
+        NOBLE_TAKEN
+    }
+
+    public final ChangeType type;
+
+    protected GameStateChange(ChangeType type) {
+        this.type = type;
+    }
+
+    /**
+     * Checks if the change makes the other change obsolete, so only the newer one has to be sent.
+     *
+     * @param older the change recorded earlier
+     * @return true if the older change can be dropped
+     */
+    boolean supersedes(GameStateChange older) {
+        return false;
+    }
+
+    /** The tokens of the player or of the table have changed. */
+    public static class TokensChanged extends GameStateChange {
+
+        /** The owner of the tokens, null if they are the tokens on the table. */
+        public final UUID userUuid;
+
+        public final Map<TokenType, Integer> tokens;
+
+        public TokensChanged(UUID userUuid, TokenVector tokens) {
+            super(ChangeType.TOKENS_CHANGED);
+            this.userUuid = userUuid;
+            this.tokens = tokens.toMap();
+        }
+
+        @Override
+        boolean supersedes(GameStateChange older) {
+            return older instanceof TokensChanged && Objects.equals(((TokensChanged) older).userUuid, this.userUuid);
+        }
+
+    }
+
+    /** The card was taken from the table and replaced by the new card drawn from the deck. */
+    public static class RevealedCardReplaced extends GameStateChange {
+
+        public final CardTier tier;
+
+        public final UUID removedCardUuid;
+
+        /** The card put on the table, null if the deck was empty. */
+        public final UUID addedCardUuid;
+
+        /** The ID of the added card in the catalog, so the client knows its cost and points, -1 if the deck was empty. */
+        public final int addedCardId;
+
+        public RevealedCardReplaced(CardTier tier, Card removedCard, Card addedCard) {
+            super(ChangeType.REVEALED_CARD_REPLACED);
+            this.tier = tier;
+            this.removedCardUuid = removedCard.getUuid();
+            this.addedCardUuid = addedCard == null ? null : addedCard.getUuid();
+            this.addedCardId = addedCard == null ? -1 : addedCard.getCardID();
+        }
+
+    }
+
+    /** The player has reserved the card. */
+    public static class CardReserved extends GameStateChange {
+
+        public final UUID userUuid;
+
+        public final CardTier tier;
+
+        /** The reserved card, null if it was drawn from the deck, because only its owner can see it. */
+        public final UUID cardUuid;
+
+        public CardReserved(UUID userUuid, CardTier tier, UUID cardUuid) {
+            super(ChangeType.CARD_RESERVED);
+            this.userUuid = userUuid;
+            this.tier = tier;
+            this.cardUuid = cardUuid;
+        }
+
+    }
+
+    /** The player has bought the card, either from the table or from their reservations. */
+    public static class CardPurchased extends GameStateChange {
+
+        public final UUID userUuid;
+
+        public final UUID cardUuid;
+
+        public final int cardId;
+
+        /** The points of the player after the purchase. */
+        public final int points;
+
+        public CardPurchased(UUID userUuid, Card card, int points) {
+            super(ChangeType.CARD_PURCHASED);
+            this.userUuid = userUuid;
+            this.cardUuid = card.getUuid();
+            this.cardId = card.getCardID();
+            this.points = points;
+        }
+
+    }
+
+    /** The noble has visited the player. */
+    public static class NobleTaken extends GameStateChange {
+
+        public final UUID userUuid;
+
+        public final UUID nobleUuid;
+
+        /** The points of the player after the visit. */
+        public final int points;
+
+        public NobleTaken(UUID userUuid, UUID nobleUuid, int points) {
+            super(ChangeType.NOBLE_TAKEN);
+            this.userUuid = userUuid;
+            this.nobleUuid = nobleUuid;
+            this.points = points;
+        }
+
+    }
+
+}
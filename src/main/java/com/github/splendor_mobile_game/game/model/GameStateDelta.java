@@ -0,0 +1,27 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.util.List;
+
+/**
+ * The changes of the game state made by a single action, stamped with the version of the state
+ * they lead to. The client knows it has missed an update if the previous version of the delta
+ * isn't the version it has. The server can merge consecutive deltas into one, then the versions
+ * of the merged delta differ by more than one.
+ */
+public class GameStateDelta {
+
+    /** The version of the state after applying the changes. */
+    public final long version;
+
+    /** The version of the state the changes have to be applied to. */
+    public final long previousVersion;
+
+    public final List<GameStateChange> changes;
+
+    public GameStateDelta(long version, List<GameStateChange> changes) {
+        this.version = version;
+        this.previousVersion = version - 1;
+        this.changes = changes;
+    }
+
+}
@@ -155,6 +155,7 @@ public class Room {
 
         users.add(user);
         playerCount++;
+        database.userJoinedRoom(user, this);
     }
 
 
@@ -171,6 +172,7 @@ public class Room {
         if (!users.contains(user)) return;  // Player is not part of the game.
         users.remove(user);
         playerCount--;
+        database.userLeftRoom(user, this);
     }
 
 
@@ -207,10 +209,7 @@ public class Room {
      * @return boolean -> true if code doesn't exist yet
      */
     private boolean isCodeAvailable(Database database, String enterCode) {
-        for (Room room : database.getAllRooms()) {
-            if (room.getEnterCode().equals(enterCode)) return false;
-        }
-        return true;
+        return database.getRoom(enterCode) == null;
     }
 
 
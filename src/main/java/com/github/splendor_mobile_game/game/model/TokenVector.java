@@ -0,0 +1,196 @@
+package com.github.splendor_mobile_game.game.model;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.github.splendor_mobile_game.game.enums.TokenType;
+
+/**
+ * The numbers of tokens of each type, kept in a primitive array indexed by {@link TokenType#ordinal()}.
+ * It holds the tokens of the users and of the table as well as the costs of the cards and the nobles
+ * and the bonuses of the purchased cards, so the game never boxes the counts nor iterates the entries of a map.
+ *
+ * The costs and the bonuses never contain gold tokens, so the operations of the game run over all the types,
+ * the gold count of the cost is 0 and doesn't change the result.
+ */
+public final class TokenVector {
+
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private final int[] counts;
+
+    /** Increased on every change of the counts, so the values computed from the vector can tell they're stale. */
+    private int version;
+
+    /** Creates the vector with no tokens. */
+    public TokenVector() {
+        this.counts = new int[TYPES.length];
+    }
+
+    private TokenVector(int[] counts) {
+        this.counts = counts;
+    }
+
+    /**
+     * Creates the vector of the tokens listed in the map.
+     *
+     * @param tokens the numbers of tokens by their type, the missing types have no tokens
+     * @return the vector
+     */
+    public static TokenVector of(Map<TokenType, Integer> tokens) {
+        TokenVector vector = new TokenVector();
+        for (Map.Entry<TokenType, Integer> entry : tokens.entrySet()) {
+            vector.counts[entry.getKey().ordinal()] = entry.getValue();
+        }
+        return vector;
+    }
+
+    /**
+     * Creates the vector of the gem tokens, with no gold tokens. The arguments follow the order of the card database.
+     *
+     * @return the vector
+     */
+    public static TokenVector ofGems(int emerald, int sapphire, int ruby, int diamond, int onyx) {
+        TokenVector vector = new TokenVector();
+        vector.counts[TokenType.EMERALD.ordinal()] = emerald;
+        vector.counts[TokenType.SAPPHIRE.ordinal()] = sapphire;
+        vector.counts[TokenType.RUBY.ordinal()] = ruby;
+        vector.counts[TokenType.DIAMOND.ordinal()] = diamond;
+        vector.counts[TokenType.ONYX.ordinal()] = onyx;
+        return vector;
+    }
+
+    /**
+     * @return the independent copy of the vector
+     */
+    public TokenVector copy() {
+        return new TokenVector(this.counts.clone());
+    }
+
+    public int get(TokenType type) {
+        return this.counts[type.ordinal()];
+    }
+
+    public void set(TokenType type, int count) {
+        this.counts[type.ordinal()] = count;
+        this.version++;
+    }
+
+    public void add(TokenType type, int count) {
+        this.counts[type.ordinal()] += count;
+        this.version++;
+    }
+
+    /**
+     * Adds the tokens of the other vector to this one.
+     * @param other the added tokens, negative counts are subtracted
+     */
+    public void add(TokenVector other) {
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] += other.counts[i];
+        }
+        this.version++;
+    }
+
+    /**
+     * Subtracts the tokens of the other vector from this one.
+     * @param other the subtracted tokens, negative counts are added
+     */
+    public void subtract(TokenVector other) {
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] -= other.counts[i];
+        }
+        this.version++;
+    }
+
+    /**
+     * @return the number of all the tokens
+     */
+    public int sum() {
+        int sum = 0;
+        for (int count : this.counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns how many tokens are missing to pay the cost, which is lowered by the discount, that is
+     * the sum of {@code max(0, cost - discount - this)} over all the types.
+     *
+     * @param cost the cost
+     * @param discount the discount of the cost, e.g. the bonuses of the purchased cards
+     * @return the number of the missing tokens, 0 if the tokens of this vector are enough
+     */
+    public int shortfall(TokenVector cost, TokenVector discount) {
+        int missing = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            missing += Math.max(0, cost.counts[i] - discount.counts[i] - this.counts[i]);
+        }
+        return missing;
+    }
+
+    /**
+     * Pays the cost, which is lowered by the discount, with the tokens of this vector, that is sets every count
+     * to {@code max(0, this - max(0, cost - discount))}. The part of the cost that can't be paid is left
+     * for the caller, see {@link #shortfall(TokenVector, TokenVector)}.
+     *
+     * @param cost the cost
+     * @param discount the discount of the cost, e.g. the bonuses of the purchased cards
+     */
+    public void pay(TokenVector cost, TokenVector discount) {
+        for (int i = 0; i < this.counts.length; i++) {
+            int needed = Math.max(0, cost.counts[i] - discount.counts[i]);
+            this.counts[i] = Math.max(0, this.counts[i] - needed);
+        }
+        this.version++;
+    }
+
+    /**
+     * @param other the other vector
+     * @return true if this vector has at least as many tokens of every type as the other one
+     */
+    public boolean covers(TokenVector other) {
+        for (int i = 0; i < this.counts.length; i++) {
+            if (this.counts[i] < other.counts[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of changes of the vector, it differs from an earlier result whenever the counts could have changed
+     */
+    int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * @return the numbers of tokens by their type, including the types with no tokens
+     */
+    public Map<TokenType, Integer> toMap() {
+        Map<TokenType, Integer> map = new EnumMap<>(TokenType.class);
+        for (TokenType type : TYPES) {
+            map.put(type, this.counts[type.ordinal()]);
+        }
+        return map;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(this.counts, ((TokenVector) o).counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.counts);
+    }
+
+    @Override
+    public String toString() {
+        return this.toMap().toString();
+    }
+
+}
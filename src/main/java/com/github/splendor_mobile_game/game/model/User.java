@@ -1,10 +1,10 @@
 package com.github.splendor_mobile_game.game.model;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import com.github.splendor_mobile_game.game.exceptions.NotEnoughTokensException;
 import com.github.splendor_mobile_game.game.enums.TokenType;
@@ -16,15 +16,15 @@ public class User implements Comparable<User> {
 
     private UUID uuid;
 
-    private int connectionHasCode;
+    private long connectionHasCode;
 
     private int points;
 
-    //initialized tokens hashmap
-    private Map<TokenType, Integer> tokens = new HashMap<TokenType, Integer>();
+    //tokens the user holds
+    private final TokenVector tokens = new TokenVector();
 
-    //hashmap showing how many Bonuses user has
-    private Map<TokenType, Integer> cardBonuses = new HashMap<TokenType, Integer>();
+    //how many Bonuses user has, one for every purchased card of the bonus type
+    private final TokenVector cardBonuses = new TokenVector();
 
     //initialized purchased and reserved cards lists
     private ArrayList<Card> purchasedCards = new ArrayList<Card>();
@@ -34,45 +34,64 @@ public class User implements Comparable<User> {
     private ArrayList<Noble> visitingNobles = new ArrayList<Noble>();
     private boolean hasPerformedAction;
 
-    public User(UUID uuid, String name, int connectionHasCode) {
+    /** The bitmask of the reserved cards the user can afford, bit i stands for the i-th reserved card. */
+    private int affordableReservedMask;
+
+    /** The {@link #getTokensStamp()} the reserved mask was computed for. */
+    private int reservedMaskStamp;
+
+    /** The bitmask of the revealed cards the user can afford, see {@link Game#revealedSlotBit}. It's maintained by the game. */
+    private int affordableRevealedMask;
+
+    /** The bitmask of the nobles the user is eligible for, bit i stands for the i-th noble of the game. It's maintained by the game. */
+    private int eligibleNoblesMask;
+
+    /** The {@link #getTokensStamp()} the masks of the game were computed for. */
+    private int masksStamp = -1;
+
+    /** Notified about every change of the user's state made during the game, null if the user isn't playing. */
+    private Consumer<GameStateChange> stateChangeListener;
+
+    public User(UUID uuid, String name, long connectionHasCode) {
         this.uuid = uuid;
         this.name = name;
         this.connectionHasCode = connectionHasCode;
-
-        //putting every token type into hashmaps and setting its value to 0
-        for (TokenType type : TokenType.values()) {
-            this.tokens.put(type, 0);
-            if(type != TokenType.GOLD_JOKER) this.cardBonuses.put(type, 0);
-        }
         this.hasPerformedAction = false;
     }
 
     //method returning how many tokens user has
     public int getTokenCount() {
-        int result = 0;
-
-        for(Map.Entry<TokenType, Integer> set : this.tokens.entrySet()) {
-            result += set.getValue();
-        }
-
-        return result;
+        return this.tokens.sum();
     }
 
     public int getTokenCount(TokenType type) {
         return this.tokens.get(type);
     }
 
+    /**
+     * @return the copy of the tokens the user holds
+     */
+    public TokenVector getTokens() {
+        return this.tokens.copy();
+    }
+
     /** 
      * function which updates user's token amount by adding or subtracting their current amount by numbers listed in tokensChange map
      * It skips gold token type because users can't take gold tokens by themselves
      */
+    public void changeTokens(TokenVector tokensChange) {
+        // User can't take Gold tokens from table so we keep the gold count untouched
+        int goldTokens = this.tokens.get(TokenType.GOLD_JOKER);
+        // Every token type value is added/subtracted by its corresponding value in tokensChange vector
+        this.tokens.add(tokensChange);
+        this.tokens.set(TokenType.GOLD_JOKER, goldTokens);
+
+        this.recordTokensChange();
+    }
+
+    /** Same as {@link #changeTokens(TokenVector)}, the missing token types don't change. */
     public void changeTokens(Map<TokenType, Integer> tokensChange) {
-        for(Map.Entry<TokenType, Integer> set : this.tokens.entrySet()) {
-            // User can't take Gold tokens from table so we skip them in our this.tokens map
-            if(set.getKey() == TokenType.GOLD_JOKER) continue;
-            // Every token type value is added/subtracted by its corresponding value in tokensChange map
-            this.tokens.put(set.getKey(), set.getValue() + tokensChange.get(set.getKey()));
-        }
+        this.changeTokens(TokenVector.of(tokensChange));
     }
 
 
@@ -87,22 +106,10 @@ public class User implements Comparable<User> {
      *         >0 number of needed golden tokens
      */
     public int howManyGoldenTokens(Card card) {
-        int goldTokensUsed = 0;
-
-        for(Map.Entry<TokenType, Integer> set : this.tokens.entrySet()) {
-            if(set.getKey() == TokenType.GOLD_JOKER) continue;
-            int tokensPlusBonuses = set.getValue() + this.cardBonuses.get(set.getKey());
-            if(tokensPlusBonuses < card.getCost(set.getKey())) {
-                int missingTokens = card.getCost(set.getKey()) - tokensPlusBonuses;
-                if((this.getTokenCount(TokenType.GOLD_JOKER) - goldTokensUsed) >= missingTokens) {
-                    goldTokensUsed += missingTokens;
-                } else {
-                    return -1;
-                }
-            }
-        }
+        // Card costs have no gold, so the gold tokens of the user don't lower the shortfall
+        int goldTokensUsed = this.tokens.shortfall(card.getCost(), this.cardBonuses);
 
-        return goldTokensUsed;
+        return goldTokensUsed <= this.tokens.get(TokenType.GOLD_JOKER) ? goldTokensUsed : -1;
     }
 
 
@@ -121,31 +128,22 @@ public class User implements Comparable<User> {
             throw new NotEnoughTokensException("You don't have enough tokens to buy this card");
 
 
-        this.tokens.forEach((k,v) -> {
-            if(k != TokenType.GOLD_JOKER) {
-                int neededTokens = card.getCost(k) - this.cardBonuses.get(k);
-                if(neededTokens >= 0){
-                    int changedValue = v > neededTokens ? v - neededTokens : 0;
-                    this.tokens.put(k, changedValue);
-                }
-            }
-        });
-
-        this.tokens.put(TokenType.GOLD_JOKER, this.tokens.get(TokenType.GOLD_JOKER) - goldTokensUsed);
+        this.tokens.pay(card.getCost(), this.cardBonuses);
+        this.tokens.add(TokenType.GOLD_JOKER, -goldTokensUsed);
 
         this.purchasedCards.add(card);
 
-        this.cardBonuses.put(card.getAdditionalToken(), this.cardBonuses.get(card.getAdditionalToken()) + 1);
+        this.cardBonuses.add(card.getAdditionalToken(), 1);
 
         this.addPoints(card.getPoints());
 
+        this.recordTokensChange();
+        this.recordChange(new GameStateChange.CardPurchased(this.uuid, card, this.points));
     }
 
     public boolean takeNoble(Noble noble) {
-        for(Map.Entry<TokenType, Integer> set : this.cardBonuses.entrySet()) {
-            if(set.getValue() < noble.getCost((set.getKey()))) return false;
-                //throw new NotEnoughBonusPointsException("You don't have enough cards for this Noble to visit you");
-        }
+        if(!this.canTakeNoble(noble)) return false;
+            //throw new NotEnoughBonusPointsException("You don't have enough cards for this Noble to visit you");
 
         this.visitingNobles.add(noble);
         this.addPoints(noble.getPoints());
@@ -154,6 +152,95 @@ public class User implements Comparable<User> {
         return true;
     }
 
+    /**
+     * Sets the listener notified about the changes of the user's state, it's set by the game the user plays.
+     * @param stateChangeListener the listener, or null to stop recording the changes
+     */
+    void setStateChangeListener(Consumer<GameStateChange> stateChangeListener) {
+        this.stateChangeListener = stateChangeListener;
+    }
+
+    private void recordChange(GameStateChange change) {
+        if (this.stateChangeListener != null) {
+            this.stateChangeListener.accept(change);
+        }
+    }
+
+    private void recordTokensChange() {
+        // The tokens and the bonuses decide which reserved cards the user can afford
+        this.refreshAffordableReservedMask();
+
+        if (this.stateChangeListener != null) {
+            this.stateChangeListener.accept(new GameStateChange.TokensChanged(this.uuid, this.tokens));
+        }
+    }
+
+    private void refreshAffordableReservedMask() {
+        int mask = 0;
+        for (int i = 0; i < this.reservedCards.size(); i++) {
+            if (this.canBuyCard(this.reservedCards.get(i))) mask |= 1 << i;
+        }
+        this.affordableReservedMask = mask;
+        this.reservedMaskStamp = this.getTokensStamp();
+    }
+
+    /**
+     * @return the bitmask of the reserved cards the user can afford, bit i stands for {@code getReservedCards().get(i)}
+     */
+    public int getAffordableReservedMask() {
+        if (this.reservedMaskStamp != this.getTokensStamp()) this.refreshAffordableReservedMask();
+        return affordableReservedMask;
+    }
+
+    /**
+     * @return the bitmask of the revealed cards the user can afford, see {@link Game#revealedSlotBit}, 0 if the user isn't playing
+     */
+    public int getAffordableRevealedMask() {
+        return affordableRevealedMask;
+    }
+
+    void setAffordableRevealedMask(int affordableRevealedMask) {
+        this.affordableRevealedMask = affordableRevealedMask;
+    }
+
+    /**
+     * @return the bitmask of the nobles the user is eligible for, bit i stands for {@code getNobles().get(i)} of the game, 0 if the user isn't playing
+     */
+    public int getEligibleNoblesMask() {
+        return eligibleNoblesMask;
+    }
+
+    void setEligibleNoblesMask(int eligibleNoblesMask) {
+        this.eligibleNoblesMask = eligibleNoblesMask;
+    }
+
+    /**
+     * @return the stamp of the tokens and the bonuses of the user, it changes whenever any of them changes
+     */
+    int getTokensStamp() {
+        return this.tokens.getVersion() + this.cardBonuses.getVersion();
+    }
+
+    /**
+     * @return true if the tokens or the bonuses have changed since the game computed the masks of the user
+     */
+    boolean areMasksStale() {
+        return this.masksStamp != this.getTokensStamp();
+    }
+
+    /** Marks the masks computed by the game as matching the current tokens and bonuses. */
+    void markMasksFresh() {
+        this.masksStamp = this.getTokensStamp();
+    }
+
+    /**
+     * @param noble the noble
+     * @return true if the user has enough bonuses for the noble to visit them
+     */
+    public boolean canTakeNoble(Noble noble) {
+        return this.cardBonuses.covers(noble.getCost());
+    }
+
     private void addPoints(int points) {
         this.points += points;
     }
@@ -170,7 +257,10 @@ public class User implements Comparable<User> {
         this.reservedCards.add(card);
         
         if(goldToken){
-            this.tokens.put(TokenType.GOLD_JOKER, this.tokens.get(TokenType.GOLD_JOKER) + 1);
+            this.tokens.add(TokenType.GOLD_JOKER, 1);
+            this.recordTokensChange();
+        } else {
+            this.refreshAffordableReservedMask();
         }
     }
 
@@ -191,13 +281,14 @@ public class User implements Comparable<User> {
 
     public void removeCardFromReserved(Card card) {
         this.reservedCards.remove(card);
+        this.refreshAffordableReservedMask();
     }
 
-    public int getConnectionHashCode() {
+    public long getConnectionHashCode() {
         return connectionHasCode;
     }
 
-    public void setConnectionHasCode(int connectionHasCode) {
+    public void setConnectionHasCode(long connectionHasCode) {
         this.connectionHasCode = connectionHasCode;
     }
 
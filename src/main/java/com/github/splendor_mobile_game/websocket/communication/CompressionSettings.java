@@ -0,0 +1,45 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+/** The settings of the permessage-deflate compression negotiated with the clients. */
+public class CompressionSettings {
+
+    private final boolean enabled;
+    private final int thresholdBytes;
+    private final int level;
+
+    /**
+     * @param enabled whether to negotiate the compression with the clients asking for it
+     * @param thresholdBytes the minimum size of the payload to compress
+     * @param level the compression level, from 0 to 9 or -1 for the default one
+     */
+    public CompressionSettings(boolean enabled, int thresholdBytes, int level) {
+        this.enabled = enabled;
+        this.thresholdBytes = thresholdBytes;
+        this.level = level;
+    }
+
+    /**
+     * @return the settings with the compression disabled
+     */
+    public static CompressionSettings disabled() {
+        return new CompressionSettings(false, 0, 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public String toString() {
+        return enabled ? "enabled (threshold " + thresholdBytes + "B, level " + level + ")" : "disabled";
+    }
+
+}
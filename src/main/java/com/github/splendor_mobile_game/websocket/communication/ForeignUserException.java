@@ -0,0 +1,26 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import com.github.splendor_mobile_game.websocket.utils.CustomException;
+
+/**
+ * Thrown when the request names a user or a room other than the ones bound to the connection it was received on.
+ * The requests are handled on the lane of the connection's room, so they can't act on behalf of anyone else.
+ */
+public class ForeignUserException extends CustomException {
+
+    public ForeignUserException() {
+    }
+
+    public ForeignUserException(String message) {
+        super(message);
+    }
+
+    public ForeignUserException(Throwable cause) {
+        super(cause);
+    }
+
+    public ForeignUserException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutgoingPayload;
+
+/**
+ * The responses to the recent requests of a single connection, by the context IDs of the requests.
+ * The mobile clients retry the requests after network blips, so the retried request is answered
+ * with the cached responses instead of being handled once again, which could apply the action twice.
+ *
+ * The cache holds at most the given number of requests, the least recently used one is evicted first,
+ * and the responses expire after the given time. A request still being handled neither expires nor is evicted,
+ * its retries are dropped until it's finished, so the cache can briefly hold more requests while they're in flight.
+ * Every request begun has to be either completed or aborted.
+ */
+public class ReplayCache {
+
+    /** The request seen by the cache. */
+    public static class Entry {
+
+        private final long createdNanos;
+
+        /** The responses sent to the client, null while the request is being handled. */
+        private List<OutgoingPayload> responses;
+
+        private Entry(long createdNanos) {
+            this.createdNanos = createdNanos;
+        }
+
+        /**
+         * @return true if the request has been handled and its responses are cached
+         */
+        public boolean isCompleted() {
+            return responses != null;
+        }
+
+        /**
+         * @return the responses sent to the client, in order, or null if the request is still being handled
+         */
+        public List<OutgoingPayload> getResponses() {
+            return responses;
+        }
+
+    }
+
+    private final int maxEntries;
+
+    private final long ttlNanos;
+
+    private final Map<UUID, Entry> entries;
+
+    /**
+     * @param maxEntries the maximum number of the cached requests, 0 disables the cache
+     * @param ttlMs the time in milliseconds the responses are kept for
+     */
+    public ReplayCache(int maxEntries, long ttlMs) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * @return the cache which doesn't remember any request
+     */
+    public static ReplayCache disabled() {
+        return new ReplayCache(0, 0);
+    }
+
+    /**
+     * Looks the request up. If it hasn't been seen yet, it's remembered as being handled.
+     *
+     * @param contextId the context ID of the request
+     * @param nowNanos the current time in nanoseconds, see {@link System#nanoTime()}
+     * @return null if the request should be handled, otherwise the entry of the earlier request with the same context ID
+     */
+    public synchronized Entry begin(UUID contextId, long nowNanos) {
+        if (this.maxEntries == 0 || contextId == null) {
+            return null;
+        }
+
+        Entry entry = this.entries.get(contextId);
+        if (entry != null && (!entry.isCompleted() || nowNanos - entry.createdNanos < this.ttlNanos)) {
+            return entry;
+        }
+
+        this.entries.put(contextId, new Entry(nowNanos));
+        this.evict();
+        return null;
+    }
+
+    /**
+     * Remembers the responses to the handled request.
+     *
+     * @param contextId the context ID of the request
+     * @param responses the responses sent to the client, in order
+     * @param nowNanos the current time in nanoseconds, see {@link System#nanoTime()}
+     */
+    public synchronized void complete(UUID contextId, List<OutgoingPayload> responses, long nowNanos) {
+        if (this.maxEntries == 0 || contextId == null) {
+            return;
+        }
+
+        Entry entry = new Entry(nowNanos);
+        entry.responses = List.copyOf(responses);
+        this.entries.put(contextId, entry);
+        this.evict();
+    }
+
+    /**
+     * Evicts the least recently used completed requests until the cache fits its size. The requests still being
+     * handled are skipped, evicting them would let their retries be handled twice.
+     */
+    private void evict() {
+        Iterator<Entry> iterator = this.entries.values().iterator();
+        while (this.entries.size() > this.maxEntries && iterator.hasNext()) {
+            if (iterator.next().isCompleted()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Forgets the request if it's still being handled, because it has failed without any cacheable response.
+     * Its retry will be handled once again.
+     *
+     * @param contextId the context ID of the request
+     */
+    public synchronized void abort(UUID contextId) {
+        if (contextId == null) {
+            return;
+        }
+
+        Entry entry = this.entries.get(contextId);
+        if (entry != null && !entry.isCompleted()) {
+            this.entries.remove(contextId);
+        }
+    }
+
+    /**
+     * @return the number of the cached requests
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return maxEntries == 0 ? "disabled" : maxEntries + " requests for " + TimeUnit.NANOSECONDS.toSeconds(ttlNanos) + "s";
+    }
+
+}
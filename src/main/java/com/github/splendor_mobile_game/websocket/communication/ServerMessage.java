@@ -101,7 +101,7 @@ public class ServerMessage {
             throw new UnsupportedOperationException("This ServerMessage is not the ErrorResponse, because its result is OK");
         }
 
-        ErrorResponse.Data data = (ErrorResponse.Data) JsonParser.parseJson((new Gson()).toJson(this.getData()), ErrorResponse.Data.class);
+        ErrorResponse.Data data = (ErrorResponse.Data) JsonParser.parseJson(JsonParser.toJsonTree(this.getData()), ErrorResponse.Data.class);
         return new ErrorResponse(this.getResult(), data.error, this.getType(), this.getContextId().toString());
     }
 
@@ -0,0 +1,232 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.java_websocket.WebSocket;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.limits.InboundLimits;
+import com.github.splendor_mobile_game.websocket.communication.limits.RateLimiter;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutboundLimits;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutboundQueue;
+
+/**
+ * The state of a single connection, attached to its `WebSocket`. It gives the connection an ID
+ * which is unique for the whole run of the server, unlike the identity hashcode of the `WebSocket`,
+ * and remembers the user using the connection together with their room, so they don't have to be
+ * searched for in the database on every message.
+ *
+ * The binding is created by {@link #bind(Database)} after the user has created, joined or left a room.
+ * When the user is kicked from the room, the binding of the room turns stale and it's dropped
+ * the next time it's read, which is cheap, because a room has at most a few users.
+ * The requests are routed by {@link #getRoomUuid()}, which only reads the state of the session,
+ * because the users of the room may only be read on the room's lane.
+ *
+ * The requests are routed to their lanes by the binding, so a request received while a request which can
+ * change the binding is still being handled waits for it, see {@link #dispatch(boolean, Runnable)}.
+ */
+public class Session {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    private final long id;
+
+    private final WebSocket connection;
+
+    private final OutboundQueue outboundQueue;
+
+    private final RateLimiter rateLimiter;
+
+    private final ReplayCache replayCache;
+
+    /** The user using the connection, null if the connection isn't bound to any user. */
+    private volatile User user;
+
+    /** The room of the bound user, null if the user isn't in any room. */
+    private volatile Room room;
+
+    /** The UUID of the room the session was bound to, it isn't dropped when the user is kicked. */
+    private volatile UUID roomUuid;
+
+    /** Whether a request which can change the binding has been dispatched and hasn't been handled yet. */
+    private boolean rebinding = false;
+
+    /** The dispatches waiting for the binding to be changed, in the order the requests were received. */
+    private final Queue<PendingDispatch> pendingDispatches = new ArrayDeque<>();
+
+    /** The dispatch of a request waiting for {@link #finishRebinding()}. */
+    private static class PendingDispatch {
+
+        private final boolean rebinds;
+
+        private final Runnable submit;
+
+        private PendingDispatch(boolean rebinds, Runnable submit) {
+            this.rebinds = rebinds;
+            this.submit = submit;
+        }
+
+    }
+
+    /**
+     * Creates the session of the connection, which neither limits nor caches the received requests, and attaches it to the connection.
+     *
+     * @param connection the connection
+     * @param outboundLimits the limits of the data waiting to be written to the connection
+     */
+    public Session(WebSocket connection, OutboundLimits outboundLimits) {
+        this(connection, outboundLimits, InboundLimits.unlimited(), ReplayCache.disabled());
+    }
+
+    /**
+     * Creates the session of the connection and attaches it to the connection.
+     *
+     * @param connection the connection
+     * @param outboundLimits the limits of the data waiting to be written to the connection
+     * @param inboundLimits the limits of the messages received from the connection
+     * @param replayCache the cache of the responses to the recent requests of the connection
+     */
+    public Session(WebSocket connection, OutboundLimits outboundLimits, InboundLimits inboundLimits, ReplayCache replayCache) {
+        this.id = NEXT_ID.getAndIncrement();
+        this.connection = connection;
+        this.outboundQueue = new OutboundQueue(connection, outboundLimits);
+        this.rateLimiter = new RateLimiter(inboundLimits, System.nanoTime());
+        this.replayCache = replayCache;
+        connection.setAttachment(this);
+    }
+
+    /**
+     * Returns the session of the connection.
+     *
+     * @param connection the connection
+     * @return the session attached to the connection, or null if it has none
+     */
+    public static Session of(WebSocket connection) {
+        Object attachment = connection.getAttachment();
+        return attachment instanceof Session ? (Session) attachment : null;
+    }
+
+    /**
+     * Binds the session to the user using the connection and their room. It searches the database,
+     * so it's called only when the user could have joined or left a room.
+     *
+     * @param database the database
+     */
+    public void bind(Database database) {
+        User user = database.getUserByConnectionHashCode(this.id);
+        Room room = user == null ? null : database.getRoomWithUser(user.getUuid());
+        this.room = room;
+        this.roomUuid = room == null ? null : room.getUuid();
+        this.user = user;
+    }
+
+    /**
+     * Dispatches the request of the connection right away, unless a request which can change the binding
+     * is still being handled. The dispatch waits for {@link #finishRebinding()} then, so the request is routed
+     * by the new binding and it isn't handled before the requests received earlier.
+     *
+     * @param rebinds whether the request can change the binding, {@link #finishRebinding()} has to be called once it's handled
+     * @param submit submits the request to its lane, it mustn't throw
+     */
+    public synchronized void dispatch(boolean rebinds, Runnable submit) {
+        if (this.rebinding) {
+            this.pendingDispatches.add(new PendingDispatch(rebinds, submit));
+            return;
+        }
+
+        // Set before the submission, the request may be handled right away by the submitting thread
+        this.rebinding = rebinds;
+        submit.run();
+    }
+
+    /**
+     * Called once the request which could change the binding has been handled, dispatches the requests waiting for it.
+     */
+    public synchronized void finishRebinding() {
+        this.rebinding = false;
+
+        PendingDispatch pending;
+        while (!this.rebinding && (pending = this.pendingDispatches.poll()) != null) {
+            this.rebinding = pending.rebinds;
+            pending.submit.run();
+        }
+    }
+
+    /** Drops the binding of the session. */
+    public void unbind() {
+        this.room = null;
+        this.roomUuid = null;
+        this.user = null;
+    }
+
+    /**
+     * @return the user using the connection, or null if the connection isn't bound to any user
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns the room of the bound user. If the user isn't in the room anymore, the binding of the room is dropped.
+     * It reads the users of the room, so it's called only on the lane of the room.
+     *
+     * @return the room of the user using the connection, or null if the user isn't in any room
+     */
+    public Room getRoom() {
+        User user = this.user;
+        Room room = this.room;
+        if (user == null || room == null) {
+            return null;
+        }
+
+        if (!room.userExists(user)) {
+            this.room = null;
+            return null;
+        }
+        return room;
+    }
+
+    /**
+     * Returns the UUID of the room the session was bound to, without checking the user is still in it.
+     * The requests are routed to the lane of this room, which checks the membership.
+     *
+     * @return the UUID of the room, or null if the user wasn't in any room when the session was bound
+     */
+    public UUID getRoomUuid() {
+        return roomUuid;
+    }
+
+    /**
+     * @return the ID of the connection, unique for the whole run of the server
+     */
+    public long getId() {
+        return id;
+    }
+
+    public WebSocket getConnection() {
+        return connection;
+    }
+
+    public OutboundQueue getOutboundQueue() {
+        return outboundQueue;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public ReplayCache getReplayCache() {
+        return replayCache;
+    }
+
+    @Override
+    public String toString() {
+        return "Session " + this.id;
+    }
+
+}
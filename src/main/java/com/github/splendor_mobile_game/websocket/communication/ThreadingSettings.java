@@ -0,0 +1,67 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import com.github.splendor_mobile_game.websocket.executors.ReactionExecutor;
+import com.github.splendor_mobile_game.websocket.executors.ReactionExecutorType;
+
+/** The sizes of the thread pools used by the server and the way the reactions are executed. */
+public class ThreadingSettings {
+
+    private final int decoderThreads;
+    private final int reactionThreads;
+    private final ReactionExecutorType reactionExecutorType;
+
+    /**
+     * @param decoderThreads the number of threads decoding the frames received from the clients, 0 for the number of processors
+     * @param reactionThreads the number of threads executing the reactions, 0 for the number of processors
+     */
+    public ThreadingSettings(int decoderThreads, int reactionThreads) {
+        this(decoderThreads, reactionThreads, ReactionExecutorType.POOL);
+    }
+
+    /**
+     * @param decoderThreads the number of threads decoding the frames received from the clients, 0 for the number of processors
+     * @param reactionThreads the number of threads executing the reactions, 0 for the number of processors
+     * @param reactionExecutorType the executor of the reactions
+     */
+    public ThreadingSettings(int decoderThreads, int reactionThreads, ReactionExecutorType reactionExecutorType) {
+        this.decoderThreads = resolve(decoderThreads);
+        this.reactionThreads = resolve(reactionThreads);
+        this.reactionExecutorType = reactionExecutorType;
+    }
+
+    /**
+     * @return the settings with one thread of each kind per processor
+     */
+    public static ThreadingSettings defaults() {
+        return new ThreadingSettings(0, 0);
+    }
+
+    /**
+     * @return the new executor of the reactions
+     */
+    public ReactionExecutor createReactionExecutor() {
+        return this.reactionExecutorType.create(this.reactionThreads);
+    }
+
+    private static int resolve(int threads) {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getDecoderThreads() {
+        return decoderThreads;
+    }
+
+    public int getReactionThreads() {
+        return reactionThreads;
+    }
+
+    public ReactionExecutorType getReactionExecutorType() {
+        return reactionExecutorType;
+    }
+
+    @Override
+    public String toString() {
+        return decoderThreads + " decoder thread(s)";
+    }
+
+}
@@ -6,7 +6,7 @@ import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
 import com.github.splendor_mobile_game.websocket.utils.json.JsonParser;
 import com.github.splendor_mobile_game.websocket.utils.json.Optional;
 import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonParserException;
-import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 
 /**
  * Represents a message sent by a user.
@@ -20,19 +20,32 @@ public class UserMessage {
     @Optional
     private Object data;
 
+    /** The envelope of the message. The data is kept as the parsed JSON tree until its class is known. */
+    private static class Envelope {
+        private UUID contextId;
+
+        private UserRequestType type;
+
+        @Optional
+        private JsonElement data;
+    }
+
     /**
      * Creates a new UserMessage by parsing the provided JSON message.
      * Heavly used on the server side.
+     * 
+     * The message is parsed only once, the data stays as the JSON tree until
+     * it's bound by {@link #parseDataToClass(Class)}.
      *
      * @param json the JSON message to parse
      * @throws JsonParserException if the provided message is invalid
      */
     public UserMessage(String json) throws JsonParserException {
-        UserMessage msg = UserMessage.fromJson(json);
+        Envelope envelope = UserMessage.fromJson(json);
 
-        this.contextId = msg.contextId;
-        this.type = msg.type;
-        this.data = msg.getData();
+        this.contextId = envelope.contextId;
+        this.type = envelope.type;
+        this.data = (envelope.data == null || envelope.data.isJsonNull()) ? null : envelope.data;
     }
 
     /**
@@ -49,29 +62,30 @@ public class UserMessage {
     }
 
     /**
-     * Parses the data object to the provided class using JSON serialization.
+     * Binds the data to the provided class. The data received in the message is bound straight
+     * from its JSON tree, any other object is converted to the JSON tree first.
      *
      * @param clazz the class to which the data should be parsed
      * @throws InvalidReceivedMessage if the data cannot be parsed to the provided class
      */
     public void parseDataToClass(Class<?> clazz) throws InvalidReceivedMessage {
         try {
-            // TODO: Perfomance loss because of redundant json parsing
-            this.data = JsonParser.parseJson((new Gson()).toJson(this.data), clazz);
+            JsonElement json = (this.data instanceof JsonElement) ? (JsonElement) this.data : JsonParser.toJsonTree(this.data);
+            this.data = JsonParser.parseJson(json, clazz);
         } catch (JsonParserException e) {
             throw new InvalidReceivedMessage("Received message is invalid <= " + e.getMessage(), e);
         }
     }
 
     /**
-     * Parses a JSON string to a UserMessage object.
+     * Parses a JSON string to the envelope of the message.
      *
      * @param json the JSON string to parse
-     * @return the UserMessage object
+     * @return the envelope of the message
      * @throws JsonParserException if the provided message is invalid
      */
-    private static UserMessage fromJson(String json) throws JsonParserException  {
-        return JsonParser.parseJson(json, UserMessage.class);
+    private static Envelope fromJson(String json) throws JsonParserException  {
+        return JsonParser.parseJson(json, Envelope.class);
     }
 
     public UUID getContextId() {
@@ -1,26 +1,37 @@
 package com.github.splendor_mobile_game.websocket.communication;
 
 import java.lang.reflect.Field;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
 import org.java_websocket.WebSocketImpl;
 
 import com.github.splendor_mobile_game.websocket.handlers.connection.ConnectionChecker;
+import com.github.splendor_mobile_game.websocket.utils.Log;
 
 /**
- * This class monitors WebSocket connections by sending ping messages at regular intervals 
- * and checking the health status of the connection. It executes a function provided 
- * in the constructor at fixed intervals. It can be used to react if the client 
+ * This class monitors WebSocket connections by sending ping messages at regular intervals
+ * and checking the health status of the connection. It executes a function provided
+ * in the constructor at fixed intervals. It can be used to react if the client
  * has not responded within a certain amount of time.
+ *
+ * It doesn't own any thread, both the pings and the checks are scheduled on the scheduler
+ * shared by all the connections of the server.
  */
-public class WebSocketConnectionChecker implements Runnable {
+public class WebSocketConnectionChecker {
+
+    /** The `lastPong` field of WebSocketImpl, it isn't exposed by the library. Resolved only once. */
+    private static final Field LAST_PONG_FIELD = findLastPongField();
 
     private WebSocket connection;
 
-    /** A Timer object used to send ping messages at regular intervals. */
-    private Timer timer;
+    /** The scheduler shared by all the connections. */
+    private ScheduledExecutorService scheduler;
+
+    /** The interval (in milliseconds) for sending ping messages. */
+    private int pingIntervalMs;
 
     /** The interval (in milliseconds) for checking the health status of the connection. */
     private int checkIntervalMs;
@@ -28,96 +39,119 @@ public class WebSocketConnectionChecker implements Runnable {
     /** A ConnectionChecker object that handles connection events. */
     private ConnectionChecker connectionChecker;
 
+    /** The scheduled ping task, null if not started. */
+    private ScheduledFuture<?> pingTask;
+
+    /** The scheduled health check task, null if not started. */
+    private ScheduledFuture<?> checkTask;
+
     /**
      * Constructor for WebSocketConnectionChecker objects.
-     * 
+     *
      * @param connection The WebSocket connection to handle
+     * @param scheduler The scheduler shared by all the connections, used to run the pings and the checks
      * @param pingIntervalMs The interval (in milliseconds) for sending ping messages
-     * @param healthCheckIntervalMs The  interval (in milliseconds) at which the health status 
+     * @param healthCheckIntervalMs The  interval (in milliseconds) at which the health status
      * of the WebSocket connection is checked using the function provided in the constructor of the ConnectionChecker.
      * @param connectionChecker A ConnectionChecker object that checks connection in fixed interval
      */
-    public WebSocketConnectionChecker(WebSocket connection, int pingIntervalMs, int healthCheckIntervalMs, ConnectionChecker connectionChecker) {
+    public WebSocketConnectionChecker(
+        WebSocket connection,
+        ScheduledExecutorService scheduler,
+        int pingIntervalMs,
+        int healthCheckIntervalMs,
+        ConnectionChecker connectionChecker
+    ) {
         this.connection = connection;
-        this.connectionChecker = connectionChecker;
-        this.timer = new Timer();
+        this.scheduler = scheduler;
+        this.pingIntervalMs = pingIntervalMs;
         this.checkIntervalMs = healthCheckIntervalMs;
+        this.connectionChecker = connectionChecker;
+    }
 
-        // Start sending ping messages
-        this.startPinging(pingIntervalMs);
+    /**
+     * Schedules sending the pings and checking the health status of the connection.
+     */
+    public synchronized void start() {
+        this.pingTask = this.scheduler.scheduleAtFixedRate(this::ping, this.pingIntervalMs, this.pingIntervalMs, TimeUnit.MILLISECONDS);
+        this.checkTask = this.scheduler.scheduleAtFixedRate(this::check, this.checkIntervalMs, this.checkIntervalMs, TimeUnit.MILLISECONDS);
     }
 
     /**
-     * The run method runs in a separate thread and checks the health status of the connection
-     * at regular intervals.
+     * Cancels the scheduled tasks. The connection closure event itself is propagated to the
+     * connectionChecker by the server, on the event loop owning the room of the user.
      */
-    @Override
-    public void run() {
-        try {
-            // Loop until the connection is closed
-            while (!connection.isClosed()) {
-                // Sleep for the specified interval
-                Thread.sleep(this.checkIntervalMs);
-                
-                // Calculate the time since the last pong message was received
-                long timeSinceLastPongMs = (System.nanoTime() - this.getLastPong(connection)) / 1000000;
-                
-                // Call the outerConnectionReactor's onConnectionCheck method to handle the connection check
-                this.connectionChecker.onConnectionCheck(timeSinceLastPongMs);
-            }
-        } catch (InterruptedException e) {
-            this.close();
+    public synchronized void stop() {
+        if (this.pingTask != null) {
+            this.pingTask.cancel(false);
+        }
+
+        if (this.checkTask != null) {
+            this.checkTask.cancel(false);
         }
     }
 
     /**
-     * The onClose method cancels the timer and calls the connectionChecker's onConnectionClose method
-     * to propagate the connection closure event.
+     * Sends a ping message, unless the connection is already closed.
      */
-    private void close() {
-        timer.cancel();
-        this.connectionChecker.onConnectionClose();
+    private void ping() {
+        if (this.connection.isClosed()) {
+            this.stop();
+            return;
+        }
+
+        this.connection.sendPing();
     }
 
     /**
-     * The startPinging method schedules a TimerTask to send ping messages at regular intervals.
-     * 
-     * @param pingIntervalMs The interval (in milliseconds) for sending ping messages
+     * Checks the health status of the connection using the connectionChecker.
      */
-    private void startPinging(long pingIntervalMs) {
-        timer.scheduleAtFixedRate(new TimerTask() {
-
-            @Override
-            public void run() {
-                // If the connection is closed, cancel the TimerTask and return
-                if (connection.isClosed()) {
-                    this.cancel();
-                    return;
-                }
-
-                // Send a ping message
-                connection.sendPing();
-            }
-
-        }, pingIntervalMs, pingIntervalMs);
+    private void check() {
+        if (this.connection.isClosed()) {
+            this.stop();
+            return;
+        }
+
+        // Calculate the time since the last pong message was received
+        long timeSinceLastPongMs = (System.nanoTime() - getLastPong(this.connection)) / 1000000;
+
+        // An exception would silently cancel the periodic task, so it has to be caught here
+        try {
+            this.connectionChecker.onConnectionCheck(timeSinceLastPongMs);
+        } catch (Exception e) {
+            Log.ERROR("Connection check of " + this.connection.hashCode() + " failed: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
 
     /**
-     * The getLastPong method uses reflection to access the lastPong field of the WebSocketImpl class
+     * The getLastPong method reads the lastPong field of the WebSocketImpl class
      * and returns the timestamp of the last pong message received.
-     * 
+     *
      * @param webSocket The WebSocket connection
      * @return The timestamp (in nanoseconds) of the last pong message received
      */
-    private long getLastPong(WebSocket webSocket) {
+    private static long getLastPong(WebSocket webSocket) {
+        if (LAST_PONG_FIELD == null) {
+            return 0;
+        }
+
         try {
-            Field f = ((WebSocketImpl) webSocket).getClass().getDeclaredField("lastPong");
-            f.setAccessible(true);
-            return (long) f.get(webSocket);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            // TODO Auto-generated catch block
+            return (long) LAST_PONG_FIELD.get(webSocket);
+        } catch (IllegalArgumentException | IllegalAccessException e) {
             e.printStackTrace();
         }
         return 0;
     }
+
+    private static Field findLastPongField() {
+        try {
+            Field field = WebSocketImpl.class.getDeclaredField("lastPong");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | SecurityException e) {
+            Log.ERROR("Cannot access the lastPong field of WebSocketImpl: " + e.getMessage());
+            return null;
+        }
+    }
 }
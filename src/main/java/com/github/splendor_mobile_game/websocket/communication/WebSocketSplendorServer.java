@@ -2,20 +2,53 @@ package com.github.splendor_mobile_game.websocket.communication;
 
 import java.lang.reflect.Constructor;
 import java.net.InetSocketAddress;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.exceptions.InvalidDataException;
+import org.java_websocket.extensions.IExtension;
 import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.handshake.ServerHandshakeBuilder;
 import org.java_websocket.server.WebSocketServer;
 
 import com.github.splendor_mobile_game.database.Database;
-import com.github.splendor_mobile_game.websocket.handlers.DataClass;
+import com.github.splendor_mobile_game.game.model.Game;
+import com.github.splendor_mobile_game.game.model.GameStateDelta;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.limits.InboundLimits;
+import com.github.splendor_mobile_game.websocket.communication.limits.RateLimiter;
+import com.github.splendor_mobile_game.websocket.communication.protocol.BinaryCodec;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutboundBatch;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutboundLimits;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutboundQueue;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutgoingPayload;
+import com.github.splendor_mobile_game.websocket.communication.protocol.SharedDeflateExtension;
+import com.github.splendor_mobile_game.websocket.communication.protocol.WireProtocol;
 import com.github.splendor_mobile_game.websocket.handlers.Message;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.github.splendor_mobile_game.websocket.handlers.Reaction;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionBinding;
+import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
+import com.github.splendor_mobile_game.websocket.executors.NamedThreadFactory;
+import com.github.splendor_mobile_game.websocket.executors.ReactionExecutor;
 import com.github.splendor_mobile_game.websocket.handlers.connection.ConnectionChecker;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
@@ -23,20 +56,39 @@ import com.github.splendor_mobile_game.websocket.utils.CustomException;
 import com.github.splendor_mobile_game.websocket.utils.ExceptionUtils;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 import com.github.splendor_mobile_game.websocket.utils.reflection.Reflection;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 
 
 /** WebSocket server for the Splendor game. Handles incoming messages and sends responses to the clients. */
 public class WebSocketSplendorServer extends WebSocketServer {
 
-    // TODO: Make key to be enum
-    /** Map of message types to their corresponding Reaction classes. */
-    private Map<String, Class<? extends Reaction>> reactions;
+    /** The interval in seconds at which the depth of the outbound queues is reported. */
+    private static final int OUTBOUND_REPORT_INTERVAL_SEC = 60;
+
+    /** The interval in milliseconds at which the deltas held for the slow consumers are sent once their queues drain. */
+    private static final int HELD_DELTAS_FLUSH_INTERVAL_MS = 100;
+
+    /** The interval in milliseconds at which the drain checks whether the games have reached a turn boundary. */
+    private static final int DRAIN_POLL_INTERVAL_MS = 100;
+
+    /** The time in milliseconds given to the closing handshakes once the drain deadline has passed. */
+    private static final int DRAIN_CLOSE_TIMEOUT_MS = 1000;
+
+    /** The error code of the server faults, whose details aren't sent to the clients. */
+    private static final String INTERNAL_ERROR_CODE = "INTERNAL_ERROR";
+
+    /** Map of message types to their corresponding Reaction bindings. */
+    private Map<UserRequestType, ReactionBinding> reactions;
     
-    /** Map of WebSocket connection hashcodes to their corresponding ConnectionHandler threads. */
-    private Map<Integer, Thread> connectionHandlers = new HashMap<>();
+    /** Map of connection IDs to their corresponding ConnectionHandlers. */
+    private Map<Long, WebSocketConnectionChecker> connectionHandlers = new ConcurrentHashMap<>();
+
+    /** Map of connection IDs to the ConnectionCheckers notified when the connection closes. */
+    private Map<Long, ConnectionChecker> connectionCheckers = new ConcurrentHashMap<>();
     
-    /** Map of WebSocket connection hashcodes to their corresponding WebSocket instances. */
-    private Map<Integer, WebSocket> connections = new HashMap<>();
+    /** Map of connection IDs to the sessions of the open connections. */
+    private Map<Long, Session> sessions = new ConcurrentHashMap<>();
     
     /** The ConnectionHandler class to use for new connections. */
     private Class<? extends ConnectionChecker> outerConnectionHandlerClass;
@@ -49,12 +101,39 @@ public class WebSocketSplendorServer extends WebSocketServer {
     
     /** The database instance to use for handling database interactions. */
     private Database database;
+
+    /** Executes the reactions, keeping the order of the tasks of each room. */
+    private ReactionExecutor reactionExecutor;
+
+    /** The scheduler sending the pings and checking the liveness of all the connections. */
+    private ScheduledThreadPoolExecutor livenessScheduler;
+
+    /** The settings of the permessage-deflate compression. */
+    private CompressionSettings compression;
+
+    /** The sizes of the thread pools used by the server. */
+    private ThreadingSettings threading;
+
+    /** The limits of the data waiting to be written to a single connection. */
+    private OutboundLimits outboundLimits = OutboundLimits.unlimited();
+
+    /** The limits of the messages received from a single connection. */
+    private InboundLimits inboundLimits = InboundLimits.unlimited();
+
+    /** The maximum number of the requests whose responses are cached per connection, 0 if they aren't cached. */
+    private int replayCacheMaxEntries = 0;
+
+    /** The time in milliseconds the responses to the requests are cached for. */
+    private long replayCacheTtlMs = 0;
+
+    /** Whether the server is shutting down, see {@link #drain(long)}. */
+    private volatile boolean draining = false;
     
     /**
      * Constructs a new WebSocketSplendorServer instance.
      * 
      * @param address the address to listen on
-     * @param reactions a map of message types to their corresponding Reaction classes
+     * @param reactions a map of message types to their corresponding Reaction bindings
      * @param outerConnectionHandlerClass the ConnectionHandler class to use for new connections
      * @param pingIntervalMs the interval in milliseconds at which to send ping messages to clients
      * @param connectionCheckInterval the interval in seconds at which to check if client connections are still alive
@@ -64,19 +143,55 @@ public class WebSocketSplendorServer extends WebSocketServer {
      */
     public WebSocketSplendorServer(
         InetSocketAddress address,
-        Map<String, Class<? extends Reaction>> reactions,
+        Map<UserRequestType, ReactionBinding> reactions,
         Class<? extends ConnectionChecker> outerConnectionHandlerClass,
         int pingIntervalMs,
         int connectionCheckInterval,
         Database database
     ) throws ConnectionCheckerWithoutDefaultConstructorException {
+        this(address, reactions, outerConnectionHandlerClass, pingIntervalMs, connectionCheckInterval, database,
+            CompressionSettings.disabled(), ThreadingSettings.defaults());
+    }
+
+    /**
+     * Constructs a new WebSocketSplendorServer instance.
+     * 
+     * @param address the address to listen on
+     * @param reactions a map of message types to their corresponding Reaction bindings
+     * @param outerConnectionHandlerClass the ConnectionHandler class to use for new connections
+     * @param pingIntervalMs the interval in milliseconds at which to send ping messages to clients
+     * @param connectionCheckInterval the interval in seconds at which to check if client connections are still alive
+     * @param database the database instance to use for handling database interactions
+     * @param compression the settings of the permessage-deflate compression
+     * @param threading the sizes of the thread pools used by the server
+     * 
+     * @throws ConnectionCheckerWithoutDefaultConstructorException if the specified ConnectionHandler class does not have a constructor with a WebSocket parameter
+     */
+    public WebSocketSplendorServer(
+        InetSocketAddress address,
+        Map<UserRequestType, ReactionBinding> reactions,
+        Class<? extends ConnectionChecker> outerConnectionHandlerClass,
+        int pingIntervalMs,
+        int connectionCheckInterval,
+        Database database,
+        CompressionSettings compression,
+        ThreadingSettings threading
+    ) throws ConnectionCheckerWithoutDefaultConstructorException {
         
-        super(address);
+        super(address, threading.getDecoderThreads(), createDrafts(compression));
 
-        this.reactions = reactions;
+        this.reactions = new EnumMap<>(UserRequestType.class);
+        this.reactions.putAll(reactions);
         this.pingIntervalMs = pingIntervalMs;
         this.connectionCheckInterval = connectionCheckInterval;
         this.database = database;
+        this.compression = compression;
+        this.threading = threading;
+        this.reactionExecutor = threading.createReactionExecutor();
+
+        // The tasks are tiny, so a couple of threads handle thousands of connections
+        this.livenessScheduler = new ScheduledThreadPoolExecutor(2, new NamedThreadFactory("liveness-scheduler", true));
+        this.livenessScheduler.setRemoveOnCancelPolicy(true);
         
         // Check that the specified ConnectionHandler class has a constructor with a WebSocket parameter
         try {
@@ -90,10 +205,199 @@ public class WebSocketSplendorServer extends WebSocketServer {
         this.outerConnectionHandlerClass = outerConnectionHandlerClass;
     }
 
+    /**
+     * Creates the drafts accepted by the server. The wire protocol of the connection
+     * is negotiated during the handshake, see {@link WireProtocol}. The compression is used only
+     * with the clients asking for it, the rest of them get the uncompressed messages.
+     *
+     * @param compression the settings of the permessage-deflate compression
+     * @return the list of accepted drafts
+     */
+    private static List<Draft> createDrafts(CompressionSettings compression) {
+        List<IExtension> extensions = new ArrayList<>();
+        if (compression.isEnabled()) {
+            extensions.add(new SharedDeflateExtension(compression.getLevel(), compression.getThresholdBytes()));
+        }
+
+        List<Draft> drafts = new ArrayList<>();
+        drafts.add(new Draft_6455(extensions, WireProtocol.createProtocols()));
+        return drafts;
+    }
+
+    /**
+     * Sets the limits of the data waiting to be written to a single connection, see {@link OutboundQueue}.
+     * They apply to the connections opened after the call.
+     *
+     * @param outboundLimits the limits
+     */
+    public void setOutboundLimits(OutboundLimits outboundLimits) {
+        this.outboundLimits = outboundLimits;
+    }
+
+    /**
+     * Sets the limits of the messages received from a single connection, see {@link RateLimiter}.
+     * They apply to the connections opened after the call.
+     *
+     * @param inboundLimits the limits
+     */
+    public void setInboundLimits(InboundLimits inboundLimits) {
+        this.inboundLimits = inboundLimits;
+    }
+
+    /**
+     * Sets the limits of the responses cached for each connection, see {@link ReplayCache}.
+     * They apply to the connections opened after the call.
+     *
+     * @param maxEntries the maximum number of the requests whose responses are cached, 0 disables the cache
+     * @param ttlMs the time in milliseconds the responses are cached for
+     */
+    public void setReplayCacheLimits(int maxEntries, long ttlMs) {
+        this.replayCacheMaxEntries = maxEntries;
+        this.replayCacheTtlMs = ttlMs;
+    }
+
+    /**
+     * @return the number of bytes waiting to be written to all the connections
+     */
+    public long getQueuedOutboundBytes() {
+        long bytes = 0;
+        for (Session session : this.sessions.values()) {
+            bytes += session.getOutboundQueue().getQueuedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the number of connections which don't read their messages fast enough
+     */
+    public int getSlowConsumerCount() {
+        int count = 0;
+        for (Session session : this.sessions.values()) {
+            if (session.getOutboundQueue().isSlowConsumer()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return true if the server is shutting down and doesn't accept new connections, rooms and games
+     */
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * Shuts the server down without cutting the games in the middle of a turn. It's called by the shutdown hook
+     * of the application, so SIGTERM and SIGINT drain the server too.
+     * <ol>
+     *   <li>The new connections are refused and the requests creating, joining rooms or starting games are rejected.
+     *   The players can still finish their turns.</li>
+     *   <li>The server waits until none of the current players has performed an action without ending their turn.</li>
+     *   <li>The reactions already submitted are finished and the messages waiting to be written are flushed.</li>
+     *   <li>The connections are closed with {@link CloseFrame#GOING_AWAY}.</li>
+     * </ol>
+     * The steps which don't finish before the deadline are cut short.
+     *
+     * @param timeoutMs the time in milliseconds the drain may take
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void drain(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        this.draining = true;
+        Log.INFO("Draining the server, " + this.sessions.size() + " connection(s) open, deadline in " + timeoutMs + "ms");
+
+        // The turns are finished by the requests still coming in, so the check is repeated until it holds
+        while (!this.areGamesAtTurnBoundary(deadline)) {
+            if (System.currentTimeMillis() >= deadline) {
+                Log.WARNING("Drain deadline passed, the games in the middle of a turn are cut short");
+                break;
+            }
+            Thread.sleep(DRAIN_POLL_INTERVAL_MS);
+        }
+
+        while (this.getQueuedOutboundBytes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(DRAIN_POLL_INTERVAL_MS);
+        }
+
+        for (Session session : this.sessions.values()) {
+            session.getConnection().close(CloseFrame.GOING_AWAY, "Server is shutting down");
+        }
+
+        // Stop the connections first, their closures are still executed as reactions
+        long remaining = Math.max(deadline - System.currentTimeMillis(), 0);
+        this.stop((int) Math.min(remaining + DRAIN_CLOSE_TIMEOUT_MS, Integer.MAX_VALUE));
+        this.reactionExecutor.shutdown(Math.max(deadline - System.currentTimeMillis(), DRAIN_CLOSE_TIMEOUT_MS));
+        this.livenessScheduler.shutdownNow();
+        Log.INFO("Server drained");
+    }
+
+    /**
+     * Checks whether every game played on the server is between the turns, so the shutdown doesn't lose a half-made move.
+     * The state of each room is read by a task on the room's lane, the shutdown thread only waits for the results.
+     *
+     * @param deadline the time in milliseconds, see {@link System#currentTimeMillis()}, after which the checks aren't waited for
+     * @return true if none of the current players has performed an action without ending their turn
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    private boolean areGamesAtTurnBoundary(long deadline) throws InterruptedException {
+        List<CompletableFuture<Boolean>> checks = new ArrayList<>();
+        for (Room room : this.database.getAllRooms()) {
+            checks.add(CompletableFuture.supplyAsync(() -> {
+                User currentPlayer = room.getGame() == null ? null : room.getCurrentPlayer();
+                return currentPlayer == null || !currentPlayer.hasPerformedAction();
+            }, task -> this.reactionExecutor.execute(room.getUuid(), task)));
+        }
+
+        for (CompletableFuture<Boolean> check : checks) {
+            try {
+                if (!check.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS)) {
+                    return false;
+                }
+            } catch (TimeoutException exception) {
+                return false;
+            } catch (ExecutionException exception) {
+                Log.ERROR("Turn boundary check failed: " + exception.getCause());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Refuses the new connections while the server is draining.
+     */
+    @Override
+    public ServerHandshakeBuilder onWebsocketHandshakeReceivedAsServer(WebSocket conn, Draft draft, ClientHandshake request) throws InvalidDataException {
+        if (this.draining) {
+            throw new InvalidDataException(CloseFrame.TRY_AGAIN_LATER, "Server is shutting down");
+        }
+        return super.onWebsocketHandshakeReceivedAsServer(conn, draft, request);
+    }
+
     /** Called when the WebSocket server has started. */
     @Override
     public void onStart() {
+        Log.INFO("Server started with " + this.threading + ", " + this.reactionExecutor + ", TCP_NODELAY " + (this.isTcpNoDelay() ? "on" : "off") +
+            ", max pending connections " + (this.getMaxPendingConnections() < 0 ? "system default" : this.getMaxPendingConnections()));
+        Log.INFO("Message compression is " + this.compression + ", outbound queue limits are " + this.outboundLimits);
+        Log.INFO("Inbound limits are " + this.inboundLimits + ", replay cache is " + new ReplayCache(this.replayCacheMaxEntries, this.replayCacheTtlMs));
+
+        // Report the depth of the outbound queues, it shows the clients which can't keep up
+        this.livenessScheduler.scheduleAtFixedRate(() -> {
+            long queuedBytes = this.getQueuedOutboundBytes();
+            int slowConsumers = this.getSlowConsumerCount();
+            if (queuedBytes > 0 || slowConsumers > 0) {
+                Log.DEBUG("Outbound queues: " + queuedBytes + "B waiting to be written, " + slowConsumers + " slow consumer(s)");
+            }
+        }, OUTBOUND_REPORT_INTERVAL_SEC, OUTBOUND_REPORT_INTERVAL_SEC, TimeUnit.SECONDS);
 
+        // The deltas held for a slow consumer mustn't wait for the next message, there may be none
+        this.livenessScheduler.scheduleWithFixedDelay(() -> {
+            for (Session session : this.sessions.values()) {
+                session.getOutboundQueue().flushHeldDeltas();
+            }
+        }, HELD_DELTAS_FLUSH_INTERVAL_MS, HELD_DELTAS_FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -104,7 +408,10 @@ public class WebSocketSplendorServer extends WebSocketServer {
     */
     @Override
     public void onOpen(WebSocket webSocket, ClientHandshake clientHandshake) {
-        Log.DEBUG("New connection " + webSocket.hashCode() + " from " + webSocket.getRemoteSocketAddress());
+        // Give the connection its ID and watch the data waiting to be written to it
+        Session session = new Session(webSocket, this.outboundLimits, this.inboundLimits,
+            new ReplayCache(this.replayCacheMaxEntries, this.replayCacheTtlMs));
+        Log.DEBUG("New connection " + session.getId() + " from " + webSocket.getRemoteSocketAddress());
 
         // Make new instance of given ConnectionHandler in constructor
         // It have callbacks that our WebSocketConnectionHandler will be invoking
@@ -112,7 +419,7 @@ public class WebSocketSplendorServer extends WebSocketServer {
         try {
             Constructor<? extends ConnectionChecker> constructor = this.outerConnectionHandlerClass
                     .getDeclaredConstructor(WebSocket.class, Database.class, Map.class);
-            outerConnectionHandlerInstance = constructor.newInstance(webSocket, database, connections);
+            outerConnectionHandlerInstance = constructor.newInstance(webSocket, database, sessions);
         } catch (Exception e) {
             // This exception won't ever happen, because we check for that in the constructor of this class
             Log.ERROR("How did that happen?");
@@ -120,16 +427,18 @@ public class WebSocketSplendorServer extends WebSocketServer {
             return;
         }
 
-        // Create new thread for it our ConnectionHandler and start it
-        Thread t = new Thread(new WebSocketConnectionChecker(
+        // Schedule the pings and checks of our ConnectionHandler on the shared scheduler
+        WebSocketConnectionChecker connectionHandler = new WebSocketConnectionChecker(
                 webSocket,
+                this.livenessScheduler,
                 this.pingIntervalMs,
-                this.connectionCheckInterval, outerConnectionHandlerInstance));
-        t.start();
+                this.connectionCheckInterval, outerConnectionHandlerInstance);
+        connectionHandler.start();
 
         // Save reference to it, it'd be deleted on connection close
-        connectionHandlers.put(webSocket.hashCode(), t);
-        connections.put(webSocket.hashCode(), webSocket);
+        connectionHandlers.put(session.getId(), connectionHandler);
+        connectionCheckers.put(session.getId(), outerConnectionHandlerInstance);
+        sessions.put(session.getId(), session);
     }
 
     /**
@@ -142,14 +451,39 @@ public class WebSocketSplendorServer extends WebSocketServer {
      **/
     @Override
     public void onClose(WebSocket webSocket, int code, String reason, boolean remote) {
+        Session session = Session.of(webSocket);
+        if (session == null) {
+            // The connection was closed before it was opened
+            return;
+        }
+
         // Log the connection end with the code, reason and whether it was closed remotely or locally
-        Log.DEBUG("WebSocket connection `" + webSocket.hashCode() + "` closed with remote address " + webSocket.getRemoteSocketAddress() + 
-            ". Close code: " + code + ". Reason: " + reason + ". Remote: " + remote + "."
+        Log.DEBUG("WebSocket connection `" + session.getId() + "` closed with remote address " + webSocket.getRemoteSocketAddress() + 
+            ". Close code: " + code + ". Reason: " + reason + ". Remote: " + remote + ". CPU time: " +
+            TimeUnit.NANOSECONDS.toMillis(session.getRateLimiter().getTotalCpuNanos()) + "ms. Rejected messages: " +
+            session.getRateLimiter().getRejectedMessages() + "."
         );
         
         // Remove the reference to the connection handler and WebSocket instance associated with the closed connection
-        connectionHandlers.remove(webSocket.hashCode()).interrupt();
-        connections.remove(webSocket.hashCode());
+        WebSocketConnectionChecker connectionHandler = connectionHandlers.remove(session.getId());
+        if (connectionHandler != null) {
+            connectionHandler.stop();
+        }
+        sessions.remove(session.getId());
+
+        // The closure changes the state of the room the user was in, so it has to run on the loop owning that room,
+        // after the requests which could still change the room
+        ConnectionChecker connectionChecker = connectionCheckers.remove(session.getId());
+        if (connectionChecker != null) {
+            session.dispatch(false, () -> {
+                try {
+                    this.reactionExecutor.execute(this.findRoomOfSession(session), connectionChecker::onConnectionClose);
+                } catch (RejectedExecutionException exception) {
+                    // The server has been drained, nobody is left to be notified
+                    Log.DEBUG("Closure of " + session.getId() + " not handled, the reaction executor is shut down");
+                }
+            });
+        }
     }
 
     /**
@@ -160,54 +494,384 @@ public class WebSocketSplendorServer extends WebSocketServer {
      */
     @Override
     public void onMessage(WebSocket connection, String message) {
+        Session session = Session.of(connection);
+        Log.TRACE("Message received from (" + session.getId() + ":" + connection.getRemoteSocketAddress() + "): " + message);
+
+        // Drop the flood before any time is spent on parsing it
+        if (!this.applyDecision(session, session.getRateLimiter().admitMessage(System.nanoTime()))) {
+            return;
+        }
+
+        // Parse the message on the decoder thread, it doesn't touch any shared state
+        long cpuStart = RateLimiter.currentThreadCpuTime();
+        UserMessage receivedMessage;
+        try {
+            receivedMessage = new UserMessage(message);
+        } catch (Exception exception) {
+            this.sendError(connection, exception);
+            return;
+        } finally {
+            this.recordCpuTime(session, cpuStart);
+        }
+
+        this.dispatchMessage(connection, receivedMessage);
+    }
+
+    /**
+     * Callback for binary messages received from the remote host.
+     * The clients using the binary protocol send the messages encoded by {@link BinaryCodec}.
+     *
+     * @param connection The WebSocket instance this event is occurring on.
+     * @param message The binary message that was received.
+     */
+    @Override
+    public void onMessage(WebSocket connection, ByteBuffer message) {
+        Session session = Session.of(connection);
+        Log.TRACE("Binary message received from (" + session.getId() + ":" + connection.getRemoteSocketAddress() + "): " + message.remaining() + " bytes");
+
+        if (!this.applyDecision(session, session.getRateLimiter().admitMessage(System.nanoTime()))) {
+            return;
+        }
+
+        long cpuStart = RateLimiter.currentThreadCpuTime();
+        UserMessage receivedMessage;
         try {
-            this.handleMessage(connection, message);
+            receivedMessage = BinaryCodec.decodeUserMessage(message);
+        } catch (Exception exception) {
+            this.sendError(connection, exception);
+            return;
+        } finally {
+            this.recordCpuTime(session, cpuStart);
+        }
+
+        this.dispatchMessage(connection, receivedMessage);
+    }
 
-        } catch (CustomException exception) {
+    /**
+     * Passes the parsed message to the lane of the user's room in the reaction executor,
+     * unless the requests of its type are sent too often. The data of the message isn't parsed yet.
+     *
+     * @param connection The WebSocket instance the message was received on.
+     * @param receivedMessage The parsed message.
+     */
+    private void dispatchMessage(WebSocket connection, UserMessage receivedMessage) {
+        Session session = Session.of(connection);
+
+        long nowNanos = System.nanoTime();
+        RateLimiter.Decision decision = session.getRateLimiter().admitRequest(receivedMessage.getType(), nowNanos);
+        // Only the first rejection of the window is answered, answering each of them would amplify the flood
+        if (decision == RateLimiter.Decision.REJECT && session.getRateLimiter().takeRejectionNotice(nowNanos)) {
+            ErrorResponse response = new ErrorResponse(Result.FAILURE, "Too many requests, slow down!",
+                ServerMessageType.ERROR, receivedMessage.getContextId().toString());
+            new OutgoingPayload(response.ToJson()).sendTo(connection);
+        }
+        if (!this.applyDecision(session, decision)) {
+            return;
+        }
+
+        // Let the games finish, but don't start new ones
+        UserRequestType type = receivedMessage.getType();
+        if (this.draining && (type == UserRequestType.CREATE_ROOM || type == UserRequestType.JOIN_ROOM || type == UserRequestType.START_GAME)) {
+            ErrorResponse response = new ErrorResponse(Result.FAILURE, "Server is shutting down, try again later!",
+                ServerMessageType.ERROR, receivedMessage.getContextId().toString());
+            new OutgoingPayload(response.ToJson()).sendTo(connection);
+            return;
+        }
+
+        // The client has retried the request, it mustn't be handled twice
+        ReplayCache.Entry replayed = session.getReplayCache().begin(receivedMessage.getContextId(), System.nanoTime());
+        if (replayed != null) {
+            this.replay(session, receivedMessage, replayed);
+            return;
+        }
+
+        // The request is routed by the room the user is in, so it waits for the requests which can change it
+        session.dispatch(this.isMembershipRequest(type), () -> this.routeMessage(connection, receivedMessage));
+    }
+
+    /**
+     * Submits the message to the lane of the room it refers to. The request joining a room is handled on the lane
+     * of the room to join, the rest of them on the lane of the user's room, or on the lobby lane if there's none.
+     *
+     * @param connection The WebSocket instance the message was received on.
+     * @param receivedMessage The parsed message.
+     */
+    private void routeMessage(WebSocket connection, UserMessage receivedMessage) {
+        Session session = Session.of(connection);
+        boolean joining = receivedMessage.getType() == UserRequestType.JOIN_ROOM;
+
+        UUID roomUuid;
+        if (this.isLobbyRequest(receivedMessage.getType())) {
+            roomUuid = null;
+        } else if (joining) {
+            roomUuid = this.findRoomToJoin(receivedMessage);
+        } else {
+            roomUuid = this.findRoomOfSession(session);
+        }
+
+        try {
+            this.reactionExecutor.execute(roomUuid, () -> {
+                // The room with the enter code could have been created or removed in the meantime, the request follows it
+                if (joining && !Objects.equals(roomUuid, this.findRoomToJoin(receivedMessage))) {
+                    this.routeMessage(connection, receivedMessage);
+                    return;
+                }
+                this.processMessage(connection, receivedMessage);
+            });
+        } catch (RejectedExecutionException exception) {
+            Log.DEBUG("Request " + receivedMessage.getContextId() + " from " + session.getId() + " dropped, the reaction executor is shut down");
+            // The request won't be handled, so its retry mustn't wait for it forever
+            session.getReplayCache().abort(receivedMessage.getContextId());
+            if (this.isMembershipRequest(receivedMessage.getType())) {
+                session.finishRebinding();
+            }
+        }
+    }
+
+    /**
+     * Handles the parsed message and reports the errors back to the client.
+     * Always executed on the lane of the room the message refers to.
+     *
+     * @param connection The WebSocket instance the message was received on.
+     * @param receivedMessage The parsed message.
+     */
+    private void processMessage(WebSocket connection, UserMessage receivedMessage) {
+        Session session = Session.of(connection);
+        long cpuStart = RateLimiter.currentThreadCpuTime();
+        try {
+            this.handleMessage(connection, receivedMessage);
+        } catch (Exception exception) {
+            this.sendError(connection, exception);
+        } finally {
+            // Let the retry be handled again if the request hasn't produced any response to cache
+            session.getReplayCache().abort(receivedMessage.getContextId());
+            this.recordCpuTime(session, cpuStart);
+
+            // The session is bound again, the requests received in the meantime can be routed
+            if (this.isMembershipRequest(receivedMessage.getType())) {
+                session.finishRebinding();
+            }
+        }
+    }
+
+    /**
+     * Answers the retried request with the responses cached for the original one. Nothing is sent
+     * if the original request is still being handled, its responses are on their way.
+     *
+     * @param session The session of the connection the retry was received on.
+     * @param receivedMessage The retried request.
+     * @param replayed The entry of the original request.
+     */
+    private void replay(Session session, UserMessage receivedMessage, ReplayCache.Entry replayed) {
+        if (!replayed.isCompleted()) {
+            Log.DEBUG("Request " + receivedMessage.getContextId() + " from " + session.getId() + " is still being handled, its retry is dropped");
+            return;
+        }
+
+        Log.DEBUG("Request " + receivedMessage.getContextId() + " from " + session.getId() + " answered from the replay cache");
+        OutboundBatch batch = new OutboundBatch();
+        for (OutgoingPayload response : replayed.getResponses()) {
+            batch.add(session.getConnection(), response);
+        }
+        batch.flush();
+    }
+
+    /**
+     * Applies the decision of the rate limiter about the received message.
+     *
+     * @param session The session of the connection the message was received on.
+     * @param decision The decision of the rate limiter.
+     * @return true if the message should be handled.
+     */
+    private boolean applyDecision(Session session, RateLimiter.Decision decision) {
+        switch (decision) {
+            case ACCEPT:
+                return true;
+            case REJECT:
+                Log.TRACE("Message from " + session.getId() + " rejected, the connection exceeds its inbound limits");
+                return false;
+            default:
+                Log.WARNING("Closing the connection " + session.getId() + ", it keeps exceeding its inbound limits");
+                session.getConnection().close(CloseFrame.POLICY_VALIDATION, "Rate limit exceeded");
+                return false;
+        }
+    }
+
+    /**
+     * Adds the CPU time spent on the message since the given moment to the session.
+     *
+     * @param session The session of the connection the message was received on.
+     * @param cpuStart The CPU time of the current thread when the work on the message started, see {@link RateLimiter#currentThreadCpuTime()}.
+     */
+    private void recordCpuTime(Session session, long cpuStart) {
+        session.getRateLimiter().recordCpuTime(RateLimiter.currentThreadCpuTime() - cpuStart, System.nanoTime());
+    }
+
+    /**
+     * Reports the exception thrown while handling a message back to the client. The invalid requests
+     * are answered with their message and error code. The rest of the exceptions are server faults,
+     * their stack traces are logged, but the client gets only a generic error.
+     *
+     * @param connection The WebSocket instance the message was received on.
+     * @param exception The exception thrown.
+     */
+    private void sendError(WebSocket connection, Exception exception) {
+        if (exception instanceof CustomException) {
             CustomException customException = (CustomException) exception;
             Log.ERROR(customException.toString());
-            connection.send(customException.toJsonResponse());
+            new OutgoingPayload(customException.toJsonResponse()).sendTo(connection);
+            return;
+        }
 
-        } catch (Exception exception) {
-            Log.ERROR(exception.getMessage());
-            ErrorResponse response = new ErrorResponse(Result.ERROR, exception.getMessage() + "\n" + ExceptionUtils.getStackTrace(exception));
-            connection.send(response.ToJson());
+        Log.ERROR("Server error: " + exception + "\n" + ExceptionUtils.getStackTrace(exception));
+        ErrorResponse response = new ErrorResponse(Result.ERROR, "Internal server error", INTERNAL_ERROR_CODE);
+        new OutgoingPayload(response.ToJson()).sendTo(connection);
+    }
+
+    /**
+     * Checks whether the request is handled on the lobby lane, because the room it refers to doesn't exist yet.
+     *
+     * @param type The type of the request.
+     * @return true if the request is a lobby-level one.
+     */
+    private boolean isLobbyRequest(UserRequestType type) {
+        return type == UserRequestType.CREATE_ROOM;
+    }
+
+    /**
+     * Checks whether the request can change the room the user is in, so the session has to be bound again after it.
+     *
+     * @param type The type of the request.
+     * @return true if the request can change the room of the user.
+     */
+    private boolean isMembershipRequest(UserRequestType type) {
+        return type == UserRequestType.CREATE_ROOM || type == UserRequestType.JOIN_ROOM || type == UserRequestType.LEAVE_ROOM;
+    }
+
+    /**
+     * Finds the room the request wants to join by the enter code in its data, which isn't parsed yet.
+     * The rooms are looked up by their enter codes in a concurrent index, so it's safe off the lanes.
+     *
+     * @param receivedMessage The request joining a room.
+     * @return The UUID of the room, or null if there's no such room. The request is handled on the lobby lane then,
+     *         which only reports the error.
+     */
+    private UUID findRoomToJoin(UserMessage receivedMessage) {
+        if (!(receivedMessage.getData() instanceof JsonObject)) {
+            return null;
         }
+
+        JsonElement roomDTO = ((JsonObject) receivedMessage.getData()).get("roomDTO");
+        if (roomDTO == null || !roomDTO.isJsonObject()) {
+            return null;
+        }
+
+        JsonElement enterCode = roomDTO.getAsJsonObject().get("enterCode");
+        if (enterCode == null || !enterCode.isJsonPrimitive()) {
+            return null;
+        }
+
+        Room room = this.database.getRoom(enterCode.getAsString());
+        return room == null ? null : room.getUuid();
     }
 
     /**
-     * Handles incoming messages from clients and sends appropriate responses.
+     * Finds the room the user using the connection of the given session is in. It reads only the state
+     * of the session, the membership is checked by the reaction on the lane of the room.
      *
-     * @param connection The WebSocket connection instance on which the message was received.
-     * @param message The message received from the client.
+     * @param session The session of the connection.
+     * @return The UUID of the room or null if the user isn't in any room.
+     */
+    private UUID findRoomOfSession(Session session) {
+        return session == null ? null : session.getRoomUuid();
+    }
+
+    /**
+     * Checks that the user and the room named in the data of the request, which isn't parsed yet, are the ones
+     * bound to the session. The reactions look them up by the UUIDs sent by the client, so without the check
+     * a request could change the game of another room, from the lane of a different one.
+     *
+     * @param session The session of the connection the request was received on.
+     * @param receivedMessage The request to check.
+     * @throws ForeignUserException if the request names another user or room.
+     */
+    private void checkClaimedIdentity(Session session, UserMessage receivedMessage) throws ForeignUserException {
+        if (!(receivedMessage.getData() instanceof JsonObject)) {
+            return;
+        }
+        JsonObject data = (JsonObject) receivedMessage.getData();
+
+        UUID claimedUser = this.findClaimedUuid(data, "userUuid", "userDTO");
+        if (claimedUser != null && (session.getUser() == null || !claimedUser.equals(session.getUser().getUuid()))) {
+            throw new ForeignUserException("You can't make requests on behalf of another user!");
+        }
+
+        UUID claimedRoom = this.findClaimedUuid(data, null, "roomDTO");
+        if (claimedRoom != null && !claimedRoom.equals(session.getRoomUuid())) {
+            throw new ForeignUserException("You are not a member of this room!");
+        }
+    }
+
+    /**
+     * Finds the UUID named in the data of the request, either as the given field or as the `uuid` of the given object.
+     *
+     * @param data The data of the request.
+     * @param field The name of the field holding the UUID, or null if there's none.
+     * @param dtoField The name of the object holding the UUID.
+     * @return The UUID, or null if there's none or it's malformed. The reaction reports the malformed ones.
      */
-    private void handleMessage(WebSocket connection, String message) throws CustomException, RuntimeException {
-        Log.TRACE("Message received from (" + connection.hashCode() + ":" + connection.getRemoteSocketAddress() + "): " + message);
+    private UUID findClaimedUuid(JsonObject data, String field, String dtoField) {
+        JsonElement uuid = field == null ? null : data.get(field);
+        if (uuid == null) {
+            JsonElement dto = data.get(dtoField);
+            uuid = dto != null && dto.isJsonObject() ? dto.getAsJsonObject().get("uuid") : null;
+        }
+        if (uuid == null || !uuid.isJsonPrimitive()) {
+            return null;
+        }
 
-        // Parse the message
-        UserMessage receivedMessage = new UserMessage(message);
+        try {
+            return UUID.fromString(uuid.getAsString());
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
 
+    /**
+     * Handles incoming messages from clients and sends appropriate responses.
+     *
+     * @param connection The WebSocket connection instance on which the message was received.
+     * @param receivedMessage The parsed message received from the client.
+     */
+    private void handleMessage(WebSocket connection, UserMessage receivedMessage) throws CustomException, RuntimeException {
         // Get the type of the message
         UserRequestType type = receivedMessage.getType();
 
         // Find appropriate reaction to the message type received
-        // TODO: It could be more readable if we use some ReactionRepository with get method that would throws exception instead of null
-        Class<? extends Reaction> reactionClass = reactions.get(type.toString());
+        ReactionBinding reactionBinding = reactions.get(type);
 
-        if (reactionClass == null) {
+        if (reactionBinding == null) {
             Log.TRACE("Unknown reaction type: " + type);
             ErrorResponse response = new ErrorResponse(Result.FAILURE, "This message type has not been found!");
-            connection.send(response.ToJson());
+            new OutgoingPayload(response.ToJson()).sendTo(connection);
             return;
         }
 
+        // The reactions act on the user and the room of the connection, the request can't speak for anyone else
+        Session session = Session.of(connection);
+        if (!this.isLobbyRequest(type) && type != UserRequestType.JOIN_ROOM) {
+            this.checkClaimedIdentity(session, receivedMessage);
+        }
+
         // Parse the data given in the message
-        Class<?> dataClass = Reflection.findFirstClassWithAnnotationWithinClass(reactionClass, DataClass.class);
+        Class<?> dataClass = reactionBinding.getDataClass();
 
-        if (dataClass == null && receivedMessage.getData() != null) {
-            Log.WARNING(connection.hashCode() + 
-                " provided data to the message, but the message type reaction class doesn't require any data!"
-            );
+        if (dataClass == null) {
+            if (receivedMessage.getData() != null) {
+                Log.WARNING(Session.of(connection).getId() + 
+                    " provided data to the message, but the message type reaction class doesn't require any data!"
+                );
+            }
         } else {
             receivedMessage.parseDataToClass(dataClass);
         }
@@ -216,31 +880,90 @@ public class WebSocketSplendorServer extends WebSocketServer {
         Messenger messenger = new Messenger();
 
         // Create instance of this reactionClass
-        Reaction reactionInstance = (Reaction) Reflection.createInstanceOfClass(
-            reactionClass, connection.hashCode(), receivedMessage, messenger, this.database
+        Reaction reactionInstance = reactionBinding.createReaction(
+            session.getId(), receivedMessage, messenger, this.database
         );
+        reactionInstance.setSession(session);
 
         // Use it to react appropriately
         reactionInstance.react();
 
+        // Remember the room the user is in now
+        if (this.isMembershipRequest(type)) {
+            session.bind(this.database);
+        }
+
+        // Remember the responses, so a retry of the request is answered without reacting again
+        List<OutgoingPayload> responses = new ArrayList<>();
+        for (Message message : messenger.getMessages()) {
+            if (message.getReceiverHashcode() == session.getId()) {
+                responses.add(message.getPayload());
+            }
+        }
+        session.getReplayCache().complete(receivedMessage.getContextId(), responses, System.nanoTime());
+
+        // Let the players know how the game state has changed
+        this.addGameStateDelta(session, receivedMessage, messenger);
+
         // And send it to the users
-        for (Message messageToSend : messenger.getMessages()) {
-            WebSocket receiver = this.connections.get(messageToSend.getReceiverHashcode());
-            String text = messageToSend.getMessage();
-            receiver.send(text);
-            Log.DEBUG("Message sent to (" +
-                connection.hashCode() + ":" + connection.getRemoteSocketAddress() + "): " + text
-            );
+        this.sendMessages(messenger.getMessages());
+    }
+
+    /**
+     * Adds the changes of the game state made by the reaction to the messages sent to the players of the room.
+     * It's called on the lane of the room, so the changes of the other actions can't be mixed in.
+     *
+     * @param session the session of the connection the message was received on
+     * @param receivedMessage the message the reaction has handled
+     * @param messenger the messenger of the reaction
+     */
+    private void addGameStateDelta(Session session, UserMessage receivedMessage, Messenger messenger) {
+        Room room = session.getRoom();
+        Game game = room == null ? null : room.getGame();
+        if (game == null) {
+            return;
         }
-    
+
+        GameStateDelta delta = game.takeStateDelta();
+        if (delta == null) {
+            return;
+        }
+
+        ServerMessage serverMessage = new ServerMessage(receivedMessage.getContextId(), ServerMessageType.GAME_STATE_DELTA, Result.OK, delta);
+        messenger.broadcast(room.getAllUsers(), serverMessage);
+    }
+
+    /**
+     * Sends the messages collected by the messenger. All the messages for the same receiver are
+     * written together and the frames of a broadcast are encoded only once, see {@link OutboundBatch}.
+     *
+     * @param messages The messages to send, in the order they were added.
+     */
+    private void sendMessages(List<Message> messages) {
+        OutboundBatch batch = new OutboundBatch();
+
+        for (Message message : messages) {
+            long receiverHashcode = message.getReceiverHashcode();
+            Session receiver = this.sessions.get(receiverHashcode);
+
+            // The receiver could have disconnected in the meantime
+            if (receiver == null) {
+                Log.DEBUG("Message to the disconnected connection " + receiverHashcode + " dropped: " + message.getMessage());
+                continue;
+            }
+
+            batch.add(receiver.getConnection(), message.getPayload());
+        }
+
+        batch.flush();
     }
 
     /**
      * This method is called when an error occurs in the WebSocket connection.
      * If the exception is of type CustomException, it sends a response with the error message in JSON format,
-     * otherwise, it sends a generic error response with the exception message.
+     * otherwise, it logs the stack trace and sends a generic error response, see {@link #sendError(WebSocket, Exception)}.
      * 
-     * @param webSocket The WebSocket connection that encountered an error.
+     * @param webSocket The WebSocket connection that encountered an error, null if the error isn't related to any connection.
      * @param exception The exception that was thrown.
      */
     @Override
@@ -248,18 +971,12 @@ public class WebSocketSplendorServer extends WebSocketServer {
         
         // TODO: Message type and message id in the response should be included if possible
         
-        // Check if the exception is of type CustomException
-        if (exception.getClass().isAssignableFrom(CustomException.class)) {
-            // If it is, cast it to CustomException and log the error message
-            CustomException customException = (CustomException) exception;
-            Log.ERROR(customException.toString());
-            webSocket.send(customException.toJsonResponse());
-        } else {
-            // If it's not a CustomException, log the error message and send a generic ErrorResponse object to the client
-            Log.ERROR("Server error: " + exception.getMessage() + "\n" + ExceptionUtils.getStackTrace(exception));
-            ErrorResponse response = new ErrorResponse(Result.ERROR, exception.getMessage() + "\n" + ExceptionUtils.getStackTrace(exception));
-            webSocket.send(response.ToJson());
+        if (webSocket == null) {
+            Log.ERROR("Server error: " + exception + "\n" + ExceptionUtils.getStackTrace(exception));
+            return;
         }
+
+        this.sendError(webSocket, exception);
     }
 
 }
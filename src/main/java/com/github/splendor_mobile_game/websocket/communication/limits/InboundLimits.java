@@ -0,0 +1,94 @@
+package com.github.splendor_mobile_game.websocket.communication.limits;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
+
+/**
+ * The limits of the messages received from a single connection, enforced by its {@link RateLimiter}:
+ * <ul>
+ *   <li>the rate of all the messages, checked before the message is parsed,</li>
+ *   <li>the rates of the chosen types of the requests, checked before the data of the request is parsed,</li>
+ *   <li>the CPU time the server can spend on the messages of the connection per minute.</li>
+ * </ul>
+ * The connection which keeps breaking the limits is disconnected.
+ */
+public class InboundLimits {
+
+    /** The rate of all the messages, null if it's not limited. */
+    private final RateLimit connectionLimit;
+
+    private final Map<UserRequestType, RateLimit> requestLimits;
+
+    private final long cpuQuotaMsPerMinute;
+
+    private final int maxViolationsPerMinute;
+
+    /**
+     * @param connectionLimit the rate of all the messages, null if it's not limited
+     * @param requestLimits the rates of the requests of the given types, the other types are limited only by the connection limit
+     * @param cpuQuotaMsPerMinute the CPU time in milliseconds the server can spend on the messages per minute, 0 if it's not limited
+     * @param maxViolationsPerMinute the number of rejected messages per minute after which the connection is closed, 0 if it's never closed
+     */
+    public InboundLimits(RateLimit connectionLimit, Map<UserRequestType, RateLimit> requestLimits, long cpuQuotaMsPerMinute, int maxViolationsPerMinute) {
+        this.connectionLimit = connectionLimit;
+        this.requestLimits = requestLimits.isEmpty()
+            ? Collections.emptyMap()
+            : Collections.unmodifiableMap(new EnumMap<>(requestLimits));
+        this.cpuQuotaMsPerMinute = cpuQuotaMsPerMinute;
+        this.maxViolationsPerMinute = maxViolationsPerMinute;
+    }
+
+    /**
+     * @return the limits which are never reached
+     */
+    public static InboundLimits unlimited() {
+        return new InboundLimits(null, Map.of(), 0, 0);
+    }
+
+    /**
+     * @return the default limits of the requests which are cheap to send but broadcast to the whole room
+     */
+    public static Map<UserRequestType, RateLimit> defaultRequestLimits() {
+        Map<UserRequestType, RateLimit> limits = new EnumMap<>(UserRequestType.class);
+        limits.put(UserRequestType.SEND_CHAT_MESSAGE, new RateLimit(2, 5));
+        limits.put(UserRequestType.GET_TOKENS, new RateLimit(5, 10));
+        limits.put(UserRequestType.DEBUG_GET_RANDOM_CARD, new RateLimit(1, 2));
+        return limits;
+    }
+
+    public RateLimit getConnectionLimit() {
+        return connectionLimit;
+    }
+
+    /**
+     * @param type the type of the request
+     * @return the rate of the requests of the type, null if it's limited only by the connection limit
+     */
+    public RateLimit getRequestLimit(UserRequestType type) {
+        return requestLimits.get(type);
+    }
+
+    public Map<UserRequestType, RateLimit> getRequestLimits() {
+        return requestLimits;
+    }
+
+    public long getCpuQuotaMsPerMinute() {
+        return cpuQuotaMsPerMinute;
+    }
+
+    public int getMaxViolationsPerMinute() {
+        return maxViolationsPerMinute;
+    }
+
+    @Override
+    public String toString() {
+        return "connection " + (connectionLimit == null ? "unlimited" : connectionLimit) +
+            ", requests " + requestLimits +
+            ", CPU quota " + (cpuQuotaMsPerMinute == 0 ? "none" : cpuQuotaMsPerMinute + "ms per minute") +
+            ", disconnect after " + (maxViolationsPerMinute == 0 ? "never" : maxViolationsPerMinute + " violations per minute");
+    }
+
+}
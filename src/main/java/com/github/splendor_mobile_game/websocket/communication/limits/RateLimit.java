@@ -0,0 +1,51 @@
+package com.github.splendor_mobile_game.websocket.communication.limits;
+
+/** The rate of the messages allowed by a {@link TokenBucket}. */
+public class RateLimit {
+
+    private final int permitsPerSecond;
+    private final int burst;
+
+    /**
+     * @param permitsPerSecond the number of messages allowed per second in the long run
+     * @param burst the number of messages which can be sent at once after a quiet period
+     */
+    public RateLimit(int permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("The rate and the burst of the rate limit have to be positive, but are " + permitsPerSecond + " and " + burst);
+        }
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    /**
+     * Parses the rate limit written as `permitsPerSecond/burst`, ie. `2/5`.
+     *
+     * @param value the rate limit
+     * @return the parsed rate limit
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public static RateLimit parse(String value) {
+        String[] parts = value.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rate limit `" + value + "` should be written as permitsPerSecond/burst");
+        }
+
+        return new RateLimit(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+
+    public int getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    @Override
+    public String toString() {
+        return permitsPerSecond + "/s burst " + burst;
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.github.splendor_mobile_game.websocket.communication.limits;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
+
+/**
+ * Enforces the {@link InboundLimits} of a single connection. It keeps the token buckets of the connection
+ * and of the limited types of the requests, and the CPU time spent on the messages of the connection.
+ *
+ * The messages are rejected when any bucket is empty or the CPU quota of the current minute is used up.
+ * When the number of the rejected messages within a minute exceeds the limit, the connection should be closed.
+ * The client is told about the rejections only once a minute, see {@link #takeRejectionNotice(long)},
+ * so a flood of requests doesn't turn into a flood of responses.
+ */
+public class RateLimiter {
+
+    /** The decision about the received message. */
+    public enum Decision {
+        /** The message should be handled. */
+        ACCEPT,
+        /** The message should be dropped. */
+        REJECT,
+        /** The message should be dropped and the connection closed. */
+        DISCONNECT
+    }
+
+    /** The length of the window the CPU quota and the violations are counted in. */
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final InboundLimits limits;
+
+    /** The bucket of all the messages, null if they aren't limited. */
+    private final TokenBucket connectionBucket;
+
+    private final Map<UserRequestType, TokenBucket> requestBuckets = new EnumMap<>(UserRequestType.class);
+
+    private long windowStartNanos;
+
+    private int violationsInWindow = 0;
+
+    private long cpuNanosInWindow = 0;
+
+    private long totalCpuNanos = 0;
+
+    private long rejectedMessages = 0;
+
+    /** Whether the client has been told about the rejected requests in the current window. */
+    private boolean rejectionNoticeSent = false;
+
+    /**
+     * @param limits the limits of the connection
+     * @param nowNanos the current time in nanoseconds, see {@link System#nanoTime()}
+     */
+    public RateLimiter(InboundLimits limits, long nowNanos) {
+        this.limits = limits;
+        this.connectionBucket = limits.getConnectionLimit() == null ? null : new TokenBucket(limits.getConnectionLimit(), nowNanos);
+        for (Map.Entry<UserRequestType, RateLimit> entry : limits.getRequestLimits().entrySet()) {
+            this.requestBuckets.put(entry.getKey(), new TokenBucket(entry.getValue(), nowNanos));
+        }
+        this.windowStartNanos = nowNanos;
+    }
+
+    /**
+     * Decides about the received message, before anything is known about it.
+     *
+     * @param nowNanos the current time in nanoseconds, see {@link System#nanoTime()}
+     * @return the decision
+     */
+    public synchronized Decision admitMessage(long nowNanos) {
+        this.rollWindow(nowNanos);
+
+        long cpuQuotaNanos = TimeUnit.MILLISECONDS.toNanos(this.limits.getCpuQuotaMsPerMinute());
+        if (cpuQuotaNanos > 0 && this.cpuNanosInWindow >= cpuQuotaNanos) {
+            return this.reject();
+        }
+
+        if (this.connectionBucket != null && !this.connectionBucket.tryAcquire(nowNanos)) {
+            return this.reject();
+        }
+        return Decision.ACCEPT;
+    }
+
+    /**
+     * Decides about the received request, once its type is known.
+     *
+     * @param type the type of the request
+     * @param nowNanos the current time in nanoseconds, see {@link System#nanoTime()}
+     * @return the decision
+     */
+    public synchronized Decision admitRequest(UserRequestType type, long nowNanos) {
+        this.rollWindow(nowNanos);
+
+        TokenBucket bucket = this.requestBuckets.get(type);
+        if (bucket != null && !bucket.tryAcquire(nowNanos)) {
+            return this.reject();
+        }
+        return Decision.ACCEPT;
+    }
+
+    /**
+     * Adds the CPU time spent on a message of the connection.
+     *
+     * @param cpuNanos the CPU time in nanoseconds, see {@link #currentThreadCpuTime()}
+     * @param nowNanos the current time in nanoseconds, see {@link System#nanoTime()}
+     */
+    public synchronized void recordCpuTime(long cpuNanos, long nowNanos) {
+        this.rollWindow(nowNanos);
+        this.cpuNanosInWindow += cpuNanos;
+        this.totalCpuNanos += cpuNanos;
+    }
+
+    /**
+     * Decides whether the client should be told its request has been rejected. Only the first rejection
+     * within the window is reported, the rest of them are dropped silently.
+     *
+     * @param nowNanos the current time in nanoseconds, see {@link System#nanoTime()}
+     * @return true if the rejection should be reported
+     */
+    public synchronized boolean takeRejectionNotice(long nowNanos) {
+        this.rollWindow(nowNanos);
+        if (this.rejectionNoticeSent) {
+            return false;
+        }
+
+        this.rejectionNoticeSent = true;
+        return true;
+    }
+
+    private Decision reject() {
+        this.rejectedMessages++;
+        this.violationsInWindow++;
+
+        int maxViolations = this.limits.getMaxViolationsPerMinute();
+        return maxViolations > 0 && this.violationsInWindow > maxViolations ? Decision.DISCONNECT : Decision.REJECT;
+    }
+
+    private void rollWindow(long nowNanos) {
+        if (nowNanos - this.windowStartNanos >= WINDOW_NANOS) {
+            this.windowStartNanos = nowNanos;
+            this.violationsInWindow = 0;
+            this.cpuNanosInWindow = 0;
+            this.rejectionNoticeSent = false;
+        }
+    }
+
+    /**
+     * Returns the CPU time of the current thread. If the JVM can't measure it, the wall-clock time is returned
+     * instead, so only the difference of two values returned on the same thread is meaningful.
+     *
+     * @return the time in nanoseconds
+     */
+    public static long currentThreadCpuTime() {
+        try {
+            if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+                long cpuTime = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+                if (cpuTime >= 0) {
+                    return cpuTime;
+                }
+            }
+        } catch (UnsupportedOperationException e) {
+            // Fall back to the wall-clock time
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * @return the CPU time in nanoseconds spent on the messages of the connection since it was opened
+     */
+    public synchronized long getTotalCpuNanos() {
+        return totalCpuNanos;
+    }
+
+    /**
+     * @return the number of the messages of the connection rejected since it was opened
+     */
+    public synchronized long getRejectedMessages() {
+        return rejectedMessages;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.github.splendor_mobile_game.websocket.communication.limits;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The token bucket algorithm. The bucket holds up to `burst` tokens and gets `permitsPerSecond`
+ * of them every second, every message takes one token and the messages arriving to the empty
+ * bucket are rejected. It's refilled lazily, when the token is taken, so it needs no timer.
+ */
+public class TokenBucket {
+
+    private final int capacity;
+
+    /** The time needed to get a single token. */
+    private final double nanosPerToken;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    /**
+     * Creates the full bucket.
+     *
+     * @param limit the rate of the tokens
+     * @param nowNanos the current time in nanoseconds, see {@link System#nanoTime()}
+     */
+    public TokenBucket(RateLimit limit, long nowNanos) {
+        this.capacity = limit.getBurst();
+        this.nanosPerToken = (double) TimeUnit.SECONDS.toNanos(1) / limit.getPermitsPerSecond();
+        this.tokens = this.capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Takes a single token from the bucket if there is any.
+     *
+     * @param nowNanos the current time in nanoseconds, see {@link System#nanoTime()}
+     * @return true if the token has been taken, false if the bucket is empty
+     */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        long elapsed = nowNanos - this.lastRefillNanos;
+        if (elapsed > 0) {
+            this.tokens = Math.min(this.capacity, this.tokens + elapsed / this.nanosPerToken);
+            this.lastRefillNanos = nowNanos;
+        }
+
+        if (this.tokens < 1) {
+            return false;
+        }
+
+        this.tokens--;
+        return true;
+    }
+
+}
@@ -0,0 +1,333 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.websocket.communication.InvalidReceivedMessage;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
+import com.github.splendor_mobile_game.websocket.response.Result;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Encoder and decoder of the compact binary wire format.
+ *
+ * The envelope of the messages is the same as in JSON, but the enums are sent as their ordinals
+ * and the context ID as 16 raw bytes:
+ * <pre>
+ * client -> server: contextId(16 bytes) type(varint, UserRequestType ordinal) data(value)
+ * server -> client: contextId(value) type(varint, ServerMessageType ordinal + 1, 0 = none)
+ *                   result(varint, Result ordinal + 1, 0 = none) data(value)
+ * </pre>
+ * The data is the same JSON tree as in the JSON protocol, encoded as tagged values: integers as
+ * zigzag varints, UUID strings as 16 bytes and strings, arrays and objects prefixed with their
+ * varint length. That's why every DTO works without any changes.
+ *
+ * The ordinals are part of the protocol, so new variants of the enums have to be appended at the end.
+ */
+public class BinaryCodec {
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_FALSE = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_DOUBLE = 4;
+    private static final int TAG_STRING = 5;
+    private static final int TAG_UUID = 6;
+    private static final int TAG_ARRAY = 7;
+    private static final int TAG_OBJECT = 8;
+
+    /** The deepest nesting of arrays and objects accepted, so a malformed message can't overflow the stack of the decoder. */
+    private static final int MAX_DEPTH = 32;
+
+    private static final UserRequestType[] USER_REQUEST_TYPES = UserRequestType.values();
+    private static final ServerMessageType[] SERVER_MESSAGE_TYPES = ServerMessageType.values();
+    private static final Result[] RESULTS = Result.values();
+
+    private BinaryCodec() {
+
+    }
+
+    /**
+     * Decodes the message received from the client.
+     *
+     * @param buffer the content of the binary frame
+     * @return the decoded message, its data is kept as the JSON tree until bound by {@link UserMessage#parseDataToClass(Class)}
+     * @throws InvalidReceivedMessage if the message is malformed
+     */
+    public static UserMessage decodeUserMessage(ByteBuffer buffer) throws InvalidReceivedMessage {
+        try {
+            UUID contextId = new UUID(buffer.getLong(), buffer.getLong());
+
+            int typeOrdinal = readVarInt(buffer);
+            if (typeOrdinal < 0 || typeOrdinal >= USER_REQUEST_TYPES.length) {
+                throw new InvalidReceivedMessage("Received message has unknown type " + typeOrdinal);
+            }
+
+            JsonElement data = readValue(buffer, 0);
+            if (buffer.hasRemaining()) {
+                throw new InvalidReceivedMessage("Received message has " + buffer.remaining() + " unexpected trailing bytes");
+            }
+
+            return new UserMessage(contextId, USER_REQUEST_TYPES[typeOrdinal], data.isJsonNull() ? null : data);
+        } catch (BufferUnderflowException e) {
+            throw new InvalidReceivedMessage("Received message is truncated", e);
+        }
+    }
+
+    /**
+     * Encodes the message sent by the server.
+     *
+     * @param message the JSON tree of the `ServerMessage` or `ErrorResponse`
+     * @return the content of the binary frame
+     */
+    public static ByteBuffer encodeServerMessage(JsonObject message) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+        writeValue(out, message.get("contextId"));
+        writeVarInt(out, enumOrdinal(message.get("type"), ServerMessageType.class));
+        writeVarInt(out, enumOrdinal(message.get("result"), Result.class));
+        writeValue(out, message.get("data"));
+
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    /**
+     * Encodes the message sent by the client. Used by the tests and the tools talking to the server.
+     *
+     * @param contextId the context ID of the message
+     * @param type the type of the request
+     * @param data the JSON tree of the data, or null
+     * @return the content of the binary frame
+     */
+    public static ByteBuffer encodeUserMessage(UUID contextId, UserRequestType type, JsonElement data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+        writeLong(out, contextId.getMostSignificantBits());
+        writeLong(out, contextId.getLeastSignificantBits());
+        writeVarInt(out, type.ordinal());
+        writeValue(out, data);
+
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    /**
+     * Decodes the message sent by the server back to its JSON tree. Used by the tests and the tools talking to the server.
+     *
+     * @param buffer the content of the binary frame
+     * @return the JSON tree of the message, the same as the one sent to the JSON clients
+     */
+    public static JsonObject decodeServerMessage(ByteBuffer buffer) {
+        JsonObject message = new JsonObject();
+        message.add("contextId", readValue(buffer, 0));
+
+        int type = readVarInt(buffer);
+        message.add("type", type == 0 ? JsonNull.INSTANCE : new JsonPrimitive(SERVER_MESSAGE_TYPES[type - 1].name()));
+
+        int result = readVarInt(buffer);
+        message.add("result", result == 0 ? JsonNull.INSTANCE : new JsonPrimitive(RESULTS[result - 1].name()));
+
+        message.add("data", readValue(buffer, 0));
+        return message;
+    }
+
+    private static <E extends Enum<E>> int enumOrdinal(JsonElement value, Class<E> enumClass) {
+        if (value == null || !value.isJsonPrimitive()) {
+            return 0;
+        }
+
+        try {
+            return Enum.valueOf(enumClass, value.getAsString()).ordinal() + 1;
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    private static void writeValue(ByteArrayOutputStream out, JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            out.write(TAG_NULL);
+
+        } else if (value.isJsonObject()) {
+            out.write(TAG_OBJECT);
+            writeVarInt(out, value.getAsJsonObject().size());
+            for (Map.Entry<String, JsonElement> entry : value.getAsJsonObject().entrySet()) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+
+        } else if (value.isJsonArray()) {
+            out.write(TAG_ARRAY);
+            writeVarInt(out, value.getAsJsonArray().size());
+            for (JsonElement element : value.getAsJsonArray()) {
+                writeValue(out, element);
+            }
+
+        } else {
+            writePrimitive(out, value.getAsJsonPrimitive());
+        }
+    }
+
+    private static void writePrimitive(ByteArrayOutputStream out, JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            out.write(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+            return;
+        }
+
+        if (primitive.isNumber()) {
+            String number = primitive.getAsNumber().toString();
+            try {
+                long integer = Long.parseLong(number);
+                out.write(TAG_INT);
+                writeVarLong(out, (integer << 1) ^ (integer >> 63));
+            } catch (NumberFormatException e) {
+                out.write(TAG_DOUBLE);
+                writeLong(out, Double.doubleToRawLongBits(primitive.getAsDouble()));
+            }
+            return;
+        }
+
+        String string = primitive.getAsString();
+        UUID uuid = asUuid(string);
+        if (uuid != null) {
+            out.write(TAG_UUID);
+            writeLong(out, uuid.getMostSignificantBits());
+            writeLong(out, uuid.getLeastSignificantBits());
+            return;
+        }
+
+        out.write(TAG_STRING);
+        writeString(out, string);
+    }
+
+    /** Returns the UUID if the string is its canonical form, so it can be decoded back to the very same string. */
+    private static UUID asUuid(String string) {
+        if (string.length() != 36 || string.charAt(8) != '-') {
+            return null;
+        }
+
+        try {
+            UUID uuid = UUID.fromString(string);
+            return uuid.toString().equals(string) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param buffer the buffer to read the value from
+     * @param depth the number of the arrays and objects the value is nested in
+     */
+    private static JsonElement readValue(ByteBuffer buffer, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new InvalidReceivedMessage("Received message is nested deeper than " + MAX_DEPTH + " levels");
+        }
+
+        int tag = buffer.get();
+        switch (tag) {
+            case TAG_NULL:
+                return JsonNull.INSTANCE;
+            case TAG_FALSE:
+                return new JsonPrimitive(false);
+            case TAG_TRUE:
+                return new JsonPrimitive(true);
+            case TAG_INT:
+                long zigzag = readVarLong(buffer);
+                return new JsonPrimitive((zigzag >>> 1) ^ -(zigzag & 1));
+            case TAG_DOUBLE:
+                return new JsonPrimitive(Double.longBitsToDouble(buffer.getLong()));
+            case TAG_STRING:
+                return new JsonPrimitive(readString(buffer));
+            case TAG_UUID:
+                return new JsonPrimitive(new UUID(buffer.getLong(), buffer.getLong()).toString());
+            case TAG_ARRAY: {
+                int size = readLength(buffer);
+                JsonArray array = new JsonArray(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(readValue(buffer, depth + 1));
+                }
+                return array;
+            }
+            case TAG_OBJECT: {
+                int size = readLength(buffer);
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    String key = readString(buffer);
+                    object.add(key, readValue(buffer, depth + 1));
+                }
+                return object;
+            }
+            default:
+                throw new InvalidReceivedMessage("Received message contains unknown value tag " + tag);
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readLength(buffer);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Reads the length of a string, array or object. It can't exceed the remaining bytes, so a malformed message can't allocate much. */
+    private static int readLength(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new InvalidReceivedMessage("Received message contains invalid length " + length);
+        }
+        return length;
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        if (value > Integer.MAX_VALUE) {
+            throw new InvalidReceivedMessage("Received message contains too big number " + value);
+        }
+        return (int) value;
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new InvalidReceivedMessage("Received message contains malformed varint");
+    }
+
+}
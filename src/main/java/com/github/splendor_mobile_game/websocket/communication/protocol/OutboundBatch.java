@@ -0,0 +1,115 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.framing.Framedata;
+
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * Collects the messages produced while handling a single request and sends them together,
+ * with one write per receiver instead of one per message.
+ *
+ * The frames of a payload shared by several receivers (created by a broadcast) are encoded
+ * only once per draft, just like {@link org.java_websocket.server.WebSocketServer#broadcast}
+ * does. The clients which negotiated {@link WireProtocol#JSON_BATCH} get all their messages
+ * in a single text frame holding the JSON array of the messages.
+ */
+public class OutboundBatch {
+
+    /** The payloads to send to each receiver, in the order they were added. */
+    private final Map<WebSocket, List<OutgoingPayload>> pending = new LinkedHashMap<>();
+
+    /** The frames already created for the payloads, per draft of the receivers. */
+    private final Map<OutgoingPayload, Map<Draft, List<Framedata>>> frames = new IdentityHashMap<>();
+
+    /**
+     * Adds the payload to send to the receiver.
+     *
+     * @param receiver the connection to send the payload to
+     * @param payload the payload to send
+     */
+    public void add(WebSocket receiver, OutgoingPayload payload) {
+        this.pending.computeIfAbsent(receiver, key -> new ArrayList<>()).add(payload);
+    }
+
+    /**
+     * @return true if there are no messages to send
+     */
+    public boolean isEmpty() {
+        return this.pending.isEmpty();
+    }
+
+    /** Sends all the collected messages and clears the batch. */
+    public void flush() {
+        for (Map.Entry<WebSocket, List<OutgoingPayload>> entry : this.pending.entrySet()) {
+            WebSocket receiver = entry.getKey();
+            List<OutgoingPayload> payloads = entry.getValue();
+
+            OutboundQueue queue = OutboundQueue.of(receiver);
+            if (queue != null) {
+                payloads = queue.admit(payloads);
+                if (payloads.isEmpty()) {
+                    continue;
+                }
+            }
+
+            try {
+                receiver.sendFrame(this.createFrames(receiver, payloads));
+            } catch (WebsocketNotConnectedException e) {
+                Log.DEBUG(payloads.size() + " message(s) to the disconnected connection " + receiver.hashCode() + " dropped");
+                continue;
+            }
+
+            for (OutgoingPayload payload : payloads) {
+                Log.DEBUG("Message sent to (" +
+                    receiver.hashCode() + ":" + receiver.getRemoteSocketAddress() + "): " + payload.getJson()
+                );
+            }
+        }
+
+        this.pending.clear();
+        this.frames.clear();
+    }
+
+    private List<Framedata> createFrames(WebSocket receiver, List<OutgoingPayload> payloads) {
+        WireProtocol protocol = WireProtocol.of(receiver);
+        Draft draft = receiver.getDraft();
+
+        if (protocol == WireProtocol.JSON_BATCH && payloads.size() > 1) {
+            return draft.createFrames(toJsonArray(payloads), false);
+        }
+
+        List<Framedata> receiverFrames = new ArrayList<>();
+        for (OutgoingPayload payload : payloads) {
+            receiverFrames.addAll(this.frames
+                .computeIfAbsent(payload, key -> new HashMap<>())
+                .computeIfAbsent(draft, key -> protocol == WireProtocol.BINARY
+                    ? draft.createFrames(payload.getBinary(), false)
+                    : draft.createFrames(payload.getJson(), false)
+                )
+            );
+        }
+        return receiverFrames;
+    }
+
+    private static String toJsonArray(List<OutgoingPayload> payloads) {
+        StringBuilder builder = new StringBuilder("[");
+        for (OutgoingPayload payload : payloads) {
+            if (builder.length() > 1) {
+                builder.append(',');
+            }
+            builder.append(payload.getJson());
+        }
+        return builder.append(']').toString();
+    }
+
+}
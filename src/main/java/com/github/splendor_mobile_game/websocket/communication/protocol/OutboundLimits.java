@@ -0,0 +1,44 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+/**
+ * The limits of the data waiting to be written to a single connection.
+ * A connection over any of the limits is a slow consumer, see {@link OutboundQueue}.
+ */
+public class OutboundLimits {
+
+    /** How many times the limits can be exceeded before the slow consumer is disconnected. */
+    public static final int DISCONNECT_FACTOR = 2;
+
+    private final long maxBytes;
+    private final int maxMessages;
+
+    /**
+     * @param maxBytes the maximum number of bytes waiting to be written to the connection
+     * @param maxMessages the maximum number of frames waiting to be written to the connection
+     */
+    public OutboundLimits(long maxBytes, int maxMessages) {
+        this.maxBytes = maxBytes;
+        this.maxMessages = maxMessages;
+    }
+
+    /**
+     * @return the limits which are never reached
+     */
+    public static OutboundLimits unlimited() {
+        return new OutboundLimits(Long.MAX_VALUE / DISCONNECT_FACTOR, Integer.MAX_VALUE / DISCONNECT_FACTOR);
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    @Override
+    public String toString() {
+        return maxBytes + "B / " + maxMessages + " messages";
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.framing.CloseFrame;
+
+import com.github.splendor_mobile_game.websocket.communication.Session;
+import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Watches the data waiting to be written to a single connection and decides what to do
+ * with the new messages when the client doesn't read them fast enough.
+ *
+ * The frames are queued by the library until the socket accepts them, so a client on a bad network
+ * makes the queue grow without any limit. When the queue exceeds the {@link OutboundLimits}, the
+ * connection becomes a slow consumer:
+ * <ul>
+ *   <li>the chat messages sent to it are dropped,</li>
+ *   <li>the game state deltas are held and sent as one merged delta once the queue drains, with the next message
+ *       or by {@link #flushHeldDeltas()} if none follows,</li>
+ *   <li>the rest of the messages are sent as usual.</li>
+ * </ul>
+ * If the queue exceeds the limits {@link OutboundLimits#DISCONNECT_FACTOR} times, the connection is closed.
+ *
+ * The queue is kept by the {@link Session} attached to the connection.
+ */
+public class OutboundQueue {
+
+    private final WebSocket connection;
+
+    private final OutboundLimits limits;
+
+    private boolean slowConsumer = false;
+
+    /** The game state deltas held while the connection is a slow consumer. */
+    private final List<OutgoingPayload> heldDeltas = new ArrayList<>();
+
+    private long droppedMessages = 0;
+
+    /**
+     * @param connection the connection to watch
+     * @param limits the limits of the data waiting to be written to the connection
+     */
+    public OutboundQueue(WebSocket connection, OutboundLimits limits) {
+        this.connection = connection;
+        this.limits = limits;
+    }
+
+    /**
+     * Returns the queue of the connection.
+     *
+     * @param connection the connection
+     * @return the queue of the session attached to the connection, or null if it has none
+     */
+    public static OutboundQueue of(WebSocket connection) {
+        Session session = Session.of(connection);
+        return session == null ? null : session.getOutboundQueue();
+    }
+
+    /**
+     * Decides which of the messages are sent now, according to the state of the queue.
+     *
+     * @param payloads the messages to send, in order
+     * @return the messages to send now, in order, possibly preceded by the held deltas
+     */
+    public synchronized List<OutgoingPayload> admit(List<OutgoingPayload> payloads) {
+        long queuedBytes = this.getQueuedBytes();
+        int queuedMessages = this.getQueuedMessages();
+
+        if (queuedBytes > this.limits.getMaxBytes() * OutboundLimits.DISCONNECT_FACTOR
+            || queuedMessages > this.limits.getMaxMessages() * OutboundLimits.DISCONNECT_FACTOR) {
+            Log.WARNING("Closing the slow consumer " + this.connection.hashCode() + " with " +
+                queuedBytes + "B in " + queuedMessages + " messages waiting to be written");
+            this.connection.close(CloseFrame.POLICY_VALIDATION, "Slow consumer");
+            return List.of();
+        }
+
+        if (queuedBytes > this.limits.getMaxBytes() || queuedMessages > this.limits.getMaxMessages()) {
+            if (!this.slowConsumer) {
+                Log.WARNING("Connection " + this.connection.hashCode() + " became a slow consumer with " +
+                    queuedBytes + "B in " + queuedMessages + " messages waiting to be written");
+                this.slowConsumer = true;
+            }
+            return this.filter(payloads);
+        }
+
+        if (this.slowConsumer) {
+            Log.INFO("Connection " + this.connection.hashCode() + " is no longer a slow consumer, " +
+                this.droppedMessages + " messages were dropped");
+            this.slowConsumer = false;
+        }
+
+        if (this.heldDeltas.isEmpty()) {
+            return payloads;
+        }
+
+        List<OutgoingPayload> admitted = new ArrayList<>(payloads.size() + 1);
+        admitted.add(mergeDeltas(this.heldDeltas));
+        admitted.addAll(payloads);
+        this.heldDeltas.clear();
+        return admitted;
+    }
+
+    /**
+     * Takes the held deltas merged into one if the queue has drained, so the newest state isn't held
+     * back until another message is sent to the connection.
+     *
+     * @return the merged delta, or an empty list if there are no held deltas or the connection is still a slow consumer
+     */
+    public synchronized List<OutgoingPayload> takeHeldDeltas() {
+        if (this.heldDeltas.isEmpty()) {
+            return List.of();
+        }
+        return this.admit(List.of());
+    }
+
+    /**
+     * Sends the held deltas if the queue has drained, see {@link #takeHeldDeltas()}. They are written under
+     * the lock of the queue, so a delta admitted afterwards can't overtake them. Called periodically by the server.
+     */
+    public synchronized void flushHeldDeltas() {
+        List<OutgoingPayload> admitted = this.takeHeldDeltas();
+        try {
+            for (OutgoingPayload payload : admitted) {
+                payload.write(this.connection);
+            }
+        } catch (WebsocketNotConnectedException e) {
+            Log.DEBUG("Held deltas to the disconnected connection " + this.connection.hashCode() + " dropped");
+        }
+    }
+
+    private List<OutgoingPayload> filter(List<OutgoingPayload> payloads) {
+        List<OutgoingPayload> admitted = new ArrayList<>(payloads.size());
+        for (OutgoingPayload payload : payloads) {
+            String type = payload.getType();
+
+            if (ServerMessageType.SEND_CHAT_MESSAGE_ANNOUNCEMENT.name().equals(type)) {
+                this.droppedMessages++;
+            } else if (ServerMessageType.GAME_STATE_DELTA.name().equals(type)) {
+                this.heldDeltas.add(payload);
+            } else {
+                admitted.add(payload);
+            }
+        }
+        return admitted;
+    }
+
+    /**
+     * Merges the deltas into one, which leads from the state before the first of them to the state after the last one.
+     *
+     * @param deltas the consecutive deltas
+     * @return the merged delta
+     */
+    static OutgoingPayload mergeDeltas(List<OutgoingPayload> deltas) {
+        if (deltas.size() == 1) {
+            return deltas.get(0);
+        }
+
+        JsonObject first = deltas.get(0).getTree();
+        JsonObject last = deltas.get(deltas.size() - 1).getTree();
+
+        JsonArray changes = new JsonArray();
+        for (OutgoingPayload delta : deltas) {
+            for (JsonElement change : delta.getTree().getAsJsonObject("data").getAsJsonArray("changes")) {
+                changes.add(change);
+            }
+        }
+
+        JsonObject data = new JsonObject();
+        data.add("version", last.getAsJsonObject("data").get("version"));
+        data.add("previousVersion", first.getAsJsonObject("data").get("previousVersion"));
+        data.add("changes", changes);
+
+        JsonObject merged = last.deepCopy();
+        merged.add("data", data);
+        return new OutgoingPayload(merged);
+    }
+
+    /**
+     * @return the number of bytes waiting to be written to the connection
+     */
+    public long getQueuedBytes() {
+        Queue<ByteBuffer> outQueue = this.getOutQueue();
+        if (outQueue == null) {
+            return 0;
+        }
+
+        long bytes = 0;
+        for (ByteBuffer buffer : outQueue) {
+            bytes += buffer.remaining();
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the number of frames waiting to be written to the connection
+     */
+    public int getQueuedMessages() {
+        Queue<ByteBuffer> outQueue = this.getOutQueue();
+        return outQueue == null ? 0 : outQueue.size();
+    }
+
+    private Queue<ByteBuffer> getOutQueue() {
+        return this.connection instanceof WebSocketImpl ? ((WebSocketImpl) this.connection).outQueue : null;
+    }
+
+    public synchronized boolean isSlowConsumer() {
+        return slowConsumer;
+    }
+
+    public synchronized long getDroppedMessages() {
+        return droppedMessages;
+    }
+
+}
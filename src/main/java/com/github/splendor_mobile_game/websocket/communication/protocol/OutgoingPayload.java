@@ -0,0 +1,105 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.java_websocket.WebSocket;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * The body of an outgoing message. It's shared by all the receivers of the message
+ * and encoded to each wire format only once, when it's needed for the first time.
+ */
+public class OutgoingPayload {
+
+    /** The JSON tree of the message, null if the payload was created from the JSON text. */
+    private JsonObject tree;
+
+    private String json;
+
+    private ByteBuffer binary;
+
+    /**
+     * @param tree the JSON tree of the message
+     */
+    public OutgoingPayload(JsonObject tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * @param json the JSON text of the message
+     */
+    public OutgoingPayload(String json) {
+        this.json = json;
+    }
+
+    /**
+     * @return the message encoded as JSON text
+     */
+    public synchronized String getJson() {
+        if (this.json == null) {
+            this.json = this.tree.toString();
+        }
+        return this.json;
+    }
+
+    /**
+     * @return the message encoded in the binary format, every call returns a separate buffer over the same bytes
+     */
+    public synchronized ByteBuffer getBinary() {
+        if (this.binary == null) {
+            this.binary = BinaryCodec.encodeServerMessage(this.getTree());
+        }
+        return this.binary.duplicate();
+    }
+
+    /**
+     * @return the JSON tree of the message, it mustn't be modified
+     */
+    public synchronized JsonObject getTree() {
+        if (this.tree == null) {
+            this.tree = JsonParser.parseString(this.json).getAsJsonObject();
+        }
+        return this.tree;
+    }
+
+    /**
+     * @return the name of the `ServerMessageType` of the message, or null if it has none
+     */
+    public String getType() {
+        JsonElement type = this.getTree().get("type");
+        return type == null || !type.isJsonPrimitive() ? null : type.getAsString();
+    }
+
+    /**
+     * Sends the payload to the connection in its negotiated format, unless the connection
+     * is a slow consumer which shouldn't get it now, see {@link OutboundQueue}.
+     *
+     * @param connection the connection to send the payload to
+     */
+    public void sendTo(WebSocket connection) {
+        OutboundQueue queue = OutboundQueue.of(connection);
+        List<OutgoingPayload> admitted = queue == null ? List.of(this) : queue.admit(List.of(this));
+
+        for (OutgoingPayload payload : admitted) {
+            payload.write(connection);
+        }
+    }
+
+    /**
+     * Writes the payload to the connection in its negotiated format, regardless of the state of its queue.
+     *
+     * @param connection the connection to write the payload to
+     */
+    void write(WebSocket connection) {
+        if (WireProtocol.of(connection) == WireProtocol.BINARY) {
+            connection.send(this.getBinary());
+        } else {
+            connection.send(this.getJson());
+        }
+    }
+
+}
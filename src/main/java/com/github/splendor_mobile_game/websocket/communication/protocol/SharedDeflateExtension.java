@@ -0,0 +1,115 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+import org.java_websocket.extensions.IExtension;
+import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
+import org.java_websocket.framing.ContinuousFrame;
+import org.java_websocket.framing.DataFrame;
+import org.java_websocket.framing.Framedata;
+import org.java_websocket.framing.FramedataImpl1;
+
+/**
+ * The permessage-deflate extension configured with the compression level and the threshold.
+ *
+ * The server never takes over the compression context between the messages (it's always
+ * negotiated as `server_no_context_takeover`), so the compressed message doesn't depend on
+ * the connection. Thanks to that:
+ * <ul>
+ *   <li>a frame shared by a broadcast is compressed only once, for the first receiver,
+ *   and sent as it is to the rest of them,</li>
+ *   <li>the deflaters are shared per thread instead of being kept by each connection.</li>
+ * </ul>
+ * The library's own implementation doesn't copy its settings to the connections
+ * and would compress a shared frame again for every receiver.
+ */
+public class SharedDeflateExtension extends PerMessageDeflateExtension {
+
+    /** The empty deflate block appended by the SYNC_FLUSH, it has to be removed from the message. */
+    private static final byte[] TAIL_BYTES = {0x00, 0x00, (byte) 0xFF, (byte) 0xFF};
+
+    private final int compressionLevel;
+
+    /** The deflaters shared by all the connections, one per sending thread. */
+    private final ThreadLocal<Deflater> deflaters;
+
+    /**
+     * @param compressionLevel the compression level, from 0 to 9 or -1 for the default one
+     * @param thresholdBytes the minimum size of the payload to compress
+     */
+    public SharedDeflateExtension(int compressionLevel, int thresholdBytes) {
+        this(compressionLevel, thresholdBytes, ThreadLocal.withInitial(() -> new Deflater(compressionLevel, true)));
+    }
+
+    private SharedDeflateExtension(int compressionLevel, int thresholdBytes, ThreadLocal<Deflater> deflaters) {
+        super();
+        this.compressionLevel = compressionLevel;
+        this.deflaters = deflaters;
+        this.setThreshold(thresholdBytes);
+        this.setServerNoContextTakeover(true);
+
+        // The deflater created by the library isn't used, so release its native memory right away
+        this.getDeflater().end();
+    }
+
+    @Override
+    public void encodeFrame(Framedata frame) {
+        // Already compressed frames are the ones shared by a broadcast
+        if (!(frame instanceof DataFrame) || frame.isRSV1()) {
+            return;
+        }
+
+        // The server doesn't fragment messages, but if it did, they would be sent uncompressed
+        if (frame instanceof ContinuousFrame || !frame.isFin()) {
+            return;
+        }
+
+        ByteBuffer payload = frame.getPayloadData();
+        if (payload.remaining() < this.getThreshold()) {
+            return;
+        }
+
+        Deflater deflater = this.deflaters.get();
+        deflater.reset();
+        deflater.setInput(payload.duplicate());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(payload.remaining() / 2 + 16);
+        byte[] buffer = new byte[1024];
+        int bytesCompressed;
+        while ((bytesCompressed = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH)) > 0) {
+            output.write(buffer, 0, bytesCompressed);
+        }
+
+        byte[] compressed = output.toByteArray();
+        int length = endsWithTail(compressed) ? compressed.length - TAIL_BYTES.length : compressed.length;
+
+        ((DataFrame) frame).setRSV1(true);
+        ((FramedataImpl1) frame).setPayload(ByteBuffer.wrap(compressed, 0, length));
+    }
+
+    private static boolean endsWithTail(byte[] data) {
+        if (data.length < TAIL_BYTES.length) {
+            return false;
+        }
+
+        for (int i = 0; i < TAIL_BYTES.length; i++) {
+            if (data[data.length - TAIL_BYTES.length + i] != TAIL_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public IExtension copyInstance() {
+        return new SharedDeflateExtension(this.compressionLevel, this.getThreshold(), this.deflaters);
+    }
+
+    @Override
+    public String toString() {
+        return "SharedDeflateExtension(level=" + this.compressionLevel + ", threshold=" + this.getThreshold() + ")";
+    }
+
+}
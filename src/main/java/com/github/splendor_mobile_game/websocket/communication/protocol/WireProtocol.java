@@ -0,0 +1,78 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.protocols.IProtocol;
+import org.java_websocket.protocols.Protocol;
+
+/**
+ * The formats of the messages exchanged with the clients. The format is negotiated per connection
+ * during the handshake using the `Sec-WebSocket-Protocol` header. Clients which don't ask for
+ * any protocol use JSON, just like before.
+ */
+public enum WireProtocol {
+
+    /** Compact binary encoding, see {@link BinaryCodec}. Carried in binary frames. */
+    BINARY("splendor-binary"),
+
+    /**
+     * Plain JSON carried in text frames. The messages sent to the client in response to a single
+     * request are sent together, as the JSON array in one frame, if there are more than one of them.
+     */
+    JSON_BATCH("splendor-json-batch"),
+
+    /** Plain JSON carried in text frames. */
+    JSON("splendor-json");
+
+    private static final WireProtocol[] WIRE_PROTOCOLS = WireProtocol.values();
+
+    /** The name of the protocol in the `Sec-WebSocket-Protocol` header. */
+    private final String protocolName;
+
+    WireProtocol(String protocolName) {
+        this.protocolName = protocolName;
+    }
+
+    public String getProtocolName() {
+        return protocolName;
+    }
+
+    /**
+     * Creates the list of the protocols accepted by the server, in the order of preference.
+     * The last one accepts the clients which don't ask for any protocol.
+     *
+     * @return the list of the protocols to use in the draft
+     */
+    public static List<IProtocol> createProtocols() {
+        List<IProtocol> protocols = new ArrayList<>();
+        for (WireProtocol wireProtocol : WireProtocol.values()) {
+            protocols.add(new Protocol(wireProtocol.protocolName));
+        }
+        protocols.add(new Protocol(""));
+        return protocols;
+    }
+
+    /**
+     * Returns the protocol negotiated for the connection.
+     *
+     * @param connection the connection
+     * @return the negotiated protocol, JSON if the client didn't ask for any
+     */
+    public static WireProtocol of(WebSocket connection) {
+        IProtocol protocol = connection.getProtocol();
+        if (protocol == null) {
+            return JSON;
+        }
+
+        String providedProtocol = protocol.getProvidedProtocol();
+        for (WireProtocol wireProtocol : WIRE_PROTOCOLS) {
+            if (wireProtocol.protocolName.equals(providedProtocol)) {
+                return wireProtocol;
+            }
+        }
+        return JSON;
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.github.splendor_mobile_game.websocket.config;
 
 import java.util.EnumSet;
+import java.util.Map;
 
+import com.github.splendor_mobile_game.websocket.communication.limits.RateLimit;
+import com.github.splendor_mobile_game.websocket.executors.ReactionExecutorType;
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
 import com.github.splendor_mobile_game.websocket.utils.LogLevel;
 
 /** The Config interface provides methods to retrieve various configuration parameters. */
@@ -51,4 +55,107 @@ public interface Config {
      * @return The log levels as a EnumSet.
      */
     public EnumSet<LogLevel> getFileLogLevels();
+
+    /**
+     * Returns whether the permessage-deflate compression is negotiated with the clients asking for it.
+     * @return true if the compression is enabled.
+     */
+    public boolean isCompressionEnabled();
+
+    /**
+     * Returns the minimum size of the message payload to compress. Smaller messages are sent uncompressed.
+     * @return The minimum payload size in bytes.
+     */
+    public int getCompressionThresholdBytes();
+
+    /**
+     * Returns the compression level of the deflate algorithm, from 0 (no compression) to 9 (best compression),
+     * or -1 for the default level.
+     * @return The compression level.
+     */
+    public int getCompressionLevel();
+
+    /**
+     * Returns the maximum number of bytes waiting to be written to a single client before it's treated as a slow consumer.
+     * @return The maximum number of bytes.
+     */
+    public long getOutboundQueueMaxBytes();
+
+    /**
+     * Returns the maximum number of messages waiting to be written to a single client before it's treated as a slow consumer.
+     * @return The maximum number of messages.
+     */
+    public int getOutboundQueueMaxMessages();
+
+    /**
+     * Returns the number of threads decoding the frames received from the clients.
+     * @return The number of decoder threads, or 0 for the number of processors.
+     */
+    public int getDecoderThreads();
+
+    /**
+     * Returns the number of threads executing the reactions to the messages from the clients.
+     * @return The number of reaction threads, or 0 for the number of processors.
+     */
+    public int getReactionThreads();
+
+    /**
+     * Returns whether Nagle's algorithm is disabled on the connections, so small messages are sent without delay.
+     * @return true if TCP_NODELAY is set.
+     */
+    public boolean isTcpNoDelay();
+
+    /**
+     * Returns the maximum number of connections waiting to be accepted by the server.
+     * @return The maximum number of pending connections, or -1 for the system default.
+     */
+    public int getMaxPendingConnections();
+
+    /**
+     * Returns the way the reactions to the messages from the clients are executed.
+     * @return The type of the reaction executor.
+     */
+    public ReactionExecutorType getReactionExecutorType();
+
+    /**
+     * Returns the rate of all the messages a single client can send.
+     * @return The rate limit of the connection.
+     */
+    public RateLimit getConnectionRateLimit();
+
+    /**
+     * Returns the rates of the requests of the chosen types a single client can send.
+     * @return The rate limits by the types of the requests.
+     */
+    public Map<UserRequestType, RateLimit> getRequestRateLimits();
+
+    /**
+     * Returns the CPU time the server can spend on the messages of a single client per minute.
+     * @return The CPU quota in milliseconds, or 0 if it's not limited.
+     */
+    public int getCpuQuotaMsPerMinute();
+
+    /**
+     * Returns the number of rejected messages per minute after which the client is disconnected.
+     * @return The maximum number of violations, or 0 if the client is never disconnected.
+     */
+    public int getMaxRateLimitViolationsPerMinute();
+
+    /**
+     * Returns the number of the recent requests of a single client whose responses are cached, so their retries aren't handled twice.
+     * @return The size of the replay cache, or 0 if it's disabled.
+     */
+    public int getReplayCacheSize();
+
+    /**
+     * Returns the number of seconds the responses to the requests are cached for.
+     * @return The time to live of the cached responses in seconds.
+     */
+    public int getReplayCacheTtlSec();
+
+    /**
+     * Returns the number of seconds the server may take to shut down, letting the games reach the end of the turn.
+     * @return The deadline of the drain in seconds.
+     */
+    public int getDrainTimeoutSec();
 }
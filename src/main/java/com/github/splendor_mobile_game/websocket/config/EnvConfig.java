@@ -1,13 +1,22 @@
 package com.github.splendor_mobile_game.websocket.config;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.Map;
+import java.util.zip.Deflater;
 
 import com.github.splendor_mobile_game.websocket.config.exceptions.EnvFileNotFoundException;
 import com.github.splendor_mobile_game.websocket.config.exceptions.EnvRequiredValueNotFoundException;
+import com.github.splendor_mobile_game.websocket.config.exceptions.EnvValueOutOfRangeException;
 import com.github.splendor_mobile_game.websocket.config.exceptions.EnvValueWrongTypeException;
 import com.github.splendor_mobile_game.websocket.config.exceptions.InvalidConfigException;
 import com.github.splendor_mobile_game.websocket.config.exceptions.UnsupportedEnvValueTypeException;
+import com.github.splendor_mobile_game.websocket.communication.limits.InboundLimits;
+import com.github.splendor_mobile_game.websocket.communication.limits.RateLimit;
+import com.github.splendor_mobile_game.websocket.executors.ReactionExecutorType;
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 import com.github.splendor_mobile_game.websocket.utils.LogLevel;
 
@@ -15,6 +24,10 @@ import io.github.cdimascio.dotenv.Dotenv;
 
 /** An implementation of the Config interface that reads configuration values from environment variables. */
 public class EnvConfig implements Config {
+
+    /** The maximum size of the thread pools, more threads wouldn't help on any machine. */
+    private static final int MAX_THREADS = 1024;
+
     private int port;
     private int connectionLostTimeoutSec;
     private int pingIntervalMs;
@@ -22,6 +35,24 @@ public class EnvConfig implements Config {
     private String logsDir;
     private EnumSet<LogLevel> fileLogLevels=EnumSet.allOf(LogLevel.class);
     private EnumSet<LogLevel> consoleLogLevels=EnumSet.allOf(LogLevel.class);
+    private boolean compressionEnabled = true;
+    private int compressionThresholdBytes = 1024;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int outboundQueueMaxBytes = 1024 * 1024;
+    private int outboundQueueMaxMessages = 1000;
+    private int decoderThreads = 0;
+    private int reactionThreads = 0;
+    private boolean tcpNoDelay = true;
+    private int maxPendingConnections = -1;
+    private ReactionExecutorType reactionExecutorType = ReactionExecutorType.AUTO;
+    private int rateLimitMessagesPerSec = 20;
+    private int rateLimitBurst = 40;
+    private Map<UserRequestType, RateLimit> requestRateLimits = InboundLimits.defaultRequestLimits();
+    private int cpuQuotaMsPerMinute = 3000;
+    private int maxRateLimitViolationsPerMinute = 100;
+    private int replayCacheSize = 64;
+    private int replayCacheTtlSec = 30;
+    private int drainTimeoutSec = 30;
 
     /**
      * Creates a new EnvConfig instance with the default path for the environment file.
@@ -70,6 +101,131 @@ public class EnvConfig implements Config {
         String tmpFileLogLevels = (String) this.loadValue(dotenv, "FILE_LOG_LEVELS", String.class, true);
         this.consoleLogLevels = parseLogLevels(tmpConsoleLogLevels);
         this.fileLogLevels = parseLogLevels(tmpFileLogLevels);
+
+        // Optional values, the defaults are used if they are missing
+        Boolean tmpCompressionEnabled = (Boolean) this.loadValue(dotenv, "COMPRESSION_ENABLED", Boolean.class, false);
+        Integer tmpCompressionThresholdBytes = (Integer) this.loadValue(dotenv, "COMPRESSION_THRESHOLD_BYTES", Integer.class, false);
+        Integer tmpCompressionLevel = (Integer) this.loadValue(dotenv, "COMPRESSION_LEVEL", Integer.class, false);
+        if (tmpCompressionEnabled != null) this.compressionEnabled = tmpCompressionEnabled;
+        if (tmpCompressionThresholdBytes != null) this.compressionThresholdBytes = tmpCompressionThresholdBytes;
+        if (tmpCompressionLevel != null) this.compressionLevel = tmpCompressionLevel;
+
+        this.checkRange("COMPRESSION_THRESHOLD_BYTES", this.compressionThresholdBytes, 0, Integer.MAX_VALUE);
+        this.checkRange("COMPRESSION_LEVEL", this.compressionLevel, Deflater.DEFAULT_COMPRESSION, Deflater.BEST_COMPRESSION);
+
+        Integer tmpOutboundQueueMaxBytes = (Integer) this.loadValue(dotenv, "OUTBOUND_QUEUE_MAX_BYTES", Integer.class, false);
+        Integer tmpOutboundQueueMaxMessages = (Integer) this.loadValue(dotenv, "OUTBOUND_QUEUE_MAX_MESSAGES", Integer.class, false);
+        if (tmpOutboundQueueMaxBytes != null) this.outboundQueueMaxBytes = tmpOutboundQueueMaxBytes;
+        if (tmpOutboundQueueMaxMessages != null) this.outboundQueueMaxMessages = tmpOutboundQueueMaxMessages;
+
+        this.checkRange("OUTBOUND_QUEUE_MAX_BYTES", this.outboundQueueMaxBytes, 1, Integer.MAX_VALUE);
+        this.checkRange("OUTBOUND_QUEUE_MAX_MESSAGES", this.outboundQueueMaxMessages, 1, Integer.MAX_VALUE);
+
+        Integer tmpDecoderThreads = (Integer) this.loadValue(dotenv, "DECODER_THREADS", Integer.class, false);
+        Integer tmpReactionThreads = (Integer) this.loadValue(dotenv, "REACTION_THREADS", Integer.class, false);
+        Boolean tmpTcpNoDelay = (Boolean) this.loadValue(dotenv, "TCP_NO_DELAY", Boolean.class, false);
+        Integer tmpMaxPendingConnections = (Integer) this.loadValue(dotenv, "MAX_PENDING_CONNECTIONS", Integer.class, false);
+        if (tmpDecoderThreads != null) this.decoderThreads = tmpDecoderThreads;
+        if (tmpReactionThreads != null) this.reactionThreads = tmpReactionThreads;
+        if (tmpTcpNoDelay != null) this.tcpNoDelay = tmpTcpNoDelay;
+        if (tmpMaxPendingConnections != null) this.maxPendingConnections = tmpMaxPendingConnections;
+
+        this.checkRange("DECODER_THREADS", this.decoderThreads, 0, MAX_THREADS);
+        this.checkRange("REACTION_THREADS", this.reactionThreads, 0, MAX_THREADS);
+        this.checkRange("MAX_PENDING_CONNECTIONS", this.maxPendingConnections, -1, Integer.MAX_VALUE);
+
+        String tmpReactionExecutor = (String) this.loadValue(dotenv, "REACTION_EXECUTOR", String.class, false);
+        if (tmpReactionExecutor != null) this.reactionExecutorType = parseReactionExecutorType(tmpReactionExecutor);
+
+        Integer tmpRateLimitMessagesPerSec = (Integer) this.loadValue(dotenv, "RATE_LIMIT_MESSAGES_PER_SEC", Integer.class, false);
+        Integer tmpRateLimitBurst = (Integer) this.loadValue(dotenv, "RATE_LIMIT_BURST", Integer.class, false);
+        String tmpRequestRateLimits = (String) this.loadValue(dotenv, "RATE_LIMITS_PER_REQUEST", String.class, false);
+        Integer tmpCpuQuotaMsPerMinute = (Integer) this.loadValue(dotenv, "CPU_QUOTA_MS_PER_MINUTE", Integer.class, false);
+        Integer tmpMaxRateLimitViolations = (Integer) this.loadValue(dotenv, "RATE_LIMIT_MAX_VIOLATIONS_PER_MINUTE", Integer.class, false);
+        if (tmpRateLimitMessagesPerSec != null) this.rateLimitMessagesPerSec = tmpRateLimitMessagesPerSec;
+        if (tmpRateLimitBurst != null) this.rateLimitBurst = tmpRateLimitBurst;
+        if (tmpRequestRateLimits != null) this.requestRateLimits = parseRequestRateLimits(tmpRequestRateLimits);
+        if (tmpCpuQuotaMsPerMinute != null) this.cpuQuotaMsPerMinute = tmpCpuQuotaMsPerMinute;
+        if (tmpMaxRateLimitViolations != null) this.maxRateLimitViolationsPerMinute = tmpMaxRateLimitViolations;
+
+        this.checkRange("RATE_LIMIT_MESSAGES_PER_SEC", this.rateLimitMessagesPerSec, 1, Integer.MAX_VALUE);
+        this.checkRange("RATE_LIMIT_BURST", this.rateLimitBurst, 1, Integer.MAX_VALUE);
+        this.checkRange("CPU_QUOTA_MS_PER_MINUTE", this.cpuQuotaMsPerMinute, 0, Integer.MAX_VALUE);
+        this.checkRange("RATE_LIMIT_MAX_VIOLATIONS_PER_MINUTE", this.maxRateLimitViolationsPerMinute, 0, Integer.MAX_VALUE);
+
+        Integer tmpReplayCacheSize = (Integer) this.loadValue(dotenv, "REPLAY_CACHE_SIZE", Integer.class, false);
+        Integer tmpReplayCacheTtlSec = (Integer) this.loadValue(dotenv, "REPLAY_CACHE_TTL_SEC", Integer.class, false);
+        if (tmpReplayCacheSize != null) this.replayCacheSize = tmpReplayCacheSize;
+        if (tmpReplayCacheTtlSec != null) this.replayCacheTtlSec = tmpReplayCacheTtlSec;
+
+        this.checkRange("REPLAY_CACHE_SIZE", this.replayCacheSize, 0, Integer.MAX_VALUE);
+        this.checkRange("REPLAY_CACHE_TTL_SEC", this.replayCacheTtlSec, 1, Integer.MAX_VALUE);
+
+        Integer tmpDrainTimeoutSec = (Integer) this.loadValue(dotenv, "DRAIN_TIMEOUT_SEC", Integer.class, false);
+        if (tmpDrainTimeoutSec != null) this.drainTimeoutSec = tmpDrainTimeoutSec;
+
+        this.checkRange("DRAIN_TIMEOUT_SEC", this.drainTimeoutSec, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parses the type of the reaction executor, see {@link ReactionExecutorType}.
+     * @param value the value of the environment variable.
+     * @return the type of the reaction executor.
+     * @throws EnvValueWrongTypeException if there's no such type.
+     */
+    private ReactionExecutorType parseReactionExecutorType(String value) throws EnvValueWrongTypeException {
+        try {
+            return ReactionExecutorType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            String message = "Value of REACTION_EXECUTOR should be one of " + Arrays.toString(ReactionExecutorType.values()) + ", but is " + value;
+            Log.ERROR(message);
+            throw new EnvValueWrongTypeException(message, e);
+        }
+    }
+
+    /**
+     * Parses the rate limits of the requests written as `TYPE=permitsPerSecond/burst` separated by commas,
+     * ie. `SEND_CHAT_MESSAGE=2/5,GET_TOKENS=5/10`. An empty value means no request is limited on its own.
+     * @param value the value of the environment variable.
+     * @return the rate limits by the types of the requests.
+     * @throws EnvValueWrongTypeException if the value is malformed.
+     */
+    private Map<UserRequestType, RateLimit> parseRequestRateLimits(String value) throws EnvValueWrongTypeException {
+        Map<UserRequestType, RateLimit> limits = new EnumMap<>(UserRequestType.class);
+        if (value.isBlank()) {
+            return limits;
+        }
+
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            try {
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Entry `" + entry.trim() + "` should be written as TYPE=permitsPerSecond/burst");
+                }
+                limits.put(UserRequestType.valueOf(parts[0].trim().toUpperCase()), RateLimit.parse(parts[1]));
+            } catch (IllegalArgumentException e) {
+                String message = "Value of RATE_LIMITS_PER_REQUEST is malformed: " + e.getMessage();
+                Log.ERROR(message);
+                throw new EnvValueWrongTypeException(message, e);
+            }
+        }
+        return limits;
+    }
+
+    /**
+     * Checks if the value of the environment variable is within the allowed range.
+     * @param key the key of the environment variable.
+     * @param value the value of the environment variable.
+     * @param min the minimum allowed value, inclusive.
+     * @param max the maximum allowed value, inclusive.
+     * @throws EnvValueOutOfRangeException if the value is outside of the range.
+     */
+    private void checkRange(String key, int value, int min, int max) throws EnvValueOutOfRangeException {
+        if (value < min || value > max) {
+            String message = "Value of " + key + " should be between " + min + " and " + max + ", but is " + value;
+            Log.ERROR(message);
+            throw new EnvValueOutOfRangeException(message);
+        }
     }
 
     private EnumSet<LogLevel> parseLogLevels(String logLevels){
@@ -172,4 +328,89 @@ public class EnvConfig implements Config {
         return this.fileLogLevels;
     }
 
+    @Override
+    public boolean isCompressionEnabled() {
+        return this.compressionEnabled;
+    }
+
+    @Override
+    public int getCompressionThresholdBytes() {
+        return this.compressionThresholdBytes;
+    }
+
+    @Override
+    public int getCompressionLevel() {
+        return this.compressionLevel;
+    }
+
+    @Override
+    public long getOutboundQueueMaxBytes() {
+        return this.outboundQueueMaxBytes;
+    }
+
+    @Override
+    public int getOutboundQueueMaxMessages() {
+        return this.outboundQueueMaxMessages;
+    }
+
+    @Override
+    public int getDecoderThreads() {
+        return this.decoderThreads;
+    }
+
+    @Override
+    public int getReactionThreads() {
+        return this.reactionThreads;
+    }
+
+    @Override
+    public boolean isTcpNoDelay() {
+        return this.tcpNoDelay;
+    }
+
+    @Override
+    public int getMaxPendingConnections() {
+        return this.maxPendingConnections;
+    }
+
+    @Override
+    public ReactionExecutorType getReactionExecutorType() {
+        return this.reactionExecutorType;
+    }
+
+    @Override
+    public RateLimit getConnectionRateLimit() {
+        return new RateLimit(this.rateLimitMessagesPerSec, this.rateLimitBurst);
+    }
+
+    @Override
+    public Map<UserRequestType, RateLimit> getRequestRateLimits() {
+        return this.requestRateLimits;
+    }
+
+    @Override
+    public int getCpuQuotaMsPerMinute() {
+        return this.cpuQuotaMsPerMinute;
+    }
+
+    @Override
+    public int getMaxRateLimitViolationsPerMinute() {
+        return this.maxRateLimitViolationsPerMinute;
+    }
+
+    @Override
+    public int getReplayCacheSize() {
+        return this.replayCacheSize;
+    }
+
+    @Override
+    public int getReplayCacheTtlSec() {
+        return this.replayCacheTtlSec;
+    }
+
+    @Override
+    public int getDrainTimeoutSec() {
+        return this.drainTimeoutSec;
+    }
+
 }
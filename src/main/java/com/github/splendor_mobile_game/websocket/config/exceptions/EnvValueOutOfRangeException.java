@@ -0,0 +1,21 @@
+package com.github.splendor_mobile_game.websocket.config.exceptions;
+
+/** Exception thrown when the value of an environment variable is outside of its allowed range. */
+public class EnvValueOutOfRangeException extends InvalidConfigException {
+
+    public EnvValueOutOfRangeException() {
+    }
+
+    public EnvValueOutOfRangeException(String message) {
+        super(message);
+    }
+
+    public EnvValueOutOfRangeException(Throwable cause) {
+        super(cause);
+    }
+
+    public EnvValueOutOfRangeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.splendor_mobile_game.websocket.executors;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+
+/**
+ * Executes the reactions right away, on the thread which submitted them (the I/O thread decoding the message).
+ * There is no hand-off at all, but a slow reaction delays the other connections handled by the same thread.
+ *
+ * The messages of the same room can be decoded by different threads, so the tasks of the same room
+ * are still executed one at a time, under the lock of the room's lane. The lobby lock only guards
+ * the tasks which don't touch any existing room, just like the lobby lane of {@link RoomEventLoops}.
+ * A task submitted by a running task is executed by the same thread once the running one is done,
+ * so a thread never holds more than one lock.
+ */
+public class InlineReactionExecutor implements ReactionExecutor {
+
+    private final Object lobbyLock = new Object();
+
+    private final Object[] laneLocks;
+
+    /** The tasks submitted by the task running on the current thread, executed once its lock is released. */
+    private final ThreadLocal<ArrayDeque<Runnable>> deferredTasks = new ThreadLocal<>();
+
+    /**
+     * @param laneCount the number of locks the rooms are spread over
+     */
+    public InlineReactionExecutor(int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("There must be at least one lane, but " + laneCount + " was given!");
+        }
+
+        this.laneLocks = new Object[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            this.laneLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void execute(UUID roomUuid, Runnable task) {
+        ArrayDeque<Runnable> deferred = this.deferredTasks.get();
+        if (deferred != null) {
+            // Taking another lock while holding one could deadlock with a thread taking them the other way round
+            deferred.add(() -> this.executeLocked(roomUuid, task));
+            return;
+        }
+
+        deferred = new ArrayDeque<>();
+        this.deferredTasks.set(deferred);
+        try {
+            this.executeLocked(roomUuid, task);
+
+            // The lock is released, so the tasks submitted by the task can take theirs
+            Runnable next;
+            while ((next = deferred.poll()) != null) {
+                next.run();
+            }
+        } finally {
+            this.deferredTasks.remove();
+        }
+    }
+
+    private void executeLocked(UUID roomUuid, Runnable task) {
+        Object lock = roomUuid == null ? this.lobbyLock : this.laneLocks[Math.floorMod(roomUuid.hashCode(), this.laneLocks.length)];
+        synchronized (lock) {
+            RoomEventLoops.guard(task).run();
+        }
+    }
+
+    @Override
+    public void shutdown(long timeoutMs) {
+
+    }
+
+    @Override
+    public String toString() {
+        return "inline reaction executor";
+    }
+
+}
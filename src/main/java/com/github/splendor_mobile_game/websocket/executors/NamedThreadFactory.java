@@ -0,0 +1,37 @@
+package com.github.splendor_mobile_game.websocket.executors;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ThreadFactory creating daemon threads named after the pool they belong to,
+ * so they are easy to recognize in the thread dumps and logs.
+ */
+public class NamedThreadFactory implements ThreadFactory {
+
+    /** The prefix of the names of created threads. */
+    private final String name;
+
+    /** Whether to append the sequence number to the names of created threads. */
+    private final boolean numbered;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    /**
+     * @param name the name of the threads, or their prefix if numbered
+     * @param numbered whether to append `-<number>` to the names of created threads
+     */
+    public NamedThreadFactory(String name, boolean numbered) {
+        this.name = name;
+        this.numbered = numbered;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        String threadName = this.numbered ? this.name + "-" + this.threadCount.getAndIncrement() : this.name;
+        Thread thread = new Thread(runnable, threadName);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+}
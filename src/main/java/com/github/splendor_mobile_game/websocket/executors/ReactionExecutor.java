@@ -0,0 +1,32 @@
+package com.github.splendor_mobile_game.websocket.executors;
+
+import java.util.UUID;
+
+/**
+ * Executes the reactions to the messages from the clients outside of the I/O threads.
+ *
+ * All the tasks of the same room are executed sequentially, in the order they were submitted,
+ * so the state of the room (`Room`, `Game`, `User`) doesn't need any locking. The tasks which
+ * don't belong to any room yet are executed sequentially on the lobby lane, they mustn't touch
+ * any existing room.
+ */
+public interface ReactionExecutor {
+
+    /**
+     * Executes the task on the lane of the room with the given UUID.
+     * If the UUID is null, the task is executed on the lobby lane.
+     *
+     * @param roomUuid the UUID of the room the task belongs to, or null
+     * @param task the task to execute
+     */
+    void execute(UUID roomUuid, Runnable task);
+
+    /**
+     * Stops accepting new tasks and waits for the already submitted ones to finish.
+     *
+     * @param timeoutMs the maximum time to wait
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void shutdown(long timeoutMs) throws InterruptedException;
+
+}
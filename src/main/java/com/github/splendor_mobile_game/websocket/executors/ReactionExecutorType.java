@@ -0,0 +1,38 @@
+package com.github.splendor_mobile_game.websocket.executors;
+
+/** The available implementations of the {@link ReactionExecutor}. */
+public enum ReactionExecutorType {
+
+    /** Virtual threads if the runtime supports them, the fixed pool otherwise. */
+    AUTO,
+
+    /** The reactions are executed on the I/O thread which received the message, see {@link InlineReactionExecutor}. */
+    INLINE,
+
+    /** A fixed pool of threads owning the rooms, see {@link RoomEventLoops}. */
+    POOL,
+
+    /** A virtual thread per reaction, see {@link VirtualThreadReactionExecutor}. */
+    VIRTUAL;
+
+    /**
+     * Creates the executor of this type.
+     *
+     * @param threads the number of threads of the pool, or the number of lanes of the inline executor
+     * @return the new executor
+     * @throws UnsupportedOperationException if the virtual threads were requested, but the runtime doesn't support them
+     */
+    public ReactionExecutor create(int threads) {
+        switch (this) {
+            case INLINE:
+                return new InlineReactionExecutor(threads);
+            case POOL:
+                return new RoomEventLoops(threads);
+            case VIRTUAL:
+                return new VirtualThreadReactionExecutor();
+            default:
+                return VirtualThreadReactionExecutor.isSupported() ? new VirtualThreadReactionExecutor() : new RoomEventLoops(threads);
+        }
+    }
+
+}
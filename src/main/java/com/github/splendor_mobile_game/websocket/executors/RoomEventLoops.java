@@ -0,0 +1,126 @@
+package com.github.splendor_mobile_game.websocket.executors;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.github.splendor_mobile_game.websocket.utils.Log;
+
+/**
+ * A set of single-threaded executors (event loops) which own the rooms.
+ * Every room is bound to exactly one loop chosen by the hash of its UUID, so all the work
+ * touching the state of that room (`Room`, `Game`, `User`) runs sequentially on the same thread
+ * and doesn't need any locking. Rooms are spread evenly over the loops, so the throughput scales
+ * with the number of cores.
+ * 
+ * Requests which are not bound to any room yet (ie. creating a room) are executed on a separate lobby lane.
+ * Joining a room changes its users, so it's executed on the loop owning the room to join.
+ */
+public class RoomEventLoops implements ReactionExecutor {
+
+    /** The lane for the requests which don't belong to any room. */
+    private final ExecutorService lobby;
+
+    /** The loops owning the rooms. */
+    private final ExecutorService[] loops;
+
+    /**
+     * Creates the lobby lane and the given number of room loops.
+     *
+     * @param loopCount the number of room loops, usually the number of available cores
+     */
+    public RoomEventLoops(int loopCount) {
+        if (loopCount < 1) {
+            throw new IllegalArgumentException("There must be at least one room loop, but " + loopCount + " was given!");
+        }
+
+        this.lobby = Executors.newSingleThreadExecutor(new NamedThreadFactory("lobby-loop", false));
+        this.loops = new ExecutorService[loopCount];
+        for (int i = 0; i < loopCount; i++) {
+            this.loops[i] = Executors.newSingleThreadExecutor(new NamedThreadFactory("room-loop-" + i, false));
+        }
+    }
+
+    /**
+     * Executes the task on the loop owning the room with the given UUID.
+     * If the UUID is null, the task is executed on the lobby lane.
+     *
+     * @param roomUuid the UUID of the room the task belongs to, or null
+     * @param task the task to execute
+     */
+    @Override
+    public void execute(UUID roomUuid, Runnable task) {
+        if (roomUuid == null) {
+            this.executeInLobby(task);
+            return;
+        }
+
+        this.loops[this.getLoopIndex(roomUuid)].execute(guard(task));
+    }
+
+    /**
+     * Executes the task on the lobby lane.
+     *
+     * @param task the task to execute
+     */
+    public void executeInLobby(Runnable task) {
+        this.lobby.execute(guard(task));
+    }
+
+    /**
+     * Returns the index of the loop owning the room with the given UUID.
+     *
+     * @param roomUuid the UUID of the room
+     * @return the index of the owning loop
+     */
+    public int getLoopIndex(UUID roomUuid) {
+        return Math.floorMod(roomUuid.hashCode(), this.loops.length);
+    }
+
+    public int getLoopCount() {
+        return this.loops.length;
+    }
+
+    /**
+     * Stops accepting new tasks and waits for the already submitted ones to finish.
+     *
+     * @param timeoutMs the maximum time to wait for each of the loops
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public void shutdown(long timeoutMs) throws InterruptedException {
+        this.lobby.shutdown();
+        for (ExecutorService loop : this.loops) {
+            loop.shutdown();
+        }
+
+        this.lobby.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+        for (ExecutorService loop : this.loops) {
+            loop.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "pool of " + this.loops.length + " room loop(s)";
+    }
+
+    /**
+     * Wraps the task so an exception thrown by it is logged instead of silently swallowed by the executor.
+     *
+     * @param task the task to wrap
+     * @return the wrapped task
+     */
+    static Runnable guard(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                Log.ERROR("Unhandled exception on " + Thread.currentThread().getName() + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.github.splendor_mobile_game.websocket.executors;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Executes the tasks one at a time, in the order they were submitted, on the threads of the underlying executor.
+ * It doesn't own any thread, so there can be plenty of them on top of a single executor.
+ */
+class SerialExecutor implements Executor {
+
+    private final Executor executor;
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    /** Whether one of the tasks is being executed or has been handed to the underlying executor. */
+    private boolean active = false;
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        synchronized (this) {
+            this.tasks.add(task);
+            if (this.active) {
+                return;
+            }
+            this.active = true;
+        }
+
+        this.executor.execute(this::drain);
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable task;
+            synchronized (this) {
+                task = this.tasks.poll();
+                if (task == null) {
+                    this.active = false;
+                    return;
+                }
+            }
+
+            task.run();
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.github.splendor_mobile_game.websocket.executors;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes the reactions on virtual threads, so a reaction blocked on I/O (ie. writing the logs
+ * or the persistence) doesn't hold any platform thread. The rooms are spread over the serial lanes,
+ * which keep the tasks of the same room in order, just like {@link RoomEventLoops}.
+ *
+ * The virtual threads are looked up reflectively, so the server still runs on the runtimes without them.
+ */
+public class VirtualThreadReactionExecutor implements ReactionExecutor {
+
+    /** The number of lanes the rooms are spread over, the lanes are cheap so it's much more than the number of cores. */
+    private static final int LANE_COUNT = 1024;
+
+    private final ExecutorService executor;
+
+    private final SerialExecutor lobby;
+
+    private final SerialExecutor[] lanes = new SerialExecutor[LANE_COUNT];
+
+    /**
+     * @throws UnsupportedOperationException if the runtime doesn't support the virtual threads
+     */
+    public VirtualThreadReactionExecutor() {
+        this.executor = createVirtualThreadExecutor();
+        if (this.executor == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by Java " + Runtime.version());
+        }
+
+        this.lobby = new SerialExecutor(this.executor);
+        for (int i = 0; i < LANE_COUNT; i++) {
+            this.lanes[i] = new SerialExecutor(this.executor);
+        }
+    }
+
+    /**
+     * @return true if the runtime supports the virtual threads
+     */
+    public static boolean isSupported() {
+        ExecutorService executor = createVirtualThreadExecutor();
+        if (executor == null) {
+            return false;
+        }
+
+        executor.shutdown();
+        return true;
+    }
+
+    /**
+     * @return the executor starting a new virtual thread for each task, or null if the runtime doesn't support them
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // Missing before Java 19 and disabled without --enable-preview before Java 21
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(UUID roomUuid, Runnable task) {
+        SerialExecutor lane = roomUuid == null ? this.lobby : this.lanes[Math.floorMod(roomUuid.hashCode(), LANE_COUNT)];
+        lane.execute(RoomEventLoops.guard(task));
+    }
+
+    @Override
+    public void shutdown(long timeoutMs) throws InterruptedException {
+        this.executor.shutdown();
+        this.executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "virtual thread reaction executor";
+    }
+
+}
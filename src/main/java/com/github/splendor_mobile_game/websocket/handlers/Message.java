@@ -1,24 +1,38 @@
 package com.github.splendor_mobile_game.websocket.handlers;
 
-/** Represents a message to be sent to a receiver identified by their websocket hashcode. */
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutgoingPayload;
+
+/** Represents a message to be sent to a receiver identified by the ID of their connection, see `Session`. */
 public class Message {
 
     /** Each connection between User and Server is identified by some ID. This is its. */
-    private int receiverHashcode;
+    private long receiverHashcode;
+
+    /** The body of the message, shared by all the receivers of the same broadcast. */
+    private OutgoingPayload payload;
 
-    private String message;
+    public Message(long receiverHashcode, String message) {
+        this(receiverHashcode, new OutgoingPayload(message));
+    }
 
-    public Message(int receiverHashcode, String message) {
+    public Message(long receiverHashcode, OutgoingPayload payload) {
         this.receiverHashcode = receiverHashcode;
-        this.message = message;
+        this.payload = payload;
     }
 
-    public int getReceiverHashcode() {
+    public long getReceiverHashcode() {
         return receiverHashcode;
     }
 
+    /**
+     * @return the message encoded as JSON text
+     */
     public String getMessage() {
-        return message;
+        return payload.getJson();
+    }
+
+    public OutgoingPayload getPayload() {
+        return payload;
     }
 
 }
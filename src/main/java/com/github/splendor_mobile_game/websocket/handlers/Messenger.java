@@ -3,25 +3,56 @@ package com.github.splendor_mobile_game.websocket.handlers;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutgoingPayload;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
-// TODO: Java doc required
+/** Collects the messages a reaction wants to send, they are sent by the server after the reaction finishes. */
 public class Messenger {
+
+    /** Gson is thread-safe, so one instance is shared by all the messengers. */
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
     private List<Message> messages = new ArrayList<>();
 
-    public void addMessageToSend(int receiverHashcode, ServerMessage serverMessage) {
-        this.addMessageToSend(receiverHashcode, (new GsonBuilder().serializeNulls().setPrettyPrinting().create()).toJson(serverMessage));
+    public void addMessageToSend(long receiverHashcode, ServerMessage serverMessage) {
+        this.addMessageToSend(receiverHashcode, toPayload(serverMessage));
+    }
+
+    public void addMessageToSend(long receiverHashcode, ErrorResponse errorResponse) {
+        this.addMessageToSend(receiverHashcode, new OutgoingPayload(errorResponse.ToJson()));
+    }
+
+    /**
+     * Sends the same message to all the given users. The message is serialized only once and all the
+     * receivers share the same payload, so the server can encode the WebSocket frame once for all of them.
+     *
+     * @param receivers the users to send the message to
+     * @param serverMessage the message to send
+     */
+    public void broadcast(Iterable<User> receivers, ServerMessage serverMessage) {
+        OutgoingPayload payload = toPayload(serverMessage);
+        for (User receiver : receivers) {
+            this.addMessageToSend(receiver.getConnectionHashCode(), payload);
+        }
     }
 
-    public void addMessageToSend(int receiverHashcode, ErrorResponse errorResponse) {
-        this.addMessageToSend(receiverHashcode, errorResponse.ToJson());
+    private void addMessageToSend(long receiverHashcode, OutgoingPayload payload) {
+        messages.add(new Message(receiverHashcode, payload));
     }
 
-    private void addMessageToSend(int receiverHashcode, String body) {
-        messages.add(new Message(receiverHashcode, body));
+    /**
+     * Creates the payload of the message. It keeps the JSON tree, so the binary clients
+     * get the message without parsing the JSON text again.
+     *
+     * @param serverMessage the message
+     * @return the payload of the message
+     */
+    public static OutgoingPayload toPayload(ServerMessage serverMessage) {
+        return new OutgoingPayload(GSON.toJsonTree(serverMessage).getAsJsonObject());
     }
 
     public List<Message> getMessages() {
@@ -1,17 +1,23 @@
 package com.github.splendor_mobile_game.websocket.handlers;
 
 import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.Session;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 
 // TODO: Java doc required
 public abstract class Reaction {
 
-    protected int connectionHashCode;
+    protected long connectionHashCode;
     protected Messenger messenger;
     protected Database database;
     protected UserMessage userMessage;
 
-    public Reaction(int connectionHashCode, UserMessage receivedMessage, Messenger messenger, Database database) {
+    /** The session of the connection the message was received on, null if the reaction isn't run by the server. */
+    protected Session session;
+
+    public Reaction(long connectionHashCode, UserMessage receivedMessage, Messenger messenger, Database database) {
         this.connectionHashCode = connectionHashCode;
         this.userMessage = receivedMessage;
         this.messenger = messenger;
@@ -19,4 +25,35 @@ public abstract class Reaction {
     }
 
     public abstract void react();
+
+    public void setSession(Session session) {
+        this.session = session;
+    }
+
+    /**
+     * Finds the user using the connection the message was received on. The user bound to the session
+     * is used if there is a session, so the database doesn't have to be searched.
+     *
+     * @return the user, or null if the connection isn't used by any user in a room
+     */
+    protected User getConnectedUser() {
+        if (this.session != null) {
+            return this.session.getUser();
+        }
+        return this.database.getUserByConnectionHashCode(this.connectionHashCode);
+    }
+
+    /**
+     * Finds the room of the user using the connection the message was received on, see {@link #getConnectedUser()}.
+     *
+     * @return the room, or null if the connection isn't used by any user in a room
+     */
+    protected Room getConnectedRoom() {
+        if (this.session != null) {
+            return this.session.getRoom();
+        }
+
+        User user = this.database.getUserByConnectionHashCode(this.connectionHashCode);
+        return user == null ? null : this.database.getRoomWithUser(user.getUuid());
+    }
 }
@@ -0,0 +1,124 @@
+package com.github.splendor_mobile_game.websocket.handlers;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.utils.Log;
+import com.github.splendor_mobile_game.websocket.utils.reflection.Reflection;
+
+/**
+ * The `ReactionBinding` class holds everything needed to dispatch a message to its `Reaction`,
+ * resolved once when the reaction is loaded: the reaction class, its `@DataClass` type and
+ * a factory calling the reaction constructor directly, without any reflection.
+ */
+public class ReactionBinding {
+
+    /** Creates a new instance of the reaction, the arguments are the same as the ones of the `Reaction` constructor. */
+    @FunctionalInterface
+    public interface ReactionFactory {
+        Reaction create(long connectionHashCode, UserMessage receivedMessage, Messenger messenger, Database database);
+    }
+
+    /** The type of the constructor every reaction has to implement. */
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(
+        void.class, long.class, UserMessage.class, Messenger.class, Database.class
+    );
+
+    /** The type of the `ReactionFactory.create` method. */
+    private static final MethodType FACTORY_METHOD_TYPE = MethodType.methodType(
+        Reaction.class, long.class, UserMessage.class, Messenger.class, Database.class
+    );
+
+    private final UserRequestType type;
+    private final Class<? extends Reaction> reactionClass;
+    private final Class<?> dataClass;
+    private final ReactionFactory factory;
+
+    /**
+     * Resolves the data class and the constructor of the reaction class.
+     *
+     * @param type the type of the messages handled by the reaction
+     * @param reactionClass the reaction class, it has to be public and have a public constructor with
+     * `long`, `UserMessage`, `Messenger` and `Database` as arguments
+     * @throws NoSuchMethodException if the reaction class has no such constructor
+     * @throws IllegalAccessException if the constructor is not accessible
+     */
+    public ReactionBinding(UserRequestType type, Class<? extends Reaction> reactionClass) throws NoSuchMethodException, IllegalAccessException {
+        this.type = type;
+        this.reactionClass = reactionClass;
+        this.dataClass = Reflection.findFirstClassWithAnnotationWithinClass(reactionClass, DataClass.class);
+        this.factory = createFactory(reactionClass);
+    }
+
+    /**
+     * Creates the factory of the reaction. A class implementing `ReactionFactory` is spun by the
+     * `LambdaMetafactory`, so the constructor call can be inlined by the JIT. If that's not possible
+     * (ie. the reaction class isn't visible from this class loader) the bare method handle is used.
+     *
+     * @param reactionClass the reaction class
+     * @return the factory of the reaction
+     */
+    private static ReactionFactory createFactory(Class<? extends Reaction> reactionClass) throws NoSuchMethodException, IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle constructor = lookup.findConstructor(reactionClass, CONSTRUCTOR_TYPE);
+
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(
+                lookup,
+                "create",
+                MethodType.methodType(ReactionFactory.class),
+                FACTORY_METHOD_TYPE,
+                constructor,
+                constructor.type()
+            );
+            return (ReactionFactory) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            Log.WARNING("Cannot generate the factory of `" + reactionClass.getName() + "`, the method handle will be used instead: " + e.getMessage());
+        }
+
+        MethodHandle genericConstructor = constructor.asType(FACTORY_METHOD_TYPE);
+        return (connectionHashCode, receivedMessage, messenger, database) -> {
+            try {
+                return (Reaction) genericConstructor.invokeExact(connectionHashCode, receivedMessage, messenger, database);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a new instance of the reaction.
+     *
+     * @param connectionHashCode the hashcode of the connection the message was received on
+     * @param receivedMessage the received message
+     * @param messenger the messenger collecting the messages to send
+     * @param database the database
+     * @return the new instance of the reaction
+     */
+    public Reaction createReaction(long connectionHashCode, UserMessage receivedMessage, Messenger messenger, Database database) {
+        return this.factory.create(connectionHashCode, receivedMessage, messenger, database);
+    }
+
+    public UserRequestType getType() {
+        return type;
+    }
+
+    public Class<? extends Reaction> getReactionClass() {
+        return reactionClass;
+    }
+
+    /**
+     * @return the class annotated with `@DataClass` within the reaction class, or null if the reaction doesn't take any data
+     */
+    public Class<?> getDataClass() {
+        return dataClass;
+    }
+
+}
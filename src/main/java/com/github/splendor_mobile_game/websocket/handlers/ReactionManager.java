@@ -5,6 +5,8 @@ import java.io.IOException;
 import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
@@ -21,6 +23,9 @@ public class ReactionManager {
     /** A `Map` of reaction names to their corresponding `Reaction` classes. */
     public Map<String, Class<? extends Reaction>> reactions = new HashMap<>();
 
+    /** The dispatch table of the reactions, resolved once when they are loaded. */
+    private Map<UserRequestType, ReactionBinding> bindings = new EnumMap<>(UserRequestType.class);
+
     /** The package to search in when loading `Reaction` classes. */
     private String packageToSearchIn;
 
@@ -92,7 +97,7 @@ public class ReactionManager {
     // TODO: This function can be unit tested
     /**
     * Loads reactions from the provided list of classes. Only classes that implement the Reaction interface and have a
-    * public constructor with a single int parameter will be loaded.
+    * public constructor with `long`, `UserMessage`, `Messenger` and `Database` parameters will be loaded.
     *
     * @param classesToSearchIn the list of classes to search for reactions
     */
@@ -118,10 +123,10 @@ public class ReactionManager {
 
             // Check if the class has a public constructor with appropriate parameters
             try {
-                Reflection.getConstructorWithParameters(clazz, int.class, UserMessage.class, Messenger.class, Database.class);
+                Reflection.getConstructorWithParameters(clazz, long.class, UserMessage.class, Messenger.class, Database.class);
             } catch (NoSuchMethodException e) {
                 Log.ERROR(clazz.getName() + " was not registered as the Reaction, because it doesn't" 
-                    + " implement constructor with `int`, `ReceivedMessage`, `Messenger` and `Database`, but it's required!"
+                    + " implement constructor with `long`, `ReceivedMessage`, `Messenger` and `Database`, but it's required!"
                 );
                 continue;
             }
@@ -145,11 +150,14 @@ public class ReactionManager {
             }
 
             try {
-                UserRequestType.valueOf(reactionNameString);
+                UserRequestType type = UserRequestType.valueOf(reactionNameString);
+                this.bindings.put(type, new ReactionBinding(type, reactionClass));
             } catch (IllegalArgumentException e) {
                 Log.ERROR("Class `" + clazz.getName() + "` has ReactionName=" + reactionNameString + 
                     ", but no mathing variant in UserRequestType has been found!"
                 );
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                Log.ERROR("Cannot bind the constructor of `" + clazz.getName() + "`: " + e.getMessage());
             }
 
             // Add the reaction to the map
@@ -158,4 +166,14 @@ public class ReactionManager {
         }
     }
 
+    /**
+     * Returns the dispatch table of the loaded reactions. Reactions whose name doesn't match
+     * any variant of `UserRequestType` are not included.
+     *
+     * @return the unmodifiable map of request types to their reaction bindings
+     */
+    public Map<UserRequestType, ReactionBinding> getBindings() {
+        return Collections.unmodifiableMap(this.bindings);
+    }
+
 }
@@ -32,5 +32,10 @@ public enum ServerMessageType {
     NOBLE_RECEIVED_ANNOUNCEMENT,
     END_GAME_ANNOUNCEMENT,
     SEND_CHAT_MESSAGE_ANNOUNCEMENT,
-    SEND_CHAT_MESSAGE_RESPONSE
+    SEND_CHAT_MESSAGE_RESPONSE,
+
+    /** The changes of the game state made by the last action, sent to all the players of the room. */
+    GAME_STATE_DELTA,
+
+    GET_LEGAL_ACTIONS_RESPONSE
 }
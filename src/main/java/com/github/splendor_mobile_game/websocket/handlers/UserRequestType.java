@@ -16,5 +16,6 @@ public enum UserRequestType {
     BUY_REVEALED_MINE,
     BUY_RESERVED_MINE,
     SEND_CHAT_MESSAGE,
-    KICK
+    KICK,
+    GET_LEGAL_ACTIONS
 }
@@ -5,6 +5,7 @@ import java.util.Map;
 import org.java_websocket.WebSocket;
 
 import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.websocket.communication.Session;
 
 /** An abstract class for checking the health status of a WebSocket connection. */
 public abstract class ConnectionChecker {
@@ -14,13 +15,13 @@ public abstract class ConnectionChecker {
     
     protected Database database;
 
-    /** All connections server has with clients */
-    protected Map<Integer, WebSocket> connections;
+    /** The sessions of all connections server has with clients, by the IDs of the connections */
+    protected Map<Long, Session> sessions;
 
-    public ConnectionChecker(WebSocket connection, Database database, Map<Integer, WebSocket> connections) {
+    public ConnectionChecker(WebSocket connection, Database database, Map<Long, Session> sessions) {
         this.connection = connection;
         this.database = database;
-        this.connections = connections;
+        this.sessions = sessions;
     }
 
     public abstract void onConnectionCheck(Long timeSinceLastPongMs);
@@ -9,6 +9,9 @@ import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.model.Room;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
+import com.github.splendor_mobile_game.websocket.communication.Session;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutgoingPayload;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.handlers.reactions.EndTurn;
 import com.github.splendor_mobile_game.websocket.handlers.reactions.LeaveRoom;
@@ -26,9 +29,10 @@ public class SimpleConnectionChecker extends ConnectionChecker {
      * Constructor for SimpleConnectionChecker.
      * @param connection The WebSocket connection to check.
      * @param database The database with users, rooms and games
+     * @param sessions The sessions of all the connections, by the IDs of the connections
      */
-    public SimpleConnectionChecker(WebSocket connection, Database database, Map<Integer, WebSocket> connections) {
-        super(connection, database, connections);
+    public SimpleConnectionChecker(WebSocket connection, Database database, Map<Long, Session> sessions) {
+        super(connection, database, sessions);
     }
 
     /**
@@ -54,22 +58,24 @@ public class SimpleConnectionChecker extends ConnectionChecker {
     /** This method is called when the WebSocket connection is closed. */
     @Override
     public void onConnectionClose() {
-        Log.TRACE(this.connection.hashCode() + " has been closed!");
+        Session session = Session.of(this.connection);
+        Log.TRACE(session + " has been closed!");
 
-        // Get the user associated with the closed connection
-        User user = database.getUserByConnectionHashCode(connection.hashCode());
+        // Get the user associated with the closed connection and their room, they are bound to its session
+        User user = session == null ? null : session.getUser();
+        Room room = session == null ? null : session.getRoom();
 
         if (user == null) {
             return;
         }
+        session.unbind();
         
         // If the user was in a room, remove them from the room
-        Room room = database.getRoomWithUser(user.getUuid());
         if (room != null) {
                      
             //Remove room if it's empty
             if(room.getAllUsers().size()==1){
-                database.getAllRooms().remove(room);
+                database.removeRoom(room);
                 Log.DEBUG("Room `" + room.getName() + "` has been removed from entire database, because all players have left.");
             }
             else if(room.getGame()!=null && room.getCurrentPlayer()==user){
@@ -78,13 +84,15 @@ public class SimpleConnectionChecker extends ConnectionChecker {
                 // Create a message to inform other players that is new turn
                 EndTurn.ResponseData responseData = new EndTurn.ResponseData(room.getCurrentPlayer().getUuid());
                 ServerMessage serverMessage = new ServerMessage(UUID.randomUUID(), ServerMessageType.NEW_TURN_ANNOUNCEMENT, Result.OK, responseData);
+                OutgoingPayload payload = Messenger.toPayload(serverMessage);
 
                 // Send leave information to other players
                 for (User u : room.getAllUsers()) {
-                    WebSocket userConnection = connections.get(u.getConnectionHashCode());
-                    if (userConnection != null) {
-                        String message = serverMessage.toJson();
-                        userConnection.send(message);
+                    Session userSession = sessions.get(u.getConnectionHashCode());
+                    if (userSession != null) {
+                        WebSocket userConnection = userSession.getConnection();
+                        String message = payload.getJson();
+                        payload.sendTo(userConnection);
                         Log.DEBUG("Message sent to (" +
                             u.getConnectionHashCode() + ":" + userConnection.getRemoteSocketAddress() + "): " + message
                         );
@@ -99,14 +107,16 @@ public class SimpleConnectionChecker extends ConnectionChecker {
             // Create a message to inform other players that the user has left the room
             LeaveRoom.UserDataResponse userDataResponse = new LeaveRoom.UserDataResponse(user.getUuid(), user.getName());
             LeaveRoom.ResponseData responseData = new LeaveRoom.ResponseData(userDataResponse);
-            ServerMessage serverMessage = new ServerMessage(UUID.randomUUID(), ServerMessageType.LEAVE_ROOM_RESPONSE, Result.OK, responseData);                
+            ServerMessage serverMessage = new ServerMessage(UUID.randomUUID(), ServerMessageType.LEAVE_ROOM_RESPONSE, Result.OK, responseData);
+            OutgoingPayload payload = Messenger.toPayload(serverMessage);
 
             // Send leave information to other players
             for (User u : room.getAllUsers()) {
-                WebSocket userConnection = connections.get(u.getConnectionHashCode());
-                if (userConnection != null) {
-                    String message = serverMessage.toJson();
-                    userConnection.send(message);
+                Session userSession = sessions.get(u.getConnectionHashCode());
+                if (userSession != null) {
+                    WebSocket userConnection = userSession.getConnection();
+                    String message = payload.getJson();
+                    payload.sendTo(userConnection);
                     Log.DEBUG("Message sent to (" +
                         u.getConnectionHashCode() + ":" + userConnection.getRemoteSocketAddress() + "): " + message
                     );
@@ -115,7 +125,7 @@ public class SimpleConnectionChecker extends ConnectionChecker {
         }
 
         // Remove the user from the database
-        database.getAllUsers().remove(user);
+        database.removeUser(user);
         Log.DEBUG("User `" + user.getConnectionHashCode() + "` has been removed from entire database, because connection has been lost.");
     }
 
@@ -1,9 +1,11 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
 /**
  * Exception thrown when card is not in database or in any set
  */
-public class CardDoesntExistException extends Exception{
+public class CardDoesntExistException extends ValidationException {
     public CardDoesntExistException() {
     }
 
@@ -1,7 +1,9 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
 /** Game not started exception, used when user is trying to do some action in the game but game hasn't started yet */
-public class GameNotStartedException extends Exception {
+public class GameNotStartedException extends ValidationException {
 
     public GameNotStartedException() {
     }
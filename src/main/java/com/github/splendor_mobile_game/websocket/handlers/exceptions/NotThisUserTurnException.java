@@ -1,7 +1,9 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
 /** Not this user's turn exception, used when user is trying to do something when opponent is playing */
-public class NotThisUserTurnException extends Exception {
+public class NotThisUserTurnException extends ValidationException {
 
     public NotThisUserTurnException() {
     }
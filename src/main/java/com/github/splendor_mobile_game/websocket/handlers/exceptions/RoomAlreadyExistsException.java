@@ -1,6 +1,8 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
-public class RoomAlreadyExistsException extends Exception {
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
+public class RoomAlreadyExistsException extends ValidationException {
 
     public RoomAlreadyExistsException() {
     }
@@ -1,6 +1,8 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
-public class RoomOwnershipException extends Exception {
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
+public class RoomOwnershipException extends ValidationException {
 
     public RoomOwnershipException() {
     }
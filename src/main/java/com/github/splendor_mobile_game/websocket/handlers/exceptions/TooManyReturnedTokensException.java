@@ -1,7 +1,9 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
 /** Too many returned tokens exception, used when user has to return some tokens but gives back too much */
-public class TooManyReturnedTokensException extends Exception {
+public class TooManyReturnedTokensException extends ValidationException {
 
     public TooManyReturnedTokensException() {
     }
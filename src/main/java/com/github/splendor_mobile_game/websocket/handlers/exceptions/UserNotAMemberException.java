@@ -1,6 +1,8 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
-public class UserNotAMemberException extends Exception {
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
+public class UserNotAMemberException extends ValidationException {
 
     public UserNotAMemberException() {
     }
@@ -1,10 +1,12 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
 /**
  * Exception thrown when attempting to do some action when it
  * is not user's turn
  */
-public class UserTurnException extends Exception{
+public class UserTurnException extends ValidationException {
     public UserTurnException() {
     }
 
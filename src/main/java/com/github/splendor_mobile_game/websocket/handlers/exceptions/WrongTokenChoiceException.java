@@ -1,7 +1,9 @@
 package com.github.splendor_mobile_game.websocket.handlers.exceptions;
 
+import com.github.splendor_mobile_game.websocket.utils.ValidationException;
+
 /** Wrong token choice exception, used when user's token choice is against the rules of Splendor*/
-public class WrongTokenChoiceException extends Exception {
+public class WrongTokenChoiceException extends ValidationException {
 
     public WrongTokenChoiceException() {
     }
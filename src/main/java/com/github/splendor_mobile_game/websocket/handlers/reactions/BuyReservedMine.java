@@ -1,17 +1,16 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.exceptions.NotEnoughTokensException;
 import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
@@ -23,6 +22,7 @@ import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.*;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
 /**
@@ -82,7 +82,7 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("BUY_RESERVED_MINE")
 public class BuyReservedMine extends Reaction {
 
-    public BuyReservedMine(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public BuyReservedMine(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -165,18 +165,14 @@ public class BuyReservedMine extends Reaction {
 
             
 
-            Map<TokenType, Integer> tokens = new HashMap<>();
-            for(TokenType tokenType : EnumSet.allOf(TokenType.class)){
-                tokens.put(tokenType,buyer.getTokenCount(tokenType));
-            }
+            TokenVector tokensPaid = buyer.getTokens();
             
             buyer.buyCard(boughtCard);
             buyer.setPerformedAction(true);
 
             //Return tokens to table
-            for(TokenType tokenType : EnumSet.allOf(TokenType.class)){
-                game.addTokens(tokenType, tokens.get(tokenType)-buyer.getTokenCount(tokenType));
-            }
+            tokensPaid.subtract(buyer.getTokens());
+            game.addTokens(tokensPaid);
             
             buyer.removeCardFromReserved(boughtCard);
             room.getGame().decreaseGameReservationCount();
@@ -202,21 +198,20 @@ public class BuyReservedMine extends Reaction {
                     Result.OK,
                     responseData);
 
-            for (User player : players) {
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(players, serverMessage);
 
         } catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(
                     Result.FAILURE,
                     e.getMessage(),
+                    ErrorCodes.ofException(e),
                     ServerMessageType.BUY_RESERVED_MINE_RESPONSE,
                     userMessage.getContextId().toString());
             messenger.addMessageToSend(connectionHashCode, errorResponse);
         }
     }
 
-    private void validateData(DataDTO dataDTO, Database database) throws UserTurnException, CardDoesntExistException, UserDoesntExistException, UserNotAMemberException, GameNotStartedException, InvalidUUIDException {
+    private void validateData(DataDTO dataDTO, Database database) throws UserTurnException, CardDoesntExistException, UserDoesntExistException, UserNotAMemberException, GameNotStartedException, InvalidUUIDException, NotEnoughTokensException {
         // Check if user's UUID matches the pattern
         if (!Regex.UUID_PATTERN.matches(dataDTO.userDTO.uuid.toString()))
             throw new InvalidUUIDException("Invalid UUID format.");
@@ -254,7 +249,12 @@ public class BuyReservedMine extends Reaction {
             throw new CardDoesntExistException("Couldn't find a card with given UUID.");
 
         // Check if the card is available
-        if (!user.isCardReserved(card))
+        int index = user.getReservedCards().indexOf(card);
+        if (index < 0)
             throw new CardDoesntExistException("The card is not in the reserved deck.");
+
+        // Check if user can afford the card
+        if (!room.getGame().legalActions(user).canBuyReserved(index))
+            throw new NotEnoughTokensException("You don't have enough tokens to buy this card");
     }
 }
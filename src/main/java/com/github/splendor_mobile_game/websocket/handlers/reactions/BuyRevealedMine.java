@@ -1,9 +1,6 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 
@@ -11,9 +8,11 @@ import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.enums.CardTier;
 import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.exceptions.NotEnoughTokensException;
 import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
@@ -25,6 +24,7 @@ import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.*;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
 /**
@@ -114,7 +114,7 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("BUY_REVEALED_MINE")
 public class BuyRevealedMine extends Reaction {
 
-    public BuyRevealedMine(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public BuyRevealedMine(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -227,17 +227,13 @@ public class BuyRevealedMine extends Reaction {
             Room room = database.getRoomWithUser(buyer.getUuid());
             Game game = room.getGame();
 
-            Map<TokenType, Integer> tokens = new HashMap<>();
-            for(TokenType tokenType : EnumSet.allOf(TokenType.class)){
-                tokens.put(tokenType,buyer.getTokenCount(tokenType));
-            }
+            TokenVector tokensPaid = buyer.getTokens();
             
             buyer.buyCard(boughtCard);
 
             //Return tokens to table
-            for(TokenType tokenType : EnumSet.allOf(TokenType.class)){
-                game.addTokens(tokenType, tokens.get(tokenType)-buyer.getTokenCount(tokenType));
-            }
+            tokensPaid.subtract(buyer.getTokens());
+            game.addTokens(tokensPaid);
             
             Card cardDrawn = game.takeCardFromRevealed(boughtCard);
   
@@ -289,9 +285,7 @@ public class BuyRevealedMine extends Reaction {
                 responseData
             );
 
-            for(User player : players){
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);        
-            }
+            messenger.broadcast(players, serverMessage);
             buyer.setPerformedAction(true);
 
 
@@ -299,6 +293,7 @@ public class BuyRevealedMine extends Reaction {
             ErrorResponse errorResponse = new ErrorResponse(
                 Result.FAILURE, 
                 e.getMessage(), 
+                ErrorCodes.ofException(e), 
                 ServerMessageType.BUY_REVEALED_MINE_RESPONSE, 
                 userMessage.getContextId().toString()
             );
@@ -306,7 +301,7 @@ public class BuyRevealedMine extends Reaction {
         }
     }
 
-    private void validateData(DataDTO dataDTO,Database database) throws UserTurnException, CardDoesntExistException, RoomInGameException, UserDoesntExistException, InvalidUUIDException, UserNotAMemberException {
+    private void validateData(DataDTO dataDTO,Database database) throws UserTurnException, CardDoesntExistException, RoomInGameException, UserDoesntExistException, InvalidUUIDException, UserNotAMemberException, NotEnoughTokensException {
         // Check if user's UUID matches the pattern
         if (!Regex.UUID_PATTERN.matches(dataDTO.userDTO.uuid.toString()))
             throw new InvalidUUIDException("Invalid UUID format.");
@@ -347,9 +342,14 @@ public class BuyRevealedMine extends Reaction {
 
 
         //Check if the card is avaiable
-        if(!game.isCardRevealed(card.getUuid())){
+        int slot = game.getRevealedSlot(card);
+        if(slot < 0){
             throw new CardDoesntExistException("The card is not in the revealed deck");
 
         }
+
+        //Check if user can afford the card
+        if (!game.legalActions(player).canBuyRevealed(card.getCardTier(), slot))
+            throw new NotEnoughTokensException("You don't have enough tokens to buy this card");
     }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ import com.github.splendor_mobile_game.websocket.handlers.ReactionName;
 import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
 // TODO: This whole class can be unit tested
@@ -96,7 +97,7 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("CREATE_ROOM")
 public class CreateRoom extends Reaction {
 
-    public CreateRoom(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public CreateRoom(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -217,7 +218,7 @@ public class CreateRoom extends Reaction {
             messenger.addMessageToSend(this.connectionHashCode, serverMessage);
 
         } catch (Exception e) {
-            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.CREATE_ROOM_RESPONSE, userMessage.getContextId().toString());
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ErrorCodes.ofException(e), ServerMessageType.CREATE_ROOM_RESPONSE, userMessage.getContextId().toString());
             messenger.addMessageToSend(connectionHashCode, errorResponse);
         }
     }
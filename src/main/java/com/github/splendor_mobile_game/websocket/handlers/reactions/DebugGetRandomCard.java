@@ -1,6 +1,6 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
-import java.util.ArrayList;
+import java.util.List;
 
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.enums.CardTier;
@@ -26,7 +26,7 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 @ReactionName("DEBUG_GET_RANDOM_CARD")
 public class DebugGetRandomCard extends Reaction {
 
-    public DebugGetRandomCard(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public DebugGetRandomCard(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -35,10 +35,7 @@ public class DebugGetRandomCard extends Reaction {
         // Get some card from the database
         // Card card = database.getRandomCard();
 
-        database.loadCards();
-        database.getSpecifiedCards(CardTier.LEVEL_1);
-        database.getSpecifiedCards(CardTier.LEVEL_2);
-        ArrayList<Card> ar1 = database.getSpecifiedCards(CardTier.LEVEL_3);
+        List<Card> ar1 = database.getSpecifiedCards(CardTier.LEVEL_3);
 
         for(Card c : ar1) {
             System.out.println(c);
@@ -5,7 +5,6 @@ import java.util.Collections;
 import java.util.UUID;
 
 import com.github.splendor_mobile_game.game.enums.Regex;
-import com.github.splendor_mobile_game.game.exceptions.CanPerformAnActionException;
 import com.github.splendor_mobile_game.game.model.Noble;
 
 import com.github.splendor_mobile_game.database.Database;
@@ -19,6 +18,7 @@ import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.*;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
@@ -117,7 +117,7 @@ import com.github.splendor_mobile_game.game.model.Room;
 @ReactionName("END_TURN")
 public class EndTurn extends Reaction {
 
-    public EndTurn(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public EndTurn(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -185,22 +185,20 @@ public class EndTurn extends Reaction {
         try {
             validateData(dataDTO, database);
 
-            User user = database.getUserByConnectionHashCode(connectionHashCode);
-            Room room = database.getRoomWithUser(user.getUuid());
+            User user = getConnectedUser();
+            Room room = getConnectedRoom();
             Game game = room.getGame();
 
 
             // Check if user did some action. If not, inform others that he didn't do anything this round.
             if (!user.hasPerformedAction()) {
 
-                try {
-                    // Check if user can perform any action. If he can, then catch an exception
-                    game.canPerformAnyAction(user);
-
-                } catch (CanPerformAnActionException ex) {
+                // Check if user can perform any action. If he can, he mustn't skip his turn
+                String possibleAction = game.findPossibleAction(user);
+                if (possibleAction != null) {
                     ErrorResponse errorResponse = new ErrorResponse(
                             Result.FAILURE,
-                            ex.getMessage(),
+                            possibleAction,
                             ServerMessageType.END_TURN_RESPONSE,
                             userMessage.getContextId().toString());
                     messenger.addMessageToSend(connectionHashCode, errorResponse);
@@ -218,8 +216,7 @@ public class EndTurn extends Reaction {
                        Result.OK,
                         responseData);
 
-                for (User u : room.getAllUsers())
-                    messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
+                messenger.broadcast(room.getAllUsers(), serverMessage);
 
                 return;  // Rest of the code shouldn't be checked, because user's points are not able to change if he didn't perform any action.
             }
@@ -238,8 +235,7 @@ public class EndTurn extends Reaction {
                             Result.OK,
                             responseData);
 
-                    for (User u : room.getAllUsers())
-                        messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
+                    messenger.broadcast(room.getAllUsers(), serverMessage);
 
                     break; // Only one noble might be taken during one round
                 }
@@ -274,7 +270,7 @@ public class EndTurn extends Reaction {
                     ServerMessageType.END_GAME_ANNOUNCEMENT, 
                     Result.OK, 
                     responseData);
-                database.deleteRoom(room);
+                database.removeRoom(room);
 
 
             } else {
@@ -290,14 +286,14 @@ public class EndTurn extends Reaction {
 
             }
 
-            for (User u : room.getAllUsers())
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
+            messenger.broadcast(room.getAllUsers(), serverMessage);
 
 
         } catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(
                 Result.FAILURE,
                 e.getMessage(),
+                ErrorCodes.ofException(e),
                 ServerMessageType.END_TURN_RESPONSE,
                 userMessage.getContextId().toString());
                 messenger.addMessageToSend(connectionHashCode, errorResponse);
@@ -305,7 +301,7 @@ public class EndTurn extends Reaction {
     }
 
 
-    private void validateData(DataDTO dataDTO, Database database) throws UserDoesntExistException, UserTurnException, InvalidUUIDException, UserNotAMemberException, GameNotStartedException {
+    private void validateData(DataDTO dataDTO, Database database) throws UserDoesntExistException, UserTurnException, InvalidUUIDException, UserNotAMemberException, GameNotStartedException, PerrmissionDeniedExeption {
         // Check if user's UUID matches the pattern
         if (!Regex.UUID_PATTERN.matches(dataDTO.userUuid.toString()))
             throw new InvalidUUIDException("Invalid UUID format.");
@@ -315,8 +311,11 @@ public class EndTurn extends Reaction {
         // Check if user exists
         if (user == null) throw new UserDoesntExistException("Couldn't find a user with given UUID.");
 
+        // Check if the turn is ended by the user of this connection, the one the reaction acts on
+        if (user != getConnectedUser()) throw new PerrmissionDeniedExeption("You can't end another player's turn.");
+
 
-        Room room = database.getRoomWithUser(user.getUuid());
+        Room room = getConnectedRoom();
         // Check if room exists
         if (room == null) throw new UserNotAMemberException("You are not a member of any room!");
 
@@ -2,7 +2,6 @@ package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.game.enums.Regex;
-import com.github.splendor_mobile_game.game.exceptions.CanPerformAnActionException;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Noble;
 import com.github.splendor_mobile_game.game.model.Room;
@@ -13,6 +12,7 @@ import com.github.splendor_mobile_game.websocket.handlers.*;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.*;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -84,7 +84,7 @@ import java.util.UUID;
 @ReactionName("END_TURN_TEST")
 public class EndTurnTest extends Reaction {
 
-    public EndTurnTest(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public EndTurnTest(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -150,8 +150,8 @@ public class EndTurnTest extends Reaction {
         DataDTO dataDTO = (DataDTO) userMessage.getData();
 
         try {
-            User user = database.getUserByConnectionHashCode(connectionHashCode);
-            Room room = database.getRoomWithUser(user.getUuid());
+            User user = getConnectedUser();
+            Room room = getConnectedRoom();
             Game game = room.getGame();
             ServerMessage serverMessage;
 
@@ -172,14 +172,14 @@ public class EndTurnTest extends Reaction {
 
 
 
-            for (User u : room.getAllUsers())
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
+            messenger.broadcast(room.getAllUsers(), serverMessage);
 
 
         } catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(
                 Result.FAILURE,
                 e.getMessage(),
+                ErrorCodes.ofException(e),
                 ServerMessageType.END_TURN_RESPONSE,
                 userMessage.getContextId().toString());
                 messenger.addMessageToSend(connectionHashCode, errorResponse);
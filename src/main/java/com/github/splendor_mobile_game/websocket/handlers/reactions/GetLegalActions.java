@@ -0,0 +1,209 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.game.LegalActions;
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.Regex;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Card;
+import com.github.splendor_mobile_game.game.model.Game;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.DataClass;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.github.splendor_mobile_game.websocket.handlers.Reaction;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionName;
+import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.*;
+import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
+import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
+
+/**
+ * Player sends this request in their turn to get a hint of every action they can perform, e.g. to highlight
+ * the cards they can buy. The actions are found by {@link Game#legalActions(User)}, the same rules the other
+ * reactions validate the requests with. The server responds only to the requester.
+ *
+ * Example of user request
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "GET_LEGAL_ACTIONS",
+ *      "data": {
+ *          "userUuid": "6850e6c1-6f1d-48c6-a412-52b39225ded7"
+ *      }
+ * }
+ *
+ * Example of server response
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "GET_LEGAL_ACTIONS_RESPONSE",
+ *      "result": "OK",
+ *      "data": {
+ *          "userUuid": "6850e6c1-6f1d-48c6-a412-52b39225ded7",
+ *          "buyableCards": ["59913c86-bc7e-44a4-ad8e-2ffadd574df3"],
+ *          "reservableCards": ["59913c86-bc7e-44a4-ad8e-2ffadd574df3", "921ff7d7-12ff-4a63-b162-d6a9ed98e6f4"],
+ *          "reservableDeckTiers": [1, 2, 3],
+ *          "tokenChoices": [
+ *              {"ruby": 1, "sapphire": 1, "emerald": 1, "diamond": 0, "onyx": 0},
+ *              {"ruby": 0, "sapphire": 0, "emerald": 0, "diamond": 2, "onyx": 0}
+ *          ],
+ *          "canEndTurnWithoutAction": false
+ *      }
+ * }
+ *
+ * The cards are listed by their UUIDs, the buyable cards include the reserved ones. The token choices don't include
+ * the tokens the player would have to return when holding more than 10 of them.
+ *
+ * In case of an invalid request the server responds with the error. For example
+ * {
+ *      "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e03",
+ *      "type": "GET_LEGAL_ACTIONS_RESPONSE",
+ *      "result": "FAILURE",
+ *      "data": {
+ *          "error": "It's not your turn."
+ *      }
+ * }
+ */
+@ReactionName("GET_LEGAL_ACTIONS")
+public class GetLegalActions extends Reaction {
+
+    public GetLegalActions(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+        super(connectionHashCode, userMessage, messenger, database);
+    }
+
+    @DataClass
+    public static class DataDTO {
+        public UUID userUuid;
+
+        public DataDTO(UUID userUuid) {
+            this.userUuid = userUuid;
+        }
+    }
+
+    public static class ResponseData {
+        public UUID userUuid;
+        public List<UUID> buyableCards;
+        public List<UUID> reservableCards;
+        public List<Integer> reservableDeckTiers;
+        public List<GetTokens.TokensChangeDTO> tokenChoices;
+        public boolean canEndTurnWithoutAction;
+
+        public ResponseData(UUID userUuid, List<UUID> buyableCards, List<UUID> reservableCards, List<Integer> reservableDeckTiers,
+                            List<GetTokens.TokensChangeDTO> tokenChoices, boolean canEndTurnWithoutAction) {
+            this.userUuid = userUuid;
+            this.buyableCards = buyableCards;
+            this.reservableCards = reservableCards;
+            this.reservableDeckTiers = reservableDeckTiers;
+            this.tokenChoices = tokenChoices;
+            this.canEndTurnWithoutAction = canEndTurnWithoutAction;
+        }
+    }
+
+    @Override
+    public void react() {
+        DataDTO dataDTO = (DataDTO) userMessage.getData();
+
+        try {
+            validateData(dataDTO, database);
+
+            User user = getConnectedUser();
+            Game game = getConnectedRoom().getGame();
+            LegalActions actions = game.legalActions(user);
+
+            List<UUID> buyableCards = new ArrayList<>();
+            List<UUID> reservableCards = new ArrayList<>();
+            List<Integer> reservableDeckTiers = new ArrayList<>();
+            for (CardTier tier : CardTier.values()) {
+                List<Card> revealed = game.getRevealedCards(tier);
+                for (int slot = 0; slot < revealed.size(); slot++) {
+                    if (actions.canBuyRevealed(tier, slot)) buyableCards.add(revealed.get(slot).getUuid());
+                    if (actions.canReserveRevealed(tier, slot)) reservableCards.add(revealed.get(slot).getUuid());
+                }
+                if (actions.canReserveFromDeck(tier)) reservableDeckTiers.add(tier.ordinal() + 1);
+            }
+            for (int i = 0; i < user.getReservedCards().size(); i++) {
+                if (actions.canBuyReserved(i)) buyableCards.add(user.getReservedCards().get(i).getUuid());
+            }
+
+            ResponseData responseData = new ResponseData(
+                user.getUuid(),
+                buyableCards,
+                reservableCards,
+                reservableDeckTiers,
+                createTokenChoices(actions),
+                actions.isEmpty()
+            );
+
+            ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.GET_LEGAL_ACTIONS_RESPONSE, Result.OK, responseData);
+            messenger.addMessageToSend(connectionHashCode, serverMessage);
+        } catch (Exception e) {
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ErrorCodes.ofException(e), ServerMessageType.GET_LEGAL_ACTIONS_RESPONSE, userMessage.getContextId().toString());
+            messenger.addMessageToSend(connectionHashCode, errorResponse);
+        }
+    }
+
+    private static List<GetTokens.TokensChangeDTO> createTokenChoices(LegalActions actions) {
+        List<GetTokens.TokensChangeDTO> choices = new ArrayList<>();
+
+        // Bit `colors` of the mask stands for taking one token of each color whose ordinal is a bit of `colors`
+        int differentColors = actions.getTakeDifferentColors();
+        for (int colors = 1; colors < Integer.SIZE; colors++) {
+            if ((differentColors & (1 << colors)) != 0) choices.add(createTokens(colors, 1));
+        }
+
+        int twoOfColor = actions.getTakeTwoOfColor();
+        for (TokenType type : TokenType.values()) {
+            if ((twoOfColor & (1 << type.ordinal())) != 0) choices.add(createTokens(1 << type.ordinal(), 2));
+        }
+
+        return choices;
+    }
+
+    private static GetTokens.TokensChangeDTO createTokens(int colors, int count) {
+        return new GetTokens.TokensChangeDTO(
+            (colors & (1 << TokenType.RUBY.ordinal())) != 0 ? count : 0,
+            (colors & (1 << TokenType.SAPPHIRE.ordinal())) != 0 ? count : 0,
+            (colors & (1 << TokenType.EMERALD.ordinal())) != 0 ? count : 0,
+            (colors & (1 << TokenType.DIAMOND.ordinal())) != 0 ? count : 0,
+            (colors & (1 << TokenType.ONYX.ordinal())) != 0 ? count : 0
+        );
+    }
+
+    private void validateData(DataDTO dataDTO, Database database) throws InvalidUUIDException, UserDoesntExistException, UserNotAMemberException, GameNotStartedException, UserTurnException, PerrmissionDeniedExeption {
+        // Check if user's UUID matches the pattern
+        if (!Regex.UUID_PATTERN.matches(dataDTO.userUuid.toString()))
+            throw new InvalidUUIDException("Invalid UUID format.");
+
+        User user = database.getUser(dataDTO.userUuid);
+        // Check if user exists
+        if (user == null)
+            throw new UserDoesntExistException("Couldn't find a user with given UUID.");
+
+        // Check if the actions are asked for by the user of this connection, computing them refreshes the game's masks
+        if (user != getConnectedUser())
+            throw new PerrmissionDeniedExeption("You can't ask for the actions of another player.");
+
+        Room room = getConnectedRoom();
+        // Check if room exists
+        if (room == null)
+            throw new UserNotAMemberException("You are not a member of any room!");
+
+        // Check if game is running
+        if (room.getGame() == null)
+            throw new GameNotStartedException("Game hasn't started yet.");
+
+        // Check if it is user's turn
+        if (room.getCurrentPlayer() != user)
+            throw new UserTurnException("It's not your turn.");
+
+        if (user.hasPerformedAction())
+            throw new UserTurnException("You have already performed an action.");
+    }
+
+}
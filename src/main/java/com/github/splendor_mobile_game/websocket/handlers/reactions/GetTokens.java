@@ -1,8 +1,6 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.TooManyListenersException;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -13,6 +11,7 @@ import com.github.splendor_mobile_game.game.enums.Color;
 import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
@@ -32,6 +31,7 @@ import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserNotFoun
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.WrongTokenChoiceException;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
 /**
@@ -155,7 +155,7 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("GET_TOKENS")
 public class GetTokens extends Reaction {
 
-    public GetTokens(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public GetTokens(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -201,19 +201,21 @@ public class GetTokens extends Reaction {
         DataDTO dataDTO = (DataDTO) userMessage.getData();
        
         try {
-            Map<TokenType, Integer> tokensTaken = new HashMap<TokenType, Integer>();
-            tokensTaken.put(TokenType.RUBY, dataDTO.tokensTakenDTO.ruby);
-            tokensTaken.put(TokenType.SAPPHIRE, dataDTO.tokensTakenDTO.sapphire);
-            tokensTaken.put(TokenType.EMERALD, dataDTO.tokensTakenDTO.emerald);
-            tokensTaken.put(TokenType.DIAMOND, dataDTO.tokensTakenDTO.diamond);
-            tokensTaken.put(TokenType.ONYX, dataDTO.tokensTakenDTO.onyx);
-
-            Map<TokenType, Integer> tokensReturned = new HashMap<TokenType, Integer>();
-            tokensReturned.put(TokenType.RUBY, Math.abs(dataDTO.tokensReturnedDTO.ruby));
-            tokensReturned.put(TokenType.SAPPHIRE, Math.abs(dataDTO.tokensReturnedDTO.sapphire));
-            tokensReturned.put(TokenType.EMERALD, Math.abs(dataDTO.tokensReturnedDTO.emerald));
-            tokensReturned.put(TokenType.DIAMOND, Math.abs(dataDTO.tokensReturnedDTO.diamond));
-            tokensReturned.put(TokenType.ONYX, Math.abs(dataDTO.tokensReturnedDTO.onyx));
+            TokenVector tokensTaken = TokenVector.ofGems(
+                dataDTO.tokensTakenDTO.emerald,
+                dataDTO.tokensTakenDTO.sapphire,
+                dataDTO.tokensTakenDTO.ruby,
+                dataDTO.tokensTakenDTO.diamond,
+                dataDTO.tokensTakenDTO.onyx
+            );
+
+            TokenVector tokensReturned = TokenVector.ofGems(
+                Math.abs(dataDTO.tokensReturnedDTO.emerald),
+                Math.abs(dataDTO.tokensReturnedDTO.sapphire),
+                Math.abs(dataDTO.tokensReturnedDTO.ruby),
+                Math.abs(dataDTO.tokensReturnedDTO.diamond),
+                Math.abs(dataDTO.tokensReturnedDTO.onyx)
+            );
 
             validateData(dataDTO, database, tokensTaken, tokensReturned);
             
@@ -227,17 +229,15 @@ public class GetTokens extends Reaction {
 
             ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.GET_TOKENS_RESPONSE, Result.OK, responseData);
             
-            for (User u : room.getAllUsers()) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(room.getAllUsers(), serverMessage);
         } catch (Exception e) {
             Log.ERROR(e.getMessage());
-            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.GET_TOKENS_RESPONSE, userMessage.getContextId().toString());
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ErrorCodes.ofException(e), ServerMessageType.GET_TOKENS_RESPONSE, userMessage.getContextId().toString());
             messenger.addMessageToSend(this.connectionHashCode, errorResponse);
         }
     }
 
-    private void validateData(DataDTO dataDTO, Database database, Map<TokenType, Integer> tokensTaken, Map<TokenType, Integer> tokensReturned) throws RoomDoesntExistException, TooManyTokensException, TooManyReturnedTokensException, WrongTokenChoiceException, InvalidUUIDException, NotThisUserTurnException, GameNotStartedException {
+    private void validateData(DataDTO dataDTO, Database database, TokenVector tokensTaken, TokenVector tokensReturned) throws RoomDoesntExistException, TooManyTokensException, TooManyReturnedTokensException, WrongTokenChoiceException, InvalidUUIDException, NotThisUserTurnException, GameNotStartedException {
         if(database.getUser(dataDTO.userUuid) == null) throw new InvalidUUIDException("User with this UUID not found");
         if(database.getRoomWithUser(dataDTO.userUuid) == null) throw new RoomDoesntExistException("This user isn't in any room");
 
@@ -271,106 +271,65 @@ public class GetTokens extends Reaction {
 
     
     //helper functions
-    private boolean mustUserReturnTokens(Room room, User user, Map<TokenType, Integer> tokensTaken) {
-        int tokenSum = user.getTokenCount();
-
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            tokenSum += set.getValue();
-        }
+    private boolean mustUserReturnTokens(Room room, User user, TokenVector tokensTaken) {
+        int tokenSum = user.getTokenCount() + tokensTaken.sum();
 
         if(tokenSum > 10) return true;
         return false;
     }
 
-    private boolean isUserTryingToReturnTokens(Room room, User user, Map<TokenType, Integer> tokensReturned) {
-        for(Map.Entry<TokenType, Integer> set : tokensReturned.entrySet()) {
-            if(set.getValue() > 0) return true;
-        }
-
-        return false;
+    private boolean isUserTryingToReturnTokens(Room room, User user, TokenVector tokensReturned) {
+        // The returned counts are never negative
+        return tokensReturned.sum() > 0;
     }
 
-    private boolean canUserReturnChosenTokens(Room room, User user, Map<TokenType, Integer> tokensReturned) {
-        for(Map.Entry<TokenType, Integer> set : tokensReturned.entrySet()) {
-            if(set.getValue() > user.getTokenCount(set.getKey())) return false;
-        }
-
-        return true;
+    private boolean canUserReturnChosenTokens(Room room, User user, TokenVector tokensReturned) {
+        return user.getTokens().covers(tokensReturned);
     }
 
-    private int finalTokenAmount(Room room, User user, Map<TokenType, Integer> tokensTaken, Map<TokenType, Integer> tokensReturned) {
-        int tokenSum = user.getTokenCount();
-
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            tokenSum += set.getValue();
-        }
-
-        for(Map.Entry<TokenType, Integer> set : tokensReturned.entrySet()) {
-            tokenSum -= set.getValue();
-        }
-
-        return tokenSum;
+    private int finalTokenAmount(Room room, User user, TokenVector tokensTaken, TokenVector tokensReturned) {
+        return user.getTokenCount() + tokensTaken.sum() - tokensReturned.sum();
     }
 
-    private boolean isTokensCombinationRight(Room room, User user, Map<TokenType, Integer> tokensTaken) throws WrongTokenChoiceException {
+    private boolean isTokensCombinationRight(Room room, User user, TokenVector tokensTaken) throws WrongTokenChoiceException {
         ArrayList<TokenType> twoTokenTypes = new ArrayList<TokenType>();
         ArrayList<TokenType> oneTokenTypes = new ArrayList<TokenType>();
 
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            if(set.getValue() > 2){
-                throw new WrongTokenChoiceException(String.format("You've choosen too many %s tokens", set.getKey()));
+        for(TokenType type : TokenType.values()) {
+            if(type == TokenType.GOLD_JOKER) continue;
+            int count = tokensTaken.get(type);
+            if(count > 2){
+                throw new WrongTokenChoiceException(String.format("You've choosen too many %s tokens", type));
             }
-            if(set.getValue() < 0) {
-                throw new WrongTokenChoiceException(String.format("You've choosen not enough %s tokens", set.getKey()));
+            if(count < 0) {
+                throw new WrongTokenChoiceException(String.format("You've choosen not enough %s tokens", type));
             }
-            if(set.getValue() == 2) twoTokenTypes.add(set.getKey());
-            if(set.getValue() == 1) oneTokenTypes.add(set.getKey());
+            if(count == 2) twoTokenTypes.add(type);
+            if(count == 1) oneTokenTypes.add(type);
         }
 
+        if(room.getGame().legalActions(user).canTakeTokens(tokensTaken)) return true;
+
+        // The choice isn't legal, find out why
         if(twoTokenTypes.size() == 1 && oneTokenTypes.size() == 0) {
-            if(room.getGame().getTokenCount(twoTokenTypes.get(0)) >= 4) return true;
-            else throw new WrongTokenChoiceException(String.format("There are not enough %s tokens on the table", twoTokenTypes.get(0)));
+            throw new WrongTokenChoiceException(String.format("There are not enough %s tokens on the table", twoTokenTypes.get(0)));
         }
 
         for (TokenType type : oneTokenTypes) {
             if(room.getGame().getTokenCount(type) <= 0) throw new WrongTokenChoiceException(String.format("There are not enough %s tokens on the table", type));
         }
 
-        if(oneTokenTypes.size() == 3 && twoTokenTypes.size() == 0) return true;
-
-        Map<TokenType, Integer> tokensOnTableAmount = new HashMap<TokenType, Integer>();
-
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            tokensOnTableAmount.put(set.getKey(), room.getGame().getTokenCount(set.getKey()));
-        }
-
-        if(oneTokenTypes.size() == 2 && twoTokenTypes.size() == 0) {
-            for(Map.Entry<TokenType, Integer> set : tokensOnTableAmount.entrySet()) {
-                if(set.getKey() != oneTokenTypes.get(0) && set.getKey() != oneTokenTypes.get(1) && set.getValue() != 0) {
-                    throw new WrongTokenChoiceException("You can take 3x1 tokens");
-                }
-            }
-            return true;
-        }
-
-        if(oneTokenTypes.size() == 1 && twoTokenTypes.size() == 0) {
-            for(Map.Entry<TokenType, Integer> set : tokensOnTableAmount.entrySet()) {
-                if(set.getKey()!= oneTokenTypes.get(0) && set.getValue() != 0) {
-                    throw new WrongTokenChoiceException("You can take 3x1 tokens");
-                }
-            }
-            return true;
+        // Fewer than 3 tokens can be taken only when there are no more colors left on the table
+        if(twoTokenTypes.size() == 0 && (oneTokenTypes.size() == 1 || oneTokenTypes.size() == 2)) {
+            throw new WrongTokenChoiceException("You can take 3x1 tokens");
         }
 
         throw new WrongTokenChoiceException("Your token choice is wrong");
     }
     
-    private void changeTokens(User user, Room room, Map<TokenType, Integer> tokensTaken, Map<TokenType, Integer> tokensReturned) {
-        Map<TokenType, Integer> tokensChange = new HashMap<TokenType, Integer>();
-
-        for(Map.Entry<TokenType, Integer> set : tokensTaken.entrySet()) {
-            tokensChange.put(set.getKey(), set.getValue() - tokensReturned.get(set.getKey()));
-        }
+    private void changeTokens(User user, Room room, TokenVector tokensTaken, TokenVector tokensReturned) {
+        TokenVector tokensChange = tokensTaken.copy();
+        tokensChange.subtract(tokensReturned);
         
         user.changeTokens(tokensChange);
         room.getGame().changeTokens(tokensChange);
@@ -20,6 +20,7 @@ import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.*;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 
 // TODO: This whole class can be unit tested
 
@@ -103,7 +104,7 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 @ReactionName("JOIN_ROOM")
 public class JoinRoom extends Reaction {
 
-    public JoinRoom(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public JoinRoom(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -228,13 +229,11 @@ public class JoinRoom extends Reaction {
             ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.JOIN_ROOM_RESPONSE, Result.OK, responseData);
             
             // Send join information to all players
-            for (User u : room.getAllUsers()) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(room.getAllUsers(), serverMessage);
 
         } catch(Exception e) {
 
-            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.JOIN_ROOM_RESPONSE, userMessage.getContextId().toString());
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ErrorCodes.ofException(e), ServerMessageType.JOIN_ROOM_RESPONSE, userMessage.getContextId().toString());
             messenger.addMessageToSend(connectionHashCode, errorResponse);
 
         }
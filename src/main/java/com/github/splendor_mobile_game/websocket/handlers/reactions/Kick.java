@@ -18,6 +18,7 @@ import com.github.splendor_mobile_game.websocket.handlers.exceptions.*;
 import com.github.splendor_mobile_game.websocket.handlers.DataClass;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 
 /**
  *
@@ -53,7 +54,7 @@ import com.github.splendor_mobile_game.websocket.response.Result;
 @ReactionName("KICK")
 public class Kick extends Reaction {
 
-    public Kick(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public Kick(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -120,12 +121,11 @@ public class Kick extends Reaction {
                     ServerMessageType.KICK_ANNOUNCEMENT,
                     Result.OK, responseData);
 
-            for (User u : room.getAllUsers()) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(room.getAllUsers(), serverMessage);
 
         } catch (Exception e) {
             ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(),
+                    ErrorCodes.ofException(e),
                     ServerMessageType.KICK_RESPONSE, userMessage.getContextId().toString());
             messenger.addMessageToSend(connectionHashCode, errorResponse);
         }
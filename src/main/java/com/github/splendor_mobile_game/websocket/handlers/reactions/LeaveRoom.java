@@ -20,6 +20,7 @@ import com.github.splendor_mobile_game.websocket.handlers.exceptions.RoomDoesntE
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserNotAMemberException;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -92,7 +93,7 @@ import java.util.regex.Pattern;
 @ReactionName("LEAVE_ROOM")
 public class LeaveRoom extends Reaction{
 
-    public LeaveRoom(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public LeaveRoom(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
 
     }
@@ -158,13 +159,11 @@ public class LeaveRoom extends Reaction{
                 EndTurn.ResponseData responseData = new EndTurn.ResponseData(room.getCurrentPlayer().getUuid());
                 ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.NEW_TURN_ANNOUNCEMENT, Result.OK, responseData);
 
-                for (User u : usersTmp) {         
-                    messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);                      
-                }
+                messenger.broadcast(usersTmp, serverMessage);
             }
 
             room.leaveGame(user);
-            database.getAllUsers().remove(user);
+            database.removeUser(user);
 
             if (room.getPlayerCount()>0)
                 //checking if user who wants to leave room isn't owner, if that's true, setting new owner as another user from list of users
@@ -178,15 +177,13 @@ public class LeaveRoom extends Reaction{
                     messenger.addMessageToSend(this.connectionHashCode, serverMessage);
 
                     //Send information about new room owner to other players
-                    for (User u : usersTmp) {
-                        messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-                    }
+                    messenger.broadcast(usersTmp, serverMessage);
                     
                 }
 
             //If last user wants to leave room, then remove empty room
             if (room.getPlayerCount()==0)
-                database.getAllRooms().remove(room);
+                database.removeRoom(room);
 
             UserDataResponse userDataResponse = new UserDataResponse(dataDTO.userDTO.uuid, user.getName());
             ResponseData responseData = new ResponseData(userDataResponse);
@@ -196,14 +193,12 @@ public class LeaveRoom extends Reaction{
             
 
             //Send leave information to other players
-            for (User u : usersTmp) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(usersTmp, serverMessage);
 
 
         } catch(Exception e) {
 
-            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE,e.getMessage(), ServerMessageType.LEAVE_ROOM_RESPONSE, userMessage.getContextId().toString());
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE,e.getMessage(), ErrorCodes.ofException(e), ServerMessageType.LEAVE_ROOM_RESPONSE, userMessage.getContextId().toString());
             messenger.addMessageToSend(connectionHashCode, errorResponse);
         }     
     }
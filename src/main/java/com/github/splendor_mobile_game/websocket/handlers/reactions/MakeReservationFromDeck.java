@@ -22,6 +22,7 @@ import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.*;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
 /**
@@ -83,7 +84,7 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("MAKE_RESERVATION_FROM_DECK")
 public class MakeReservationFromDeck extends Reaction {
 
-    public MakeReservationFromDeck(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public MakeReservationFromDeck(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -194,12 +195,10 @@ public class MakeReservationFromDeck extends Reaction {
                 responseData
             );
 
-            for(User player : players){
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);        
-            }
+            messenger.broadcast(players, serverMessage);
 
         } catch (Exception e) {
-            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.MAKE_RESERVATION_FROM_DECK_RESPONSE, userMessage.getContextId().toString());
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ErrorCodes.ofException(e), ServerMessageType.MAKE_RESERVATION_FROM_DECK_RESPONSE, userMessage.getContextId().toString());
             messenger.addMessageToSend(connectionHashCode, errorResponse);
         }
     }
@@ -233,13 +232,15 @@ public class MakeReservationFromDeck extends Reaction {
              throw new UserTurnException("It is not your turn!");
 
         
-        // Check reservation count
-        if (user.getReservationCount() >= 3)
-            throw new UserReservationException("You have reached the current reserved cards limit.");
-
-            
-        // Check if user has not maxed tokens
-        if (user.getTokenCount() > 10)
-            throw new TokenCountException("You have reached the maximum token count on hand.");
+        // Check if user can reserve any card, the empty deck is reported when the card is drawn
+        if (game.legalActions(user).getReserveFromDeck() == 0) {
+            // Check reservation count
+            if (user.getReservationCount() >= Game.MAX_RESERVED_CARDS)
+                throw new UserReservationException("You have reached the current reserved cards limit.");
+
+            // Check if user has not maxed tokens
+            if (user.getTokenCount() > Game.MAX_TOKENS)
+                throw new TokenCountException("You have reached the maximum token count on hand.");
+        }
     }
 }
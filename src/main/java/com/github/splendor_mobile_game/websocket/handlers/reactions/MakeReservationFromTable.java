@@ -19,6 +19,7 @@ import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.*;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
 import java.util.ArrayList;
@@ -83,7 +84,7 @@ import java.util.UUID;
 @ReactionName("MAKE_RESERVATION_FROM_TABLE")
 public class MakeReservationFromTable extends Reaction {
 
-    public MakeReservationFromTable(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public MakeReservationFromTable(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -244,15 +245,13 @@ public class MakeReservationFromTable extends Reaction {
                     responseData
             );
 
-            for (User player : players) {
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(players, serverMessage);
 
 
 
 
         } catch (Exception e) {
-            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.MAKE_RESERVATION_FROM_TABLE_RESPONSE, userMessage.getContextId().toString());
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ErrorCodes.ofException(e), ServerMessageType.MAKE_RESERVATION_FROM_TABLE_RESPONSE, userMessage.getContextId().toString());
             messenger.addMessageToSend(connectionHashCode, errorResponse);
         }
 
@@ -288,17 +287,22 @@ public class MakeReservationFromTable extends Reaction {
         if (room.getCurrentPlayer() != user)
             throw new UserTurnException("It is not your turn!");
 
-        // Check reservation count
-        if (user.getReservationCount() >= 3)
-            throw new UserReservationException("You have reached the current reserved cards limit.");
-
-        // Check if card is on table
-        if(!game.isCardRevealed(dataDTO.cardDTO.uuid))
-            throw new CardNotRevealedException("There is no this card on table");
-
-        // Check if user has not maxed tokens
-        if (user.getTokenCount() > 10)
-            throw new TokenCountException("You have reached the maximum token count on hand.");
+        // Check if user can reserve the card
+        Card card = database.getCard(dataDTO.cardDTO.uuid);
+        int slot = card == null ? -1 : game.getRevealedSlot(card);
+        if (slot < 0 || !game.legalActions(user).canReserveRevealed(card.getCardTier(), slot)) {
+            // Check reservation count
+            if (user.getReservationCount() >= Game.MAX_RESERVED_CARDS)
+                throw new UserReservationException("You have reached the current reserved cards limit.");
+
+            // Check if card is on table
+            if (slot < 0)
+                throw new CardNotRevealedException("There is no this card on table");
+
+            // Check if user has not maxed tokens
+            if (user.getTokenCount() > Game.MAX_TOKENS)
+                throw new TokenCountException("You have reached the maximum token count on hand.");
+        }
 
     }
 
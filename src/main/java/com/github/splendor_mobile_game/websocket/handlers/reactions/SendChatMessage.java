@@ -15,6 +15,7 @@ import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserDoesntE
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserNotAMemberException;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 
 import java.util.UUID;
 
@@ -71,7 +72,7 @@ import java.util.UUID;
 @ReactionName("SEND_CHAT_MESSAGE")
 public class SendChatMessage extends Reaction {
 
-    public SendChatMessage(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public SendChatMessage(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -110,12 +111,10 @@ public class SendChatMessage extends Reaction {
             ServerMessage serverMessage = new ServerMessage(userMessage.getContextId(), ServerMessageType.SEND_CHAT_MESSAGE_ANNOUNCEMENT, Result.OK, responseData);
 
             // Send join information to all players
-            for (User u : room.getAllUsers()) {
-                messenger.addMessageToSend(u.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(room.getAllUsers(), serverMessage);
         }
         catch (Exception e) {
-            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.SEND_CHAT_MESSAGE_RESPONSE, userMessage.getContextId().toString());
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ErrorCodes.ofException(e), ServerMessageType.SEND_CHAT_MESSAGE_RESPONSE, userMessage.getContextId().toString());
             messenger.addMessageToSend(connectionHashCode, errorResponse);
         }
     }
@@ -1,6 +1,7 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -11,7 +12,6 @@ import com.github.splendor_mobile_game.game.enums.Color;
 import com.github.splendor_mobile_game.game.enums.Regex;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
-import com.github.splendor_mobile_game.game.model.Deck;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Noble;
 import com.github.splendor_mobile_game.game.model.Room;
@@ -31,6 +31,7 @@ import com.github.splendor_mobile_game.websocket.handlers.exceptions.RoomPlayerC
 import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserDoesntExistException;
 import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
 import com.github.splendor_mobile_game.websocket.response.Result;
+import com.github.splendor_mobile_game.websocket.utils.ErrorCodes;
 import com.github.splendor_mobile_game.websocket.utils.Log;
 
 /**
@@ -275,7 +276,7 @@ import com.github.splendor_mobile_game.websocket.utils.Log;
 @ReactionName("START_GAME")
 public class StartGame extends Reaction {
 
-    public StartGame(int connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
+    public StartGame(long connectionHashCode, UserMessage userMessage, Messenger messenger, Database database) {
         super(connectionHashCode, userMessage, messenger, database);
     }
 
@@ -464,13 +465,11 @@ public class StartGame extends Reaction {
                     Result.OK, 
                     responseData
             );
-            for(User player : players){          
-                messenger.addMessageToSend(player.getConnectionHashCode(), serverMessage);
-            }
+            messenger.broadcast(players, serverMessage);
        
 
         }catch (Exception e) {
-            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ServerMessageType.START_GAME_RESPONSE, userMessage.getContextId().toString());
+            ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, e.getMessage(), ErrorCodes.ofException(e), ServerMessageType.START_GAME_RESPONSE, userMessage.getContextId().toString());
             messenger.addMessageToSend(connectionHashCode, errorResponse);
         }
     }
@@ -520,7 +519,7 @@ public class StartGame extends Reaction {
 
     }
 
-    private ArrayList<MinesCardDataResponse> createMinesCardDataResponses(Deck deck){
+    private ArrayList<MinesCardDataResponse> createMinesCardDataResponses(List<Card> deck){
         ArrayList<MinesCardDataResponse> minesCardsResponses=new ArrayList<>();
         for(Card card : deck){
             minesCardsResponses.add(new MinesCardDataResponse(
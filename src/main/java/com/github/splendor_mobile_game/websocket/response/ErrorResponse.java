@@ -12,8 +12,12 @@ public class ErrorResponse {
     public static class Data {
         public String error;
 
-        Data(String error) {
+        /** The code identifying the failure, null if it has none. */
+        public String code;
+
+        Data(String error, String code) {
             this.error = error;
+            this.code = code;
         }
     }
 
@@ -38,10 +42,22 @@ public class ErrorResponse {
      * @param messageContextId the unique ID of the message context
      */
     public ErrorResponse(Result result, String error, ServerMessageType serverMessageType, String messageContextId) {
+        this(result, error, null, serverMessageType, messageContextId);
+    }
+
+    /**
+     * Initializes a new instance of the ErrorResponse class.
+     * @param result the result of the response
+     * @param error the error message
+     * @param code the code identifying the failure, see {@link com.github.splendor_mobile_game.websocket.utils.ErrorCodes}
+     * @param serverMessageType the type of the response
+     * @param messageContextId the unique ID of the message context
+     */
+    public ErrorResponse(Result result, String error, String code, ServerMessageType serverMessageType, String messageContextId) {
         this.contextId = messageContextId;
         this.type = serverMessageType;
         this.result = result;
-        this.data = new Data(error);
+        this.data = new Data(error, code);
     }
 
     /**
@@ -63,6 +79,16 @@ public class ErrorResponse {
         this(result, error, ServerMessageType.ERROR);
     }
 
+    /**
+     * Initializes a new instance of the ErrorResponse class.
+     * @param result the result of the response
+     * @param error the error message
+     * @param code the code identifying the failure
+     */
+    public ErrorResponse(Result result, String error, String code) {
+        this(result, error, code, ServerMessageType.ERROR, UUID.randomUUID().toString());
+    }
+
     /**
      * Converts the ErrorResponse object to a JSON string.
      * @return the JSON string representation of the object
@@ -7,41 +7,52 @@ import com.github.splendor_mobile_game.websocket.response.Result;
  * Custom exception class that extends RuntimeException.
  * It's used when you don't want many try catches or throws declarations,
  * because there is top level try catch
+ *
+ * It reports the invalid requests back to the client, so like {@link ValidationException}
+ * it doesn't fill in the stack trace. The stack trace of its cause, if any, is kept for the logs.
  */
 public class CustomException extends RuntimeException {
 
     private Result result = Result.FAILURE;
 
     public CustomException() {
+        super(null, null, false, false);
     }
 
     public CustomException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public CustomException(String message, Result result) {
-        super(message);
+        super(message, null, false, false);
         this.result = result;
     }
 
     public CustomException(Throwable cause) {
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, false, false);
     }
 
     public CustomException(Throwable cause, Result result) {
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, false, false);
         this.result = result;
     }
 
     public CustomException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 
     public CustomException(String message, Throwable cause, Result result) {
-        super(message, cause);
+        super(message, cause, false, false);
         this.result = result;
     }
 
+    /**
+     * @return the error code of the failure, see {@link ErrorCodes}
+     */
+    public String getCode() {
+        return ErrorCodes.of(this.getClass());
+    }
+
     @Override
     public String toString() {
         return this.getMessage();
@@ -53,7 +64,7 @@ public class CustomException extends RuntimeException {
      * @return a JSON string representation of an error response object
      */
     public String toJsonResponse() {
-        return (new ErrorResponse(this.result, this.toString())).ToJson();
+        return (new ErrorResponse(this.result, this.toString(), this.getCode())).ToJson();
     }
 
 }
@@ -0,0 +1,67 @@
+package com.github.splendor_mobile_game.websocket.utils;
+
+/**
+ * The error codes identifying the failures reported to the clients. The code is derived from the name
+ * of the exception class, ie. `NotThisUserTurnException` has the code `NOT_THIS_USER_TURN`,
+ * and it's computed once per class.
+ */
+public final class ErrorCodes {
+
+    private static final ClassValue<String> CODES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return toCode(type.getSimpleName());
+        }
+    };
+
+    private ErrorCodes() {
+    }
+
+    /**
+     * @param type the class of the exception
+     * @return the error code of the exception
+     */
+    public static String of(Class<?> type) {
+        return CODES.get(type);
+    }
+
+    /**
+     * @param exception the exception reported to the client
+     * @return the error code of the exception, or null if it isn't a {@link ValidationException} or a {@link CustomException}
+     */
+    public static String ofException(Throwable exception) {
+        if (exception instanceof ValidationException) {
+            return ((ValidationException) exception).getCode();
+        }
+        if (exception instanceof CustomException) {
+            return ((CustomException) exception).getCode();
+        }
+        return null;
+    }
+
+    /**
+     * Converts the name of the exception class to the error code.
+     *
+     * @param className the simple name of the exception class
+     * @return the name without the `Exception` suffix, in upper snake case, the acronyms are kept whole
+     */
+    static String toCode(String className) {
+        String name = className.replaceFirst("Ex(c)?eption$", "");
+        if (name.isEmpty()) {
+            name = className;
+        }
+
+        StringBuilder code = new StringBuilder(name.length() + 8);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            // A word starts with a capital letter, except inside an acronym, ie. `InvalidUUID` is `INVALID_UUID`
+            if (i > 0 && Character.isUpperCase(c) && (!Character.isUpperCase(name.charAt(i - 1))
+                    || (i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1))))) {
+                code.append('_');
+            }
+            code.append(Character.toUpperCase(c));
+        }
+        return code.toString();
+    }
+
+}
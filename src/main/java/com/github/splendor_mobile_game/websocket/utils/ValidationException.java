@@ -0,0 +1,34 @@
+package com.github.splendor_mobile_game.websocket.utils;
+
+/**
+ * The base of the exceptions reporting the requests which break the rules of the game, ie. a move
+ * made out of turn or a room which is already full. They are ordinary answers to the clients, not
+ * server faults, so they don't fill in the stack trace, which would cost more than the validation itself.
+ * Each of them carries the error code derived from its class, see {@link ErrorCodes}.
+ */
+public class ValidationException extends Exception {
+
+    public ValidationException() {
+        super(null, null, false, false);
+    }
+
+    public ValidationException(String message) {
+        super(message, null, false, false);
+    }
+
+    public ValidationException(Throwable cause) {
+        super(cause == null ? null : cause.toString(), cause, false, false);
+    }
+
+    public ValidationException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+
+    /**
+     * @return the error code of the failure
+     */
+    public String getCode() {
+        return ErrorCodes.of(this.getClass());
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.github.splendor_mobile_game.websocket.utils.json;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.github.splendor_mobile_game.websocket.utils.json.exceptions.*;
 import com.google.gson.Gson;
@@ -17,86 +20,165 @@ import com.google.gson.ToNumberPolicy;
  */
 public class JsonParser {
 
+    /** Gson is thread-safe and caches its type adapters, so one instance is shared by all the calls. */
+    private static final Gson GSON = (new GsonBuilder()).setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE).create();
+
+    /** The validation schemas of the classes, built the first time the class is parsed. */
+    private static final ClassValue<Schema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected Schema computeValue(Class<?> clazz) {
+            return new Schema(clazz);
+        }
+    };
+
     /**
      * Parses a JSON string into a Java object of the specified class.
      *
      * @param jsonString the JSON string to parse
      * @param clazz      the class of the Java object to create
      * @param <T>        the type of the Java object to create
-     * 
+     *
      * @return the Java object created from the JSON string
-     * 
+     *
      * @throws JsonParserException      if there is an error parsing the JSON string
      * @throws JsonIsNotValidJsonObject if the JSON string is not a valid JSON object
      * @throws JsonIsNullException     if the JSON string is null or empty
      * @throws JsonMissingFieldException if a required field is missing from the JSON object
      */
     public static <T> T parseJson(String jsonString, Class<T> clazz) throws JsonParserException {
-        Gson gson = (new GsonBuilder()).setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE).create();
-
         // Parse the JSON string into a JsonObject
         JsonObject jsonObject;
         try {
-            jsonObject = gson.fromJson(jsonString, JsonObject.class);
+            jsonObject = GSON.fromJson(jsonString, JsonObject.class);
         } catch (JsonSyntaxException e) {
             throw new JsonIsNotValidJsonObject("Received string is not valid json object <= " + e.getMessage(), e);
         }
 
-        checkJsonObject(jsonObject, clazz);
+        return parseJson(jsonObject, clazz);
+    }
+
+    /**
+     * Binds an already parsed JSON element to a Java object of the specified class.
+     * The same checks as for the JSON string are performed, but the element isn't parsed again.
+     *
+     * @param jsonElement the JSON element to bind, it has to be a JSON object
+     * @param clazz       the class of the Java object to create
+     * @param <T>         the type of the Java object to create
+     *
+     * @return the Java object created from the JSON element
+     *
+     * @throws JsonParserException      if the JSON element cannot be bound to the class
+     * @throws JsonIsNotValidJsonObject if the JSON element is not a JSON object
+     * @throws JsonIsNullException     if the JSON element is null
+     * @throws JsonMissingFieldException if a required field is missing from the JSON object
+     */
+    public static <T> T parseJson(JsonElement jsonElement, Class<T> clazz) throws JsonParserException {
+        if (jsonElement == null || jsonElement.isJsonNull())
+            throw new JsonIsNullException("Provided json string is null or is empty!");
+
+        if (!jsonElement.isJsonObject())
+            throw new JsonIsNotValidJsonObject("Received json is not valid json object");
+
+        JsonObject jsonObject = jsonElement.getAsJsonObject();
+        SCHEMAS.get(clazz).check(jsonObject);
 
         // Parse the JsonObject into an object of the specified class
-        T object = gson.fromJson(jsonObject, clazz);
-        //  gson.fromJson(jsonObject, clazz);
-        return object;
+        return GSON.fromJson(jsonObject, clazz);
     }
 
-    private static void checkJsonObject(JsonObject jsonObject, Class<?> clazz) throws JsonParserException {
-        // Check if the JsonObject is null or empty
-        if (jsonObject == null)
-            throw new JsonIsNullException("Provided json string is null or is empty!");
+    /**
+     * Converts the object to its JSON tree using the shared Gson instance.
+     *
+     * @param object the object to convert
+     * @return the JSON tree of the object
+     */
+    public static JsonElement toJsonTree(Object object) {
+        return GSON.toJsonTree(object);
+    }
+
+    /**
+     * The precompiled validation rules of a class: its required fields together with
+     * what they are expected to be. Built once per class from its declared fields.
+     */
+    private static class Schema {
 
-        // Check if all required fields are present in the JsonObject
-        Field[] fields = clazz.getDeclaredFields();
-        StringBuilder stringBuilder = new StringBuilder();
+        private final List<FieldSchema> requiredFields = new ArrayList<>();
 
-        for (Field field : fields) {
-            if (field.getName() == "this$0")
-                continue;
+        Schema(Class<?> clazz) {
+            for (Field field : clazz.getDeclaredFields()) {
+                // Skip the reference to the outer class and the fields which are not serialized by Gson
+                if (field.isSynthetic() || Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()))
+                    continue;
 
-            if (field.isAnnotationPresent(Optional.class))
-                continue;
+                if (field.isAnnotationPresent(Optional.class))
+                    continue;
 
-            if (!jsonObject.has(field.getName())) {
-                stringBuilder.append("Missing required field: " + field.getName() + "\n");
+                this.requiredFields.add(new FieldSchema(field));
             }
 
-            if (field.getType().isArray()) {
-                if (!jsonObject.get(field.getName()).isJsonArray())
-                    throw new JsonParserException("Field `" + field.getName() + "` should be the array");
-                checkJsonArray(jsonObject.get(field.getName()).getAsJsonArray(), field.getType().arrayType());
+            // TODO Semi-Primitive types (ie. UUID)
+            // TODO Enums
+        }
+
+        void check(JsonObject jsonObject) throws JsonParserException {
+            // Check if the JsonObject is null or empty
+            if (jsonObject == null)
+                throw new JsonIsNullException("Provided json string is null or is empty!");
+
+            // Check if all required fields are present in the JsonObject
+            StringBuilder stringBuilder = new StringBuilder();
+
+            for (FieldSchema field : this.requiredFields) {
+                JsonElement value = jsonObject.get(field.name);
+
+                if (value == null) {
+                    stringBuilder.append("Missing required field: " + field.name + "\n");
+                    continue;
+                }
+
+                field.check(value);
             }
 
-            if (field.getType().isPrimitive()) {
-                if (!jsonObject.get(field.getName()).isJsonPrimitive())
-                    throw new JsonParserException("Field `" + field.getName() + "` should be the primitive type of `" + field.getType().getSimpleName() + "`");
-                checkJsonPrimitive(jsonObject.get(field.getName()).getAsJsonPrimitive(), field.getType());
+            if (stringBuilder.length() != 0)
+                throw new JsonMissingFieldException(stringBuilder.toString().strip());
+        }
+
+    }
+
+    /** The validation rules of a single required field. */
+    private static class FieldSchema {
+
+        private final String name;
+        private final Class<?> type;
+
+        FieldSchema(Field field) {
+            this.name = field.getName();
+            this.type = field.getType();
+        }
+
+        void check(JsonElement value) throws JsonParserException {
+            if (this.type.isArray()) {
+                if (!value.isJsonArray())
+                    throw new JsonParserException("Field `" + this.name + "` should be the array");
+                checkJsonArray(value.getAsJsonArray(), this.type.getComponentType());
             }
 
-            // TODO Semi-Primitive types (ie. UUID)
-            // TODO Enums
+            if (this.type.isPrimitive()) {
+                if (!value.isJsonPrimitive())
+                    throw new JsonParserException("Field `" + this.name + "` should be the primitive type of `" + this.type.getSimpleName() + "`");
+                checkJsonPrimitive(value.getAsJsonPrimitive(), this.type);
+            }
         }
 
-        if (stringBuilder.length() != 0)
-            throw new JsonMissingFieldException(stringBuilder.toString().strip());
     }
 
     private static void checkJsonArray(JsonArray jsonArray, Class<?> clazz) throws JsonParserException {
         for (JsonElement e : jsonArray) {
             if (e.isJsonNull()) {
                 throw new JsonIsNullException("Provided json string is null or is empty!");
-            }  
+            }
             else if (e.isJsonObject()) {
-                checkJsonObject(e.getAsJsonObject(), clazz);
+                SCHEMAS.get(clazz).check(e.getAsJsonObject());
             }
             else if (e.isJsonPrimitive()) {
                 checkJsonPrimitive(e.getAsJsonPrimitive(), clazz);
@@ -106,7 +188,7 @@ public class JsonParser {
 
     private static void checkJsonPrimitive(JsonPrimitive jsonPrimitive, Class<?> clazz) throws JsonParserException {
         try {
-            (new Gson()).fromJson(jsonPrimitive, clazz);
+            GSON.fromJson(jsonPrimitive, clazz);
         } catch (Exception e) {
             throw new JsonParserException("Cannot convert value `" + jsonPrimitive.getAsString() + "` to " + clazz.getSimpleName() + ". Cause: " + e.getMessage());
         }
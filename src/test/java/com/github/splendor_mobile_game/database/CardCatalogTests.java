@@ -0,0 +1,55 @@
+package com.github.splendor_mobile_game.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Card;
+
+public class CardCatalogTests {
+
+    @Test
+    public void standardCatalogIsSharedTest() {
+        assertSame(CardCatalog.standard(), CardCatalog.standard());
+        assertSame(CardCatalog.standard(), new InMemoryDatabase().getCardCatalog());
+        assertEquals(90, CardCatalog.standard().size());
+        assertEquals(10, NobleCatalog.standard().size());
+    }
+
+    @Test
+    public void cardsAreFoundByIdAndUuidTest() {
+        CardCatalog catalog = CardCatalog.standard();
+        for (Card card : catalog.getAll()) {
+            assertSame(card, catalog.get(card.getCardID()));
+            assertSame(card, catalog.get(card.getUuid()));
+        }
+        assertNull(catalog.get(-1));
+        assertNull(catalog.get(1000));
+    }
+
+    @Test
+    public void cardsAreSplitByTierTest() {
+        CardCatalog catalog = CardCatalog.standard();
+        int count = 0;
+        for (CardTier tier : CardTier.values()) {
+            List<Card> cards = catalog.getCards(tier);
+            assertTrue(cards.stream().allMatch(card -> card.getCardTier() == tier));
+            assertThrows(UnsupportedOperationException.class, () -> cards.remove(0));
+            count += cards.size();
+        }
+        assertEquals(catalog.size(), count);
+    }
+
+    @Test
+    public void duplicateIdsAreRejectedTest() {
+        Card first = new Card(CardTier.LEVEL_1, 0, 0, 0, 0, 0, 0, TokenType.EMERALD, 3);
+        Card second = new Card(CardTier.LEVEL_2, 0, 0, 0, 0, 0, 0, TokenType.RUBY, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> new CardCatalog(List.of(first, second)));
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.github.splendor_mobile_game.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.UserAlreadyInRoomException;
+
+public class InMemoryDatabaseTests {
+
+    private Database database;
+    private User owner;
+    private Room room;
+
+    @BeforeEach
+    public void setUp() {
+        this.database = new InMemoryDatabase();
+        this.owner = new User(UUID.randomUUID(), "James", 1);
+        this.room = new Room(UUID.randomUUID(), "Room", "password", this.owner, this.database);
+        this.database.addUser(this.owner);
+        this.database.addRoom(this.room);
+    }
+
+    @Test
+    public void lookupsUseIndexesTest() {
+        assertSame(this.owner, this.database.getUser(this.owner.getUuid()));
+        assertSame(this.owner, this.database.getUserByConnectionHashCode(1));
+        assertSame(this.room, this.database.getRoom(this.room.getUuid()));
+        assertSame(this.room, this.database.getRoom(this.room.getEnterCode()));
+        assertSame(this.room, this.database.getRoomWithUser(this.owner.getUuid()));
+    }
+
+    @Test
+    public void membershipChangesUpdateIndexTest() {
+        User user = new User(UUID.randomUUID(), "Jacob", 2);
+        this.database.addUser(user);
+        assertNull(this.database.getRoomWithUser(user.getUuid()));
+
+        this.room.joinGame(user);
+        assertSame(this.room, this.database.getRoomWithUser(user.getUuid()));
+        assertThrows(UserAlreadyInRoomException.class, () -> this.database.isUserInRoom(user.getUuid()));
+
+        this.room.leaveGame(user);
+        assertNull(this.database.getRoomWithUser(user.getUuid()));
+        assertDoesNotThrow(() -> this.database.isUserInRoom(user.getUuid()));
+    }
+
+    @Test
+    public void usersJoiningBeforeRoomIsAddedAreIndexedTest() {
+        User user = new User(UUID.randomUUID(), "Jacob", 2);
+        Room otherRoom = new Room(UUID.randomUUID(), "Other room", "password", user, this.database);
+        this.database.addUser(user);
+        assertNull(this.database.getRoomWithUser(user.getUuid()));
+
+        this.database.addRoom(otherRoom);
+        assertSame(otherRoom, this.database.getRoomWithUser(user.getUuid()));
+    }
+
+    @Test
+    public void removeRoomClearsIndexesTest() {
+        this.database.removeRoom(this.room);
+
+        assertNull(this.database.getRoom(this.room.getUuid()));
+        assertNull(this.database.getRoom(this.room.getEnterCode()));
+        assertNull(this.database.getRoomWithUser(this.owner.getUuid()));
+        assertTrue(this.database.getAllRooms().isEmpty());
+    }
+
+    @Test
+    public void removeUserClearsIndexesTest() {
+        this.database.removeUser(this.owner);
+
+        assertNull(this.database.getUser(this.owner.getUuid()));
+        assertNull(this.database.getUserByConnectionHashCode(1));
+        assertNull(this.database.getRoomWithUser(this.owner.getUuid()));
+        assertTrue(this.database.getAllUsers().isEmpty());
+    }
+
+    @Test
+    public void listingsAreSnapshotsTest() {
+        List<User> users = this.database.getAllUsers();
+        this.database.addUser(new User(UUID.randomUUID(), "Jacob", 2));
+
+        assertEquals(1, users.size());
+        assertEquals(2, this.database.getAllUsers().size());
+        assertThrows(UnsupportedOperationException.class, () -> users.remove(0));
+    }
+
+    @Test
+    public void concurrentChangesKeepIndexesConsistentTest() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 400; i++) {
+            long connection = 100 + i;
+            executor.execute(() -> {
+                User user = new User(UUID.randomUUID(), "Player", connection);
+                Room room = new Room(UUID.randomUUID(), "Room", "password", user, this.database);
+                this.database.addUser(user);
+                this.database.addRoom(room);
+                if (connection % 2 == 0) {
+                    this.database.removeRoom(room);
+                    this.database.removeUser(user);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(201, this.database.getAllUsers().size());
+        assertEquals(201, this.database.getAllRooms().size());
+        for (Room room : this.database.getAllRooms()) {
+            assertSame(room, this.database.getRoom(room.getEnterCode()));
+            assertSame(room, this.database.getRoomWithUser(room.getOwner().getUuid()));
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.github.splendor_mobile_game.game;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.enums.CardTier;
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import com.github.splendor_mobile_game.game.model.Game;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
+import com.github.splendor_mobile_game.game.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LegalActionsTests {
+
+    @Test
+    public void threeDifferentColorsTest() {
+        TokenVector table = TokenVector.ofGems(4, 4, 4, 4, 4);
+        LegalActions actions = new LegalActions(LegalActions.takeDifferentColors(table), LegalActions.takeTwoOfColor(table), 0, 0, 0, 0);
+
+        // Every choice of 3 out of 5 colors
+        assertEquals(10, Integer.bitCount(actions.getTakeDifferentColors()));
+        assertEquals(5, Integer.bitCount(actions.getTakeTwoOfColor()));
+
+        assertTrue(actions.canTakeTokens(TokenVector.ofGems(1, 1, 1, 0, 0)));
+        assertTrue(actions.canTakeTokens(TokenVector.ofGems(0, 0, 2, 0, 0)));
+        assertFalse(actions.canTakeTokens(TokenVector.ofGems(1, 1, 0, 0, 0)));
+        assertFalse(actions.canTakeTokens(TokenVector.ofGems(1, 1, 1, 1, 0)));
+        assertFalse(actions.canTakeTokens(TokenVector.ofGems(2, 1, 0, 0, 0)));
+        assertFalse(actions.canTakeTokens(TokenVector.ofGems(2, 2, 0, 0, 0)));
+        assertFalse(actions.canTakeTokens(TokenVector.ofGems(3, 0, 0, 0, 0)));
+        assertFalse(actions.canTakeTokens(new TokenVector()));
+    }
+
+    @Test
+    public void fewColorsLeftTest() {
+        TokenVector table = TokenVector.ofGems(0, 3, 0, 1, 0);
+        LegalActions actions = new LegalActions(LegalActions.takeDifferentColors(table), LegalActions.takeTwoOfColor(table), 0, 0, 0, 0);
+
+        assertEquals(LegalActions.colorsBit(TokenType.SAPPHIRE, TokenType.DIAMOND), actions.getTakeDifferentColors());
+        assertEquals(0, actions.getTakeTwoOfColor());
+
+        assertTrue(actions.canTakeTokens(TokenVector.ofGems(0, 1, 0, 1, 0)));
+        assertFalse(actions.canTakeTokens(TokenVector.ofGems(0, 1, 0, 0, 0)));
+        assertFalse(actions.canTakeTokens(TokenVector.ofGems(0, 2, 0, 0, 0)));
+        assertFalse(actions.canTakeTokens(TokenVector.ofGems(1, 1, 0, 1, 0)));
+    }
+
+    @Test
+    public void noTokensLeftTest() {
+        TokenVector table = new TokenVector();
+        table.set(TokenType.GOLD_JOKER, 5);
+        LegalActions actions = new LegalActions(LegalActions.takeDifferentColors(table), LegalActions.takeTwoOfColor(table), 0, 0, 0, 0);
+
+        assertFalse(actions.canTakeAnyTokens());
+        assertTrue(actions.isEmpty());
+    }
+
+    @Test
+    public void gameLegalActionsTest() {
+        Database database = new InMemoryDatabase();
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, database);
+        room.joinGame(joiner);
+        database.addUser(owner);
+        database.addUser(joiner);
+        database.addRoom(room);
+
+        room.startGame();
+        Game game = room.getGame();
+
+        LegalActions actions = game.legalActions(owner);
+        assertFalse(actions.isEmpty());
+        assertEquals(0, actions.getBuyRevealed());
+        assertEquals(0, actions.getBuyReserved());
+        for (CardTier tier : CardTier.values()) {
+            assertTrue(actions.canReserveFromDeck(tier));
+            for (int slot = 0; slot < Game.REVEALED_CARDS_PER_TIER; slot++) {
+                assertTrue(actions.canReserveRevealed(tier, slot));
+            }
+        }
+        assertTrue(actions.canTakeTokens(TokenVector.ofGems(0, 0, 0, 2, 0)));
+
+        // Every card of tier 1 costs at most 4 tokens of each color
+        TokenVector tokens = TokenVector.ofGems(4, 4, 4, 4, 4);
+        owner.changeTokens(tokens);
+        actions = game.legalActions(owner);
+        for (int slot = 0; slot < Game.REVEALED_CARDS_PER_TIER; slot++) {
+            assertTrue(actions.canBuyRevealed(CardTier.LEVEL_1, slot));
+        }
+
+        // Too many tokens to reserve a card
+        assertEquals(0, actions.getReserveRevealed());
+        assertEquals(0, actions.getReserveFromDeck());
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.splendor_mobile_game.game.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.CardCatalog;
+import com.github.splendor_mobile_game.game.enums.CardTier;
+
+public class DeckTests {
+
+    @Test
+    public void deckDrawsEveryCardOfTierOnceTest() {
+        CardCatalog catalog = CardCatalog.standard();
+        Deck deck = new Deck(CardTier.LEVEL_2, catalog, new Random());
+        int size = catalog.getCards(CardTier.LEVEL_2).size();
+        assertEquals(size, deck.size());
+
+        Set<Card> drawn = new HashSet<>();
+        Card card;
+        while ((card = deck.draw()) != null) {
+            assertEquals(CardTier.LEVEL_2, card.getCardTier());
+            assertTrue(drawn.add(card));
+        }
+
+        assertEquals(size, drawn.size());
+        assertTrue(deck.isEmpty());
+        assertEquals(0, deck.size());
+        assertNull(deck.draw());
+    }
+
+    @Test
+    public void sameSeedGivesSameOrderTest() {
+        Deck first = new Deck(CardTier.LEVEL_1, CardCatalog.standard(), new Random(42));
+        Deck second = new Deck(CardTier.LEVEL_1, CardCatalog.standard(), new Random(42));
+
+        while (!first.isEmpty()) {
+            assertSame(first.draw(), second.draw());
+        }
+        assertTrue(second.isEmpty());
+    }
+
+}
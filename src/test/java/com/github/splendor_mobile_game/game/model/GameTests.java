@@ -10,6 +10,7 @@ import com.github.splendor_mobile_game.websocket.handlers.exceptions.CardDoesntE
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -237,4 +238,161 @@ public class GameTests {
         assertEquals(1, game.getUserRanking(owner.getUuid()));
         assertEquals(2, game.getUserRanking(joiner.getUuid()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void stateDeltaOfReservationFromTableTest() throws CardDoesntExistException {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(joiner);
+
+        this.database.addUser(owner);
+        this.database.addUser(joiner);
+        this.database.addRoom(room);
+
+        room.startGame();
+        Game game = room.getGame();
+        assertNull(game.takeStateDelta());
+
+        Card card = game.getRevealedCards(CardTier.LEVEL_2).get(0);
+        game.reserveCardFromTable(card, owner);
+
+        GameStateDelta delta = game.takeStateDelta();
+        assertEquals(1, delta.version);
+        assertEquals(1, game.getStateVersion());
+
+        GameStateChange.CardReserved reserved = (GameStateChange.CardReserved) delta.changes.stream()
+            .filter(change -> change.type == GameStateChange.ChangeType.CARD_RESERVED).findFirst().orElseThrow();
+        assertEquals(owner.getUuid(), reserved.userUuid);
+        assertEquals(card.getUuid(), reserved.cardUuid);
+
+        GameStateChange.RevealedCardReplaced replaced = (GameStateChange.RevealedCardReplaced) delta.changes.stream()
+            .filter(change -> change.type == GameStateChange.ChangeType.REVEALED_CARD_REPLACED).findFirst().orElseThrow();
+        assertEquals(CardTier.LEVEL_2, replaced.tier);
+        assertEquals(card.getUuid(), replaced.removedCardUuid);
+
+        // The delta is taken only once
+        assertNull(game.takeStateDelta());
+    }
+
+    @Test
+    public void stateDeltaKeepsOnlyLatestTokensTest() {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(joiner);
+
+        this.database.addUser(owner);
+        this.database.addUser(joiner);
+        this.database.addRoom(room);
+
+        room.startGame();
+        Game game = room.getGame();
+
+        game.addTokens(TokenType.RUBY, -1);
+        game.addTokens(TokenType.RUBY, -1);
+
+        GameStateDelta delta = game.takeStateDelta();
+        assertEquals(1, delta.changes.size());
+
+        GameStateChange.TokensChanged tokens = (GameStateChange.TokensChanged) delta.changes.get(0);
+        assertNull(tokens.userUuid);
+        assertEquals(2, tokens.tokens.get(TokenType.RUBY));
+
+        game.addTokens(TokenType.RUBY, 1);
+        assertEquals(2, game.takeStateDelta().version);
+    }
+
+    @Test
+    public void affordabilityMasksFollowTheGameTest() throws CardDoesntExistException, NotEnoughTokensException {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(joiner);
+
+        this.database.addUser(owner);
+        this.database.addUser(joiner);
+        this.database.addRoom(room);
+
+        room.startGame();
+        Game game = room.getGame();
+        assertMasks(game, owner);
+        assertMasks(game, joiner);
+
+        Map<TokenType, Integer> tokens = new HashMap<>();
+        for (TokenType type : TokenType.values()) {
+            if (type == TokenType.GOLD_JOKER) continue;
+            tokens.put(type, 4);
+        }
+        owner.changeTokens(tokens);
+        // Every card of tier 1 costs at most 4 tokens of each color
+        assertNotEquals(0, owner.getAffordableRevealedMask());
+        assertMasks(game, owner);
+
+        game.reserveCardFromTable(game.getRevealedCards(CardTier.LEVEL_3).get(0), owner);
+        assertMasks(game, owner);
+        assertMasks(game, joiner);
+
+        Card card = game.getRevealedCards(CardTier.LEVEL_1).get(Integer.numberOfTrailingZeros(owner.getAffordableRevealedMask()));
+        owner.buyCard(card);
+        game.takeCardFromRevealed(card);
+        assertMasks(game, owner);
+        assertMasks(game, joiner);
+    }
+
+    @Test
+    public void staleMasksAreRecomputedTest() throws Exception {
+        User owner = new User(UUID.randomUUID(), "OWNER", 100000);
+        User joiner = new User(UUID.randomUUID(), "JOINER", 100001);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(joiner);
+
+        this.database.addUser(owner);
+        this.database.addUser(joiner);
+        this.database.addRoom(room);
+
+        room.startGame();
+        Game game = room.getGame();
+        game.reserveCardFromTable(game.getRevealedCards(CardTier.LEVEL_1).get(0), owner);
+        assertFalse(owner.areMasksStale());
+
+        // Change the tokens behind the game's back, no listener hears about it
+        Field privateTokens = User.class.getDeclaredField("tokens");
+        privateTokens.setAccessible(true);
+        TokenVector tokens = (TokenVector) privateTokens.get(owner);
+        for (TokenType type : TokenType.values()) {
+            if (type != TokenType.GOLD_JOKER) tokens.set(type, 7);
+        }
+        assertTrue(owner.areMasksStale());
+
+        // Every revealed card of tier 1 is affordable now
+        assertNotNull(game.findPossibleAction(owner));
+        assertFalse(owner.areMasksStale());
+        assertNotEquals(0, owner.getAffordableRevealedMask());
+        assertEquals(1, owner.getAffordableReservedMask());
+        assertMasks(game, owner);
+    }
+
+    /** Checks the masks of the user against the affordability of every card and noble. */
+    private static void assertMasks(Game game, User user) {
+        int revealedMask = 0;
+        for (CardTier tier : CardTier.values()) {
+            for (int slot = 0; slot < game.getRevealedCards(tier).size(); slot++) {
+                if (user.canBuyCard(game.getRevealedCards(tier).get(slot))) revealedMask |= Game.revealedSlotBit(tier, slot);
+            }
+        }
+        assertEquals(revealedMask, user.getAffordableRevealedMask());
+
+        int reservedMask = 0;
+        for (int i = 0; i < user.getReservedCards().size(); i++) {
+            if (user.canBuyCard(user.getReservedCards().get(i))) reservedMask |= 1 << i;
+        }
+        assertEquals(reservedMask, user.getAffordableReservedMask());
+
+        int noblesMask = 0;
+        for (int i = 0; i < game.getNobles().size(); i++) {
+            if (user.canTakeNoble(game.getNobles().get(i))) noblesMask |= 1 << i;
+        }
+        assertEquals(noblesMask, user.getEligibleNoblesMask());
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.splendor_mobile_game.game.model;
+
+import com.github.splendor_mobile_game.game.enums.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenVectorTests {
+
+    @Test
+    public void ofGemsTest() {
+        TokenVector vector = TokenVector.ofGems(1, 2, 3, 4, 5);
+
+        assertEquals(1, vector.get(TokenType.EMERALD));
+        assertEquals(2, vector.get(TokenType.SAPPHIRE));
+        assertEquals(3, vector.get(TokenType.RUBY));
+        assertEquals(4, vector.get(TokenType.DIAMOND));
+        assertEquals(5, vector.get(TokenType.ONYX));
+        assertEquals(0, vector.get(TokenType.GOLD_JOKER));
+        assertEquals(15, vector.sum());
+    }
+
+    @Test
+    public void ofMapTest() {
+        TokenVector vector = TokenVector.of(Map.of(TokenType.RUBY, 2, TokenType.GOLD_JOKER, 1));
+
+        assertEquals(2, vector.get(TokenType.RUBY));
+        assertEquals(1, vector.get(TokenType.GOLD_JOKER));
+        assertEquals(0, vector.get(TokenType.ONYX));
+        assertEquals(3, vector.toMap().values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(TokenType.values().length, vector.toMap().size());
+    }
+
+    @Test
+    public void addAndSubtractTest() {
+        TokenVector vector = TokenVector.ofGems(1, 1, 1, 1, 1);
+        vector.add(TokenVector.ofGems(2, 0, -1, 0, 0));
+        vector.add(TokenType.GOLD_JOKER, 2);
+
+        assertEquals(TokenVector.of(Map.of(
+            TokenType.EMERALD, 3, TokenType.SAPPHIRE, 1, TokenType.RUBY, 0,
+            TokenType.DIAMOND, 1, TokenType.ONYX, 1, TokenType.GOLD_JOKER, 2
+        )), vector);
+
+        vector.subtract(TokenVector.ofGems(3, 1, 0, 1, 1));
+        assertEquals(2, vector.sum());
+        assertEquals(2, vector.get(TokenType.GOLD_JOKER));
+    }
+
+    @Test
+    public void copyIsIndependentTest() {
+        TokenVector vector = TokenVector.ofGems(1, 0, 0, 0, 0);
+        TokenVector copy = vector.copy();
+        copy.set(TokenType.EMERALD, 5);
+
+        assertEquals(1, vector.get(TokenType.EMERALD));
+        assertEquals(5, copy.get(TokenType.EMERALD));
+    }
+
+    @Test
+    public void shortfallTest() {
+        TokenVector cost = TokenVector.ofGems(3, 2, 0, 0, 1);
+        TokenVector bonuses = TokenVector.ofGems(1, 0, 2, 0, 0);
+        TokenVector tokens = TokenVector.ofGems(1, 2, 0, 0, 0);
+
+        // Emerald: 3 - 1 - 1 = 1, onyx: 1, the ruby bonus doesn't lower the other costs
+        assertEquals(2, tokens.shortfall(cost, bonuses));
+        assertEquals(0, TokenVector.ofGems(2, 2, 0, 0, 1).shortfall(cost, bonuses));
+    }
+
+    @Test
+    public void payTest() {
+        TokenVector cost = TokenVector.ofGems(3, 2, 0, 0, 1);
+        TokenVector bonuses = TokenVector.ofGems(1, 0, 2, 0, 0);
+        TokenVector tokens = TokenVector.ofGems(1, 3, 4, 0, 0);
+        tokens.set(TokenType.GOLD_JOKER, 2);
+
+        tokens.pay(cost, bonuses);
+
+        assertEquals(0, tokens.get(TokenType.EMERALD));
+        assertEquals(1, tokens.get(TokenType.SAPPHIRE));
+        assertEquals(4, tokens.get(TokenType.RUBY));
+        assertEquals(0, tokens.get(TokenType.ONYX));
+        assertEquals(2, tokens.get(TokenType.GOLD_JOKER));
+    }
+
+    @Test
+    public void coversTest() {
+        TokenVector bonuses = TokenVector.ofGems(3, 3, 0, 1, 0);
+
+        assertTrue(bonuses.covers(TokenVector.ofGems(3, 3, 0, 0, 0)));
+        assertFalse(bonuses.covers(TokenVector.ofGems(0, 0, 0, 4, 0)));
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutgoingPayload;
+
+public class ReplayCacheTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void newRequestIsHandledTest() {
+        ReplayCache cache = new ReplayCache(10, 1000);
+
+        assertNull(cache.begin(UUID.randomUUID(), 0));
+    }
+
+    @Test
+    public void retryIsAnsweredFromCacheTest() {
+        ReplayCache cache = new ReplayCache(10, 1000);
+        UUID contextId = UUID.randomUUID();
+        OutgoingPayload response = new OutgoingPayload("{\"id\":1}");
+
+        assertNull(cache.begin(contextId, 0));
+        cache.complete(contextId, List.of(response), 0);
+
+        ReplayCache.Entry entry = cache.begin(contextId, SECOND / 2);
+        assertNotNull(entry);
+        assertTrue(entry.isCompleted());
+        assertSame(response, entry.getResponses().get(0));
+    }
+
+    @Test
+    public void retryOfRequestInProgressIsDroppedTest() {
+        ReplayCache cache = new ReplayCache(10, 1000);
+        UUID contextId = UUID.randomUUID();
+
+        assertNull(cache.begin(contextId, 0));
+
+        ReplayCache.Entry entry = cache.begin(contextId, 10 * SECOND);
+        assertNotNull(entry);
+        assertFalse(entry.isCompleted());
+    }
+
+    @Test
+    public void abortedRequestIsHandledAgainTest() {
+        ReplayCache cache = new ReplayCache(10, 1000);
+        UUID contextId = UUID.randomUUID();
+
+        assertNull(cache.begin(contextId, 0));
+        cache.abort(contextId);
+
+        assertNull(cache.begin(contextId, 0));
+    }
+
+    @Test
+    public void abortDoesNotForgetCompletedRequestTest() {
+        ReplayCache cache = new ReplayCache(10, 1000);
+        UUID contextId = UUID.randomUUID();
+
+        assertNull(cache.begin(contextId, 0));
+        cache.complete(contextId, List.of(), 0);
+        cache.abort(contextId);
+
+        assertNotNull(cache.begin(contextId, 0));
+    }
+
+    @Test
+    public void responsesExpireTest() {
+        ReplayCache cache = new ReplayCache(10, 1000);
+        UUID contextId = UUID.randomUUID();
+
+        assertNull(cache.begin(contextId, 0));
+        cache.complete(contextId, List.of(), 0);
+
+        assertNull(cache.begin(contextId, 2 * SECOND));
+    }
+
+    @Test
+    public void leastRecentlyUsedRequestIsEvictedTest() {
+        ReplayCache cache = new ReplayCache(2, 1000);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        cache.complete(first, List.of(), 0);
+        cache.complete(second, List.of(), 0);
+
+        // The first request is used again, so the second one is the least recently used
+        assertNotNull(cache.begin(first, 0));
+        cache.complete(third, List.of(), 0);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.begin(first, 0));
+        assertNull(cache.begin(second, 0));
+    }
+
+    @Test
+    public void requestInProgressIsNotEvictedTest() {
+        ReplayCache cache = new ReplayCache(2, 1000);
+        UUID inProgress = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        assertNull(cache.begin(inProgress, 0));
+        cache.complete(second, List.of(), 0);
+        cache.complete(third, List.of(), 0);
+
+        // The least recently used request is still being handled, the completed one after it is evicted instead
+        assertEquals(2, cache.size());
+        assertNull(cache.begin(second, 0));
+
+        ReplayCache.Entry entry = cache.begin(inProgress, 0);
+        assertNotNull(entry);
+        assertFalse(entry.isCompleted());
+    }
+
+    @Test
+    public void disabledCacheHandlesEveryRequestTest() {
+        ReplayCache cache = ReplayCache.disabled();
+        UUID contextId = UUID.randomUUID();
+
+        cache.complete(contextId, List.of(), 0);
+
+        assertNull(cache.begin(contextId, 0));
+        assertNull(cache.begin(contextId, 0));
+        assertEquals(0, cache.size());
+    }
+
+}
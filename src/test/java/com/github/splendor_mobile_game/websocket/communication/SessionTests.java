@@ -0,0 +1,151 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.java_websocket.WebSocket;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutboundLimits;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutboundQueue;
+
+public class SessionTests {
+
+    @Test
+    public void sessionIsAttachedToConnectionTest() {
+        WebSocket connection = createConnection();
+        Session session = new Session(connection, OutboundLimits.unlimited());
+
+        assertSame(session, Session.of(connection));
+        assertSame(session.getOutboundQueue(), OutboundQueue.of(connection));
+        assertSame(connection, session.getConnection());
+    }
+
+    @Test
+    public void sessionsHaveUniqueIdsTest() {
+        Session first = new Session(createConnection(), OutboundLimits.unlimited());
+        Session second = new Session(createConnection(), OutboundLimits.unlimited());
+
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    public void bindFindsUserAndRoomTest() {
+        Database database = new InMemoryDatabase();
+        Session session = new Session(createConnection(), OutboundLimits.unlimited());
+
+        User user = new User(UUID.randomUUID(), "James", session.getId());
+        Room room = new Room(UUID.randomUUID(), "Room", "password", user, database);
+        database.addUser(user);
+        database.addRoom(room);
+
+        assertNull(session.getUser());
+        assertNull(session.getRoom());
+
+        session.bind(database);
+
+        assertSame(user, session.getUser());
+        assertSame(room, session.getRoom());
+        assertEquals(room.getUuid(), session.getRoomUuid());
+    }
+
+    @Test
+    public void roomIsDroppedWhenUserLeavesItTest() {
+        Database database = new InMemoryDatabase();
+        Session ownerSession = new Session(createConnection(), OutboundLimits.unlimited());
+        Session session = new Session(createConnection(), OutboundLimits.unlimited());
+
+        User owner = new User(UUID.randomUUID(), "James", ownerSession.getId());
+        User user = new User(UUID.randomUUID(), "Jacob", session.getId());
+        Room room = new Room(UUID.randomUUID(), "Room", "password", owner, database);
+        room.joinGame(user);
+        database.addUser(owner);
+        database.addUser(user);
+        database.addRoom(room);
+
+        session.bind(database);
+        assertSame(room, session.getRoom());
+
+        // The user has been kicked by the owner
+        room.leaveGame(user);
+
+        assertSame(user, session.getUser());
+        assertNull(session.getRoom());
+
+        // The requests are still routed to the lane of the room, which reports the user isn't in it
+        assertEquals(room.getUuid(), session.getRoomUuid());
+
+        session.unbind();
+        assertNull(session.getRoomUuid());
+    }
+
+    @Test
+    public void dispatchesWaitForRebindingTest() {
+        Session session = new Session(createConnection(), OutboundLimits.unlimited());
+        List<String> submitted = new ArrayList<>();
+
+        session.dispatch(true, () -> submitted.add("join"));
+        session.dispatch(false, () -> submitted.add("start"));
+        session.dispatch(true, () -> submitted.add("leave"));
+        session.dispatch(false, () -> submitted.add("chat"));
+        assertEquals(List.of("join"), submitted);
+
+        // The requests received after the join are routed by the new binding, up to the next one changing it
+        session.finishRebinding();
+        assertEquals(List.of("join", "start", "leave"), submitted);
+
+        session.finishRebinding();
+        assertEquals(List.of("join", "start", "leave", "chat"), submitted);
+
+        session.dispatch(false, () -> submitted.add("end turn"));
+        assertEquals(5, submitted.size());
+    }
+
+    @Test
+    public void rebindingHandledBySubmittingThreadTest() {
+        Session session = new Session(createConnection(), OutboundLimits.unlimited());
+        List<String> submitted = new ArrayList<>();
+
+        // Like the inline executor, the request is handled before the dispatch returns
+        session.dispatch(true, () -> {
+            submitted.add("join");
+            session.finishRebinding();
+        });
+        session.dispatch(false, () -> submitted.add("start"));
+
+        assertEquals(List.of("join", "start"), submitted);
+    }
+
+    /** Creates the connection keeping only its attachment. */
+    private static WebSocket createConnection() {
+        Object[] attachment = new Object[1];
+        return (WebSocket) Proxy.newProxyInstance(
+            SessionTests.class.getClassLoader(),
+            new Class<?>[] { WebSocket.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setAttachment":
+                        attachment[0] = args[0];
+                        return null;
+                    case "getAttachment":
+                        return attachment[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            }
+        );
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.github.splendor_mobile_game.websocket.communication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.java_websocket.WebSocket;
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.limits.InboundLimits;
+import com.github.splendor_mobile_game.websocket.communication.protocol.OutboundLimits;
+import com.github.splendor_mobile_game.websocket.executors.ReactionExecutor;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionBinding;
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
+import com.github.splendor_mobile_game.websocket.handlers.connection.SimpleConnectionChecker;
+import com.github.splendor_mobile_game.websocket.handlers.reactions.EndTurn;
+
+public class WebSocketSplendorServerTests {
+
+    private static final String MESSAGE = """
+            {
+                "contextId": "02442d1b-2095-4aaa-9db1-0dae99d88e00",
+                "type": "END_TURN",
+                "data": {
+                    "userUuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454"
+                }
+            }
+            """;
+
+    @Test
+    public void rejectedRequestIsHandledAgainOnRetryTest() throws Exception {
+        WebSocketSplendorServer server = new WebSocketSplendorServer(
+            new InetSocketAddress(0), Map.of(), SimpleConnectionChecker.class, 1000, 10, new InMemoryDatabase()
+        );
+
+        // The executor is shut down, like during the drain
+        AtomicInteger submissions = new AtomicInteger();
+        setReactionExecutor(server, new ReactionExecutor() {
+            @Override
+            public void execute(UUID roomUuid, Runnable task) {
+                submissions.incrementAndGet();
+                throw new RejectedExecutionException("Shut down");
+            }
+
+            @Override
+            public void shutdown(long timeoutMs) {
+
+            }
+        });
+
+        WebSocket connection = createConnection();
+        Session session = new Session(connection, OutboundLimits.unlimited(), InboundLimits.unlimited(), new ReplayCache(10, 1000));
+
+        server.onMessage(connection, MESSAGE);
+        assertEquals(0, session.getReplayCache().size());
+
+        // The retry isn't mistaken for the request still being handled
+        server.onMessage(connection, MESSAGE);
+        assertEquals(2, submissions.get());
+    }
+
+    @Test
+    public void requestOnBehalfOfAnotherUserIsRejectedTest() throws Exception {
+        InMemoryDatabase database = new InMemoryDatabase();
+        WebSocketSplendorServer server = new WebSocketSplendorServer(
+            new InetSocketAddress(0),
+            Map.of(UserRequestType.END_TURN, new ReactionBinding(UserRequestType.END_TURN, EndTurn.class)),
+            SimpleConnectionChecker.class, 1000, 10, database
+        );
+        setReactionExecutor(server, new ReactionExecutor() {
+            @Override
+            public void execute(UUID roomUuid, Runnable task) {
+                task.run();
+            }
+
+            @Override
+            public void shutdown(long timeoutMs) {
+
+            }
+        });
+
+        List<String> sent = new ArrayList<>();
+        WebSocket connection = createConnection(sent);
+        Session session = new Session(connection, OutboundLimits.unlimited(), InboundLimits.unlimited(), new ReplayCache(10, 1000));
+
+        // The user of the connection plays in one room
+        Room room = createStartedRoom(database, session.getId(), 100000);
+        session.bind(database);
+        assertSame(room, session.getRoom());
+
+        // And names the current player of the other one
+        Room otherRoom = createStartedRoom(database, 100001, 100002);
+        User otherPlayer = otherRoom.getCurrentPlayer();
+        otherPlayer.setPerformedAction(true);
+
+        server.onMessage(connection, MESSAGE.replace("f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454", otherPlayer.getUuid().toString()));
+
+        assertSame(otherPlayer, otherRoom.getCurrentPlayer());
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0).contains("FOREIGN_USER"));
+    }
+
+    /** Creates the room of two players with the given connections and starts its game. */
+    private static Room createStartedRoom(InMemoryDatabase database, long ownerConnection, long joinerConnection) {
+        User owner = new User(UUID.randomUUID(), "OWNER", ownerConnection);
+        User joiner = new User(UUID.randomUUID(), "JOINER", joinerConnection);
+        Room room = new Room(UUID.randomUUID(), "ROOM" + ownerConnection, "PASSWORD", owner, database);
+        room.joinGame(joiner);
+        database.addUser(owner);
+        database.addUser(joiner);
+        database.addRoom(room);
+        room.startGame();
+        return room;
+    }
+
+    private static void setReactionExecutor(WebSocketSplendorServer server, ReactionExecutor executor) throws ReflectiveOperationException {
+        Field field = WebSocketSplendorServer.class.getDeclaredField("reactionExecutor");
+        field.setAccessible(true);
+        field.set(server, executor);
+    }
+
+    /** Creates the connection keeping only its attachment. */
+    private static WebSocket createConnection() {
+        return createConnection(new ArrayList<>());
+    }
+
+    /** Creates the connection keeping only its attachment and the text messages sent to it. */
+    private static WebSocket createConnection(List<String> sent) {
+        Object[] attachment = new Object[1];
+        return (WebSocket) Proxy.newProxyInstance(
+            WebSocketSplendorServerTests.class.getClassLoader(),
+            new Class<?>[] { WebSocket.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setAttachment":
+                        attachment[0] = args[0];
+                        return null;
+                    case "getAttachment":
+                        return attachment[0];
+                    case "send":
+                        if (args[0] instanceof String) {
+                            sent.add((String) args[0]);
+                        }
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            }
+        );
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.github.splendor_mobile_game.websocket.communication.limits;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.websocket.communication.limits.RateLimiter.Decision;
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
+
+public class RateLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void bucketAllowsBurstAndRefillsTest() {
+        TokenBucket bucket = new TokenBucket(new RateLimit(2, 3), 0);
+
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(0));
+
+        // Half a second later a single token is back
+        assertTrue(bucket.tryAcquire(SECOND / 2));
+        assertFalse(bucket.tryAcquire(SECOND / 2));
+
+        // The bucket never holds more than its burst
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryAcquire(100 * SECOND));
+        }
+        assertFalse(bucket.tryAcquire(100 * SECOND));
+    }
+
+    @Test
+    public void rateLimitIsParsedTest() {
+        RateLimit limit = RateLimit.parse(" 5 / 10 ");
+
+        assertEquals(5, limit.getPermitsPerSecond());
+        assertEquals(10, limit.getBurst());
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.parse("5"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.parse("0/10"));
+    }
+
+    @Test
+    public void connectionLimitRejectsFloodTest() {
+        RateLimiter limiter = new RateLimiter(new InboundLimits(new RateLimit(1, 2), Map.of(), 0, 0), 0);
+
+        assertEquals(Decision.ACCEPT, limiter.admitMessage(0));
+        assertEquals(Decision.ACCEPT, limiter.admitMessage(0));
+        assertEquals(Decision.REJECT, limiter.admitMessage(0));
+        assertEquals(1, limiter.getRejectedMessages());
+    }
+
+    @Test
+    public void requestLimitAppliesOnlyToItsTypeTest() {
+        Map<UserRequestType, RateLimit> requestLimits = Map.of(UserRequestType.SEND_CHAT_MESSAGE, new RateLimit(1, 1));
+        RateLimiter limiter = new RateLimiter(new InboundLimits(null, requestLimits, 0, 0), 0);
+
+        assertEquals(Decision.ACCEPT, limiter.admitRequest(UserRequestType.SEND_CHAT_MESSAGE, 0));
+        assertEquals(Decision.REJECT, limiter.admitRequest(UserRequestType.SEND_CHAT_MESSAGE, 0));
+        assertEquals(Decision.ACCEPT, limiter.admitRequest(UserRequestType.END_TURN, 0));
+        assertEquals(Decision.ACCEPT, limiter.admitRequest(UserRequestType.SEND_CHAT_MESSAGE, SECOND));
+    }
+
+    @Test
+    public void rejectionIsReportedOncePerWindowTest() {
+        Map<UserRequestType, RateLimit> requestLimits = Map.of(UserRequestType.SEND_CHAT_MESSAGE, new RateLimit(1, 1));
+        RateLimiter limiter = new RateLimiter(new InboundLimits(null, requestLimits, 0, 0), 0);
+
+        assertEquals(Decision.ACCEPT, limiter.admitRequest(UserRequestType.SEND_CHAT_MESSAGE, 0));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Decision.REJECT, limiter.admitRequest(UserRequestType.SEND_CHAT_MESSAGE, 0));
+            assertEquals(i == 0, limiter.takeRejectionNotice(0));
+        }
+
+        // The next window reports the rejection again
+        long nextWindow = TimeUnit.MINUTES.toNanos(1);
+        assertTrue(limiter.takeRejectionNotice(nextWindow));
+        assertFalse(limiter.takeRejectionNotice(nextWindow));
+    }
+
+    @Test
+    public void repeatedViolationsDisconnectTest() {
+        RateLimiter limiter = new RateLimiter(new InboundLimits(new RateLimit(1, 1), Map.of(), 0, 2), 0);
+
+        assertEquals(Decision.ACCEPT, limiter.admitMessage(0));
+        assertEquals(Decision.REJECT, limiter.admitMessage(0));
+        assertEquals(Decision.REJECT, limiter.admitMessage(0));
+        assertEquals(Decision.DISCONNECT, limiter.admitMessage(0));
+    }
+
+    @Test
+    public void violationsAreForgottenAfterMinuteTest() {
+        RateLimiter limiter = new RateLimiter(new InboundLimits(new RateLimit(1, 1), Map.of(), 0, 1), 0);
+
+        assertEquals(Decision.ACCEPT, limiter.admitMessage(0));
+        assertEquals(Decision.REJECT, limiter.admitMessage(0));
+
+        long nextMinute = TimeUnit.MINUTES.toNanos(1);
+        assertEquals(Decision.ACCEPT, limiter.admitMessage(nextMinute));
+        assertEquals(Decision.REJECT, limiter.admitMessage(nextMinute));
+    }
+
+    @Test
+    public void cpuQuotaRejectsUntilNextMinuteTest() {
+        RateLimiter limiter = new RateLimiter(new InboundLimits(null, Map.of(), 10, 0), 0);
+
+        assertEquals(Decision.ACCEPT, limiter.admitMessage(0));
+        limiter.recordCpuTime(TimeUnit.MILLISECONDS.toNanos(15), 0);
+
+        assertEquals(Decision.REJECT, limiter.admitMessage(SECOND));
+        assertEquals(Decision.ACCEPT, limiter.admitMessage(TimeUnit.MINUTES.toNanos(1)));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(15), limiter.getTotalCpuNanos());
+    }
+
+    @Test
+    public void unlimitedAcceptsEverythingTest() {
+        RateLimiter limiter = new RateLimiter(InboundLimits.unlimited(), 0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Decision.ACCEPT, limiter.admitMessage(0));
+            assertEquals(Decision.ACCEPT, limiter.admitRequest(UserRequestType.SEND_CHAT_MESSAGE, 0));
+        }
+    }
+
+}
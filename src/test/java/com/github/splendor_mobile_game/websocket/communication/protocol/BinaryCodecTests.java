@@ -0,0 +1,146 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.websocket.communication.InvalidReceivedMessage;
+import com.github.splendor_mobile_game.websocket.communication.ServerMessage;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.github.splendor_mobile_game.websocket.handlers.ServerMessageType;
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
+import com.github.splendor_mobile_game.websocket.handlers.reactions.EndTurn;
+import com.github.splendor_mobile_game.websocket.handlers.reactions.GetTokens;
+import com.github.splendor_mobile_game.websocket.response.ErrorResponse;
+import com.github.splendor_mobile_game.websocket.response.Result;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+public class BinaryCodecTests {
+
+    @Test
+    public void userMessageRoundTripTest() {
+        UUID contextId = UUID.fromString("80bdc250-5365-4caf-8dd9-a33e709a0110");
+        JsonElement data = JsonParser.parseString("""
+        {
+            "userUuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454",
+            "tokensTaken": {
+                "ruby": 1,
+                "emerald": -1,
+                "sapphire": 1000000
+            },
+            "name": "Not UUID",
+            "ratio": 0.5,
+            "flags": [true, false, null]
+        }""");
+
+        ByteBuffer encoded = BinaryCodec.encodeUserMessage(contextId, UserRequestType.GET_TOKENS, data);
+        UserMessage decoded = BinaryCodec.decodeUserMessage(encoded);
+
+        assertEquals(contextId, decoded.getContextId());
+        assertEquals(UserRequestType.GET_TOKENS, decoded.getType());
+        assertEquals(data, decoded.getData());
+    }
+
+    @Test
+    public void userMessageDataBindingTest() {
+        UUID contextId = UUID.randomUUID();
+        JsonElement data = JsonParser.parseString("""
+        {
+            "userUuid": "f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454",
+            "tokensTakenDTO": { "ruby": 1, "emerald": 1, "sapphire": 1, "diamond": 0, "onyx": 0 },
+            "tokensReturnedDTO": { "ruby": 0, "emerald": 0, "sapphire": 0, "diamond": 0, "onyx": 0 }
+        }""");
+
+        UserMessage decoded = BinaryCodec.decodeUserMessage(BinaryCodec.encodeUserMessage(contextId, UserRequestType.GET_TOKENS, data));
+        decoded.parseDataToClass(GetTokens.DataDTO.class);
+
+        GetTokens.DataDTO dataDTO = assertInstanceOf(GetTokens.DataDTO.class, decoded.getData());
+        assertEquals(UUID.fromString("f8c3de3d-1fea-4d7c-a8b0-29f63c4c3454"), dataDTO.userUuid);
+        assertEquals(1, dataDTO.tokensTakenDTO.ruby);
+    }
+
+    @Test
+    public void truncatedUserMessageTest() {
+        ByteBuffer encoded = BinaryCodec.encodeUserMessage(UUID.randomUUID(), UserRequestType.CREATE_ROOM, JsonParser.parseString("{\"name\": \"room\"}"));
+        ByteBuffer truncated = ByteBuffer.wrap(encoded.array(), 0, encoded.limit() - 3);
+
+        assertThrows(InvalidReceivedMessage.class, () -> BinaryCodec.decodeUserMessage(truncated));
+    }
+
+    @Test
+    public void deeplyNestedUserMessageTest() {
+        // Every level is an array of a single element, 2 bytes each
+        int levels = 200000;
+        ByteBuffer nested = ByteBuffer.allocate(16 + 1 + 2 * levels + 1);
+        nested.putLong(0).putLong(0);
+        nested.put((byte) UserRequestType.GET_TOKENS.ordinal());
+        for (int i = 0; i < levels; i++) {
+            nested.put((byte) 7).put((byte) 1);
+        }
+        nested.put((byte) 0);
+        nested.flip();
+
+        assertThrows(InvalidReceivedMessage.class, () -> BinaryCodec.decodeUserMessage(nested));
+    }
+
+    @Test
+    public void serverMessageRoundTripTest() {
+        EndTurn.ResponseData responseData = new EndTurn.ResponseData(UUID.randomUUID());
+        ServerMessage serverMessage = new ServerMessage(UUID.randomUUID(), ServerMessageType.NEW_TURN_ANNOUNCEMENT, Result.OK, responseData);
+        OutgoingPayload payload = Messenger.toPayload(serverMessage);
+
+        JsonElement expected = JsonParser.parseString(payload.getJson());
+        JsonElement actual = BinaryCodec.decodeServerMessage(payload.getBinary());
+
+        assertEquals(expected, actual);
+        assertTrue(payload.getBinary().remaining() < payload.getJson().length());
+    }
+
+    @Test
+    public void enumOrdinalsArePinnedTest() {
+        // The binary clients decode the types by their ordinals, new types may only be appended
+        String[] serverMessageTypes = {
+            "ERROR", "UNKNOWN", "CREATE_ROOM_RESPONSE", "JOIN_ROOM_RESPONSE",
+            "MAKE_RESERVATION_FROM_DECK_RESPONSE", "MAKE_RESERVATION_FROM_DECK_ANNOUNCEMENT",
+            "MAKE_RESERVATION_FROM_TABLE_RESPONSE", "MAKE_RESERVATION_FROM_TABLE_ANNOUNCEMENT",
+            "START_GAME_RESPONSE", "DEBUG_GET_RANDOM_CARD_RESPONSE",
+            "BUY_REVEALED_MINE_RESPONSE", "BUY_REVEALED_MINE_ANNOUNCEMENT",
+            "BUY_RESERVED_MINE_RESPONSE", "BUY_RESERVED_MINE_ANNOUNCEMENT",
+            "LEAVE_ROOM_RESPONSE", "NEW_ROOM_OWNER", "KICK_ANNOUNCEMENT", "KICK_RESPONSE",
+            "NEW_TURN_ANNOUNCEMENT", "END_TURN_RESPONSE", "GET_TOKENS_RESPONSE",
+            "NOBLE_RECEIVED_ANNOUNCEMENT", "END_GAME_ANNOUNCEMENT",
+            "SEND_CHAT_MESSAGE_ANNOUNCEMENT", "SEND_CHAT_MESSAGE_RESPONSE",
+            "GAME_STATE_DELTA", "GET_LEGAL_ACTIONS_RESPONSE"
+        };
+        for (int i = 0; i < serverMessageTypes.length; i++) {
+            assertEquals(i, ServerMessageType.valueOf(serverMessageTypes[i]).ordinal(), serverMessageTypes[i]);
+        }
+
+        String[] userRequestTypes = {
+            "CREATE_ROOM", "JOIN_ROOM", "MAKE_RESERVATION_FROM_DECK", "MAKE_RESERVATION_FROM_TABLE",
+            "START_GAME", "DEBUG_GET_RANDOM_CARD", "END_TURN_TEST", "LEAVE_ROOM", "GET_TOKENS",
+            "END_TURN", "BUY_REVEALED_MINE", "BUY_RESERVED_MINE", "SEND_CHAT_MESSAGE", "KICK",
+            "GET_LEGAL_ACTIONS"
+        };
+        for (int i = 0; i < userRequestTypes.length; i++) {
+            assertEquals(i, UserRequestType.valueOf(userRequestTypes[i]).ordinal(), userRequestTypes[i]);
+        }
+    }
+
+    @Test
+    public void errorResponseRoundTripTest() {
+        ErrorResponse errorResponse = new ErrorResponse(Result.FAILURE, "Your token choice is wrong", ServerMessageType.GET_TOKENS_RESPONSE, UUID.randomUUID().toString());
+        OutgoingPayload payload = new OutgoingPayload(errorResponse.ToJson());
+
+        JsonElement expected = JsonParser.parseString(errorResponse.ToJson());
+        JsonElement actual = BinaryCodec.decodeServerMessage(payload.getBinary());
+
+        assertEquals(expected, actual);
+    }
+
+}
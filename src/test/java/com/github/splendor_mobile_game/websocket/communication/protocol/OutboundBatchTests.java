@@ -0,0 +1,116 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.framing.Framedata;
+import org.java_websocket.protocols.Protocol;
+import org.junit.jupiter.api.Test;
+
+public class OutboundBatchTests {
+
+    /** The frames passed to each `sendFrame` call of the connection. */
+    private static class RecordedWrites {
+        final List<List<Framedata>> writes = new ArrayList<>();
+    }
+
+    @Test
+    public void messagesForSameReceiverAreWrittenTogetherTest() {
+        RecordedWrites writes = new RecordedWrites();
+        WebSocket receiver = createConnection(WireProtocol.JSON, writes);
+
+        OutboundBatch batch = new OutboundBatch();
+        batch.add(receiver, new OutgoingPayload("{\"id\":1}"));
+        batch.add(receiver, new OutgoingPayload("{\"id\":2}"));
+        batch.flush();
+
+        assertEquals(1, writes.writes.size());
+        assertEquals(2, writes.writes.get(0).size());
+        assertEquals("{\"id\":1}", textOf(writes.writes.get(0).get(0)));
+        assertEquals("{\"id\":2}", textOf(writes.writes.get(0).get(1)));
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void batchClientGetsJsonArrayTest() {
+        RecordedWrites writes = new RecordedWrites();
+        WebSocket receiver = createConnection(WireProtocol.JSON_BATCH, writes);
+
+        OutboundBatch batch = new OutboundBatch();
+        batch.add(receiver, new OutgoingPayload("{\"id\":1}"));
+        batch.add(receiver, new OutgoingPayload("{\"id\":2}"));
+        batch.flush();
+
+        assertEquals(1, writes.writes.size());
+        assertEquals(1, writes.writes.get(0).size());
+        assertEquals("[{\"id\":1},{\"id\":2}]", textOf(writes.writes.get(0).get(0)));
+    }
+
+    @Test
+    public void batchClientGetsSingleMessageAsItIsTest() {
+        RecordedWrites writes = new RecordedWrites();
+        WebSocket receiver = createConnection(WireProtocol.JSON_BATCH, writes);
+
+        OutboundBatch batch = new OutboundBatch();
+        batch.add(receiver, new OutgoingPayload("{\"id\":1}"));
+        batch.flush();
+
+        assertEquals("{\"id\":1}", textOf(writes.writes.get(0).get(0)));
+    }
+
+    @Test
+    public void sharedPayloadIsEncodedOnceTest() {
+        RecordedWrites firstWrites = new RecordedWrites();
+        RecordedWrites secondWrites = new RecordedWrites();
+        WebSocket first = createConnection(WireProtocol.JSON, firstWrites);
+        WebSocket second = createConnection(WireProtocol.JSON, secondWrites);
+
+        OutgoingPayload payload = new OutgoingPayload("{\"id\":1}");
+        OutboundBatch batch = new OutboundBatch();
+        batch.add(first, payload);
+        batch.add(second, payload);
+        batch.flush();
+
+        assertSame(firstWrites.writes.get(0).get(0), secondWrites.writes.get(0).get(0));
+    }
+
+    private static String textOf(Framedata frame) {
+        return StandardCharsets.UTF_8.decode(frame.getPayloadData().duplicate()).toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static WebSocket createConnection(WireProtocol wireProtocol, RecordedWrites writes) {
+        Protocol protocol = new Protocol(wireProtocol.getProtocolName());
+        Draft_6455 draft = new Draft_6455(List.of(), List.of(protocol));
+
+        return (WebSocket) Proxy.newProxyInstance(
+            WebSocket.class.getClassLoader(),
+            new Class<?>[] { WebSocket.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getDraft":
+                        return draft;
+                    case "getProtocol":
+                        return protocol;
+                    case "sendFrame":
+                        writes.writes.add(new ArrayList<>((Collection<Framedata>) args[0]));
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return null;
+                }
+            }
+        );
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.WebSocketListener;
+import org.java_websocket.drafts.Draft_6455;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class OutboundQueueTests {
+
+    private WebSocketImpl connection;
+
+    private OutboundQueue queue;
+
+    @BeforeEach
+    public void setup() {
+        WebSocketListener listener = (WebSocketListener) Proxy.newProxyInstance(
+            WebSocketListener.class.getClassLoader(),
+            new Class<?>[] { WebSocketListener.class },
+            (proxy, method, args) -> null
+        );
+
+        this.connection = new WebSocketImpl(listener, new Draft_6455());
+        this.queue = new OutboundQueue(this.connection, new OutboundLimits(100, 10));
+    }
+
+    @Test
+    public void messagesAreAdmittedBelowLimitsTest() {
+        List<OutgoingPayload> payloads = List.of(chat(), delta(1), response());
+
+        assertEquals(payloads, this.queue.admit(payloads));
+        assertFalse(this.queue.isSlowConsumer());
+    }
+
+    @Test
+    public void slowConsumerDropsChatAndHoldsDeltasTest() {
+        this.fillOutQueue(150);
+
+        OutgoingPayload response = response();
+        List<OutgoingPayload> admitted = this.queue.admit(List.of(chat(), delta(1), response, delta(2)));
+
+        assertEquals(List.of(response), admitted);
+        assertTrue(this.queue.isSlowConsumer());
+        assertEquals(1, this.queue.getDroppedMessages());
+        assertEquals(150, this.queue.getQueuedBytes());
+    }
+
+    @Test
+    public void heldDeltasAreMergedWhenQueueDrainsTest() {
+        this.fillOutQueue(150);
+        this.queue.admit(List.of(delta(1), delta(2), delta(3)));
+
+        this.connection.outQueue.clear();
+        OutgoingPayload response = response();
+        List<OutgoingPayload> admitted = this.queue.admit(List.of(response));
+
+        assertFalse(this.queue.isSlowConsumer());
+        assertEquals(2, admitted.size());
+        assertSame(response, admitted.get(1));
+
+        JsonObject data = admitted.get(0).getTree().getAsJsonObject("data");
+        assertEquals(0, data.get("previousVersion").getAsLong());
+        assertEquals(3, data.get("version").getAsLong());
+        assertEquals(3, data.getAsJsonArray("changes").size());
+    }
+
+    @Test
+    public void heldDeltasAreTakenWithoutFurtherPayloadTest() {
+        this.fillOutQueue(150);
+        this.queue.admit(List.of(delta(1), delta(2)));
+
+        // Still a slow consumer, the deltas stay held
+        assertTrue(this.queue.takeHeldDeltas().isEmpty());
+
+        // Nothing else is sent to the connection, but the newest state still gets there
+        this.connection.outQueue.clear();
+        List<OutgoingPayload> taken = this.queue.takeHeldDeltas();
+
+        assertFalse(this.queue.isSlowConsumer());
+        assertEquals(1, taken.size());
+        assertEquals(2, taken.get(0).getTree().getAsJsonObject("data").get("version").getAsLong());
+        assertTrue(this.queue.takeHeldDeltas().isEmpty());
+    }
+
+    @Test
+    public void tooSlowConsumerIsDisconnectedTest() {
+        this.fillOutQueue(250);
+
+        assertTrue(this.queue.admit(List.of(response())).isEmpty());
+    }
+
+    private void fillOutQueue(int bytes) {
+        this.connection.outQueue.add(ByteBuffer.allocate(bytes));
+    }
+
+    private static OutgoingPayload chat() {
+        return payload("{\"contextId\":null,\"type\":\"SEND_CHAT_MESSAGE_ANNOUNCEMENT\",\"result\":\"OK\",\"data\":{}}");
+    }
+
+    private static OutgoingPayload response() {
+        return payload("{\"contextId\":null,\"type\":\"END_TURN_RESPONSE\",\"result\":\"OK\",\"data\":{}}");
+    }
+
+    private static OutgoingPayload delta(long version) {
+        return payload("{\"contextId\":null,\"type\":\"GAME_STATE_DELTA\",\"result\":\"OK\",\"data\":{\"version\":" + version +
+            ",\"previousVersion\":" + (version - 1) + ",\"changes\":[{\"type\":\"NOBLE_TAKEN\"}]}}");
+    }
+
+    private static OutgoingPayload payload(String json) {
+        return new OutgoingPayload(JsonParser.parseString(json).getAsJsonObject());
+    }
+
+}
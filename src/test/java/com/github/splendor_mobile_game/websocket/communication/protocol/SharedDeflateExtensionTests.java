@@ -0,0 +1,76 @@
+package com.github.splendor_mobile_game.websocket.communication.protocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.java_websocket.framing.TextFrame;
+import org.junit.jupiter.api.Test;
+
+public class SharedDeflateExtensionTests {
+
+    private static final String MESSAGE = "{\"type\":\"GAME_STATE\",\"data\":\"" + "ruby,emerald,sapphire,".repeat(100) + "\"}";
+
+    @Test
+    public void frameAboveThresholdIsCompressedTest() throws DataFormatException {
+        SharedDeflateExtension extension = new SharedDeflateExtension(-1, 64);
+        TextFrame frame = createFrame(MESSAGE);
+
+        extension.encodeFrame(frame);
+
+        assertTrue(frame.isRSV1());
+        assertTrue(frame.getPayloadData().remaining() < MESSAGE.length());
+        assertEquals(MESSAGE, inflate(frame.getPayloadData()));
+    }
+
+    @Test
+    public void frameBelowThresholdIsNotCompressedTest() {
+        SharedDeflateExtension extension = new SharedDeflateExtension(-1, 64);
+        TextFrame frame = createFrame("{}");
+
+        extension.encodeFrame(frame);
+
+        assertFalse(frame.isRSV1());
+        assertEquals("{}", StandardCharsets.UTF_8.decode(frame.getPayloadData()).toString());
+    }
+
+    @Test
+    public void sharedFrameIsCompressedOnlyOnceTest() throws DataFormatException {
+        SharedDeflateExtension first = new SharedDeflateExtension(-1, 64);
+        SharedDeflateExtension second = (SharedDeflateExtension) first.copyInstance();
+        TextFrame frame = createFrame(MESSAGE);
+
+        first.encodeFrame(frame);
+        second.encodeFrame(frame);
+
+        assertEquals(64, second.getThreshold());
+        assertEquals(MESSAGE, inflate(frame.getPayloadData()));
+    }
+
+    private static TextFrame createFrame(String text) {
+        TextFrame frame = new TextFrame();
+        frame.setPayload(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+        frame.setFin(true);
+        return frame;
+    }
+
+    /** Inflates the message the way the clients do, with the removed tail appended back. */
+    private static String inflate(ByteBuffer payload) throws DataFormatException {
+        byte[] compressed = new byte[payload.remaining() + 4];
+        payload.duplicate().get(compressed, 0, payload.remaining());
+        compressed[compressed.length - 2] = (byte) 0xFF;
+        compressed[compressed.length - 1] = (byte) 0xFF;
+
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(compressed);
+        byte[] output = new byte[MESSAGE.length() * 2];
+        int length = inflater.inflate(output);
+        inflater.end();
+
+        return new String(output, 0, length, StandardCharsets.UTF_8);
+    }
+
+}
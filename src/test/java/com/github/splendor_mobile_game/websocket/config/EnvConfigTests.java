@@ -2,8 +2,11 @@ package com.github.splendor_mobile_game.websocket.config;
 
 import com.github.splendor_mobile_game.websocket.config.exceptions.EnvFileNotFoundException;
 import com.github.splendor_mobile_game.websocket.config.exceptions.EnvRequiredValueNotFoundException;
+import com.github.splendor_mobile_game.websocket.config.exceptions.EnvValueOutOfRangeException;
 import com.github.splendor_mobile_game.websocket.config.exceptions.EnvValueWrongTypeException;
 import com.github.splendor_mobile_game.websocket.config.exceptions.InvalidConfigException;
+import com.github.splendor_mobile_game.websocket.executors.ReactionExecutorType;
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
 import com.github.splendor_mobile_game.websocket.utils.LogLevel;
 import org.junit.jupiter.api.Test;
 
@@ -143,4 +146,126 @@ public class EnvConfigTests {
             fail(ex.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void defaultCompressionSettingsTest() {
+        try {
+            EnvConfig config = new EnvConfig(this.testEnvConfigsDirectoryPath + "first.env");
+
+            assertTrue(config.isCompressionEnabled());
+            assertEquals(1024, config.getCompressionThresholdBytes());
+            assertEquals(-1, config.getCompressionLevel());
+
+        } catch (InvalidConfigException ex) {
+            fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void customCompressionSettingsTest() {
+        try {
+            EnvConfig config = new EnvConfig(this.testEnvConfigsDirectoryPath + "ninth.env");
+
+            assertFalse(config.isCompressionEnabled());
+            assertEquals(256, config.getCompressionThresholdBytes());
+            assertEquals(6, config.getCompressionLevel());
+
+        } catch (InvalidConfigException ex) {
+            fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void compressionLevelOutOfRangeTest() {
+        String filepath = this.testEnvConfigsDirectoryPath + "tenth.env";
+        assertThrows(EnvValueOutOfRangeException.class, () -> new EnvConfig(filepath));
+    }
+
+    @Test
+    public void defaultOutboundQueueLimitsTest() {
+        try {
+            EnvConfig config = new EnvConfig(this.testEnvConfigsDirectoryPath + "first.env");
+
+            assertEquals(1024 * 1024, config.getOutboundQueueMaxBytes());
+            assertEquals(1000, config.getOutboundQueueMaxMessages());
+
+        } catch (InvalidConfigException ex) {
+            fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void customThreadingSettingsTest() {
+        try {
+            EnvConfig config = new EnvConfig(this.testEnvConfigsDirectoryPath + "ninth.env");
+
+            assertEquals(2, config.getDecoderThreads());
+            assertEquals(8, config.getReactionThreads());
+            assertFalse(config.isTcpNoDelay());
+            assertEquals(128, config.getMaxPendingConnections());
+            assertEquals(ReactionExecutorType.INLINE, config.getReactionExecutorType());
+
+        } catch (InvalidConfigException ex) {
+            fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void negativeThreadCountTest() {
+        String filepath = this.testEnvConfigsDirectoryPath + "eleventh.env";
+        assertThrows(EnvValueOutOfRangeException.class, () -> new EnvConfig(filepath));
+    }
+
+    @Test
+    public void defaultRateLimitsTest() {
+        try {
+            EnvConfig config = new EnvConfig(this.testEnvConfigsDirectoryPath + "first.env");
+
+            assertEquals(20, config.getConnectionRateLimit().getPermitsPerSecond());
+            assertEquals(40, config.getConnectionRateLimit().getBurst());
+            assertEquals(2, config.getRequestRateLimits().get(UserRequestType.SEND_CHAT_MESSAGE).getPermitsPerSecond());
+            assertEquals(3000, config.getCpuQuotaMsPerMinute());
+            assertEquals(100, config.getMaxRateLimitViolationsPerMinute());
+            assertEquals(64, config.getReplayCacheSize());
+            assertEquals(30, config.getReplayCacheTtlSec());
+            assertEquals(30, config.getDrainTimeoutSec());
+
+        } catch (InvalidConfigException ex) {
+            fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void customRateLimitsTest() {
+        try {
+            EnvConfig config = new EnvConfig(this.testEnvConfigsDirectoryPath + "ninth.env");
+
+            assertEquals(10, config.getConnectionRateLimit().getPermitsPerSecond());
+            assertEquals(15, config.getConnectionRateLimit().getBurst());
+            assertEquals(2, config.getRequestRateLimits().size());
+            assertEquals(1, config.getRequestRateLimits().get(UserRequestType.SEND_CHAT_MESSAGE).getPermitsPerSecond());
+            assertEquals(3, config.getRequestRateLimits().get(UserRequestType.SEND_CHAT_MESSAGE).getBurst());
+            assertEquals(1, config.getRequestRateLimits().get(UserRequestType.KICK).getBurst());
+            assertEquals(0, config.getCpuQuotaMsPerMinute());
+            assertEquals(5, config.getMaxRateLimitViolationsPerMinute());
+            assertEquals(0, config.getReplayCacheSize());
+            assertEquals(5, config.getReplayCacheTtlSec());
+            assertEquals(0, config.getDrainTimeoutSec());
+
+        } catch (InvalidConfigException ex) {
+            fail(ex.getMessage());
+        }
+    }
+
+    @Test
+    public void malformedRequestRateLimitsTest() {
+        String filepath = this.testEnvConfigsDirectoryPath + "twelfth.env";
+        assertThrows(EnvValueWrongTypeException.class, () -> new EnvConfig(filepath));
+    }
+
+    @Test
+    public void unknownReactionExecutorTest() {
+        String filepath = this.testEnvConfigsDirectoryPath + "thirteenth.env";
+        assertThrows(EnvValueWrongTypeException.class, () -> new EnvConfig(filepath));
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.splendor_mobile_game.websocket.executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ReactionExecutorTests {
+
+    private static final int TASK_COUNT = 1000;
+
+    @Test
+    public void poolKeepsOrderOfRoomTasksTest() throws InterruptedException {
+        assertOrderKept(new RoomEventLoops(4));
+    }
+
+    @Test
+    public void inlineKeepsOrderOfRoomTasksTest() throws InterruptedException {
+        assertOrderKept(new InlineReactionExecutor(4));
+    }
+
+    @Test
+    public void inlineDefersNestedTasksUntilLockIsReleasedTest() throws InterruptedException {
+        InlineReactionExecutor executor = new InlineReactionExecutor(2);
+        UUID firstRoom = new UUID(0, 0);
+        UUID secondRoom = new UUID(0, 1);
+        assertNotEquals(Math.floorMod(firstRoom.hashCode(), 2), Math.floorMod(secondRoom.hashCode(), 2));
+
+        // Both threads hold the lock of their room when they submit the task of the other one
+        CountDownLatch bothLocked = new CountDownLatch(2);
+        AtomicInteger nestedTasks = new AtomicInteger();
+        Thread first = new Thread(() -> executor.execute(firstRoom, () -> {
+            arriveAndAwait(bothLocked);
+            executor.execute(secondRoom, nestedTasks::incrementAndGet);
+        }));
+        Thread second = new Thread(() -> executor.execute(secondRoom, () -> {
+            arriveAndAwait(bothLocked);
+            executor.execute(firstRoom, nestedTasks::incrementAndGet);
+        }));
+
+        first.start();
+        second.start();
+        first.join(5000);
+        second.join(5000);
+
+        assertFalse(first.isAlive());
+        assertFalse(second.isAlive());
+        assertEquals(2, nestedTasks.get());
+    }
+
+    @Test
+    public void virtualThreadsKeepOrderOfRoomTasksTest() throws InterruptedException {
+        if (!VirtualThreadReactionExecutor.isSupported()) {
+            assertThrows(UnsupportedOperationException.class, VirtualThreadReactionExecutor::new);
+            return;
+        }
+
+        assertOrderKept(new VirtualThreadReactionExecutor());
+    }
+
+    @Test
+    public void autoFallsBackToPoolTest() throws InterruptedException {
+        ReactionExecutor executor = ReactionExecutorType.AUTO.create(2);
+
+        if (VirtualThreadReactionExecutor.isSupported()) {
+            assertTrue(executor instanceof VirtualThreadReactionExecutor);
+        } else {
+            assertTrue(executor instanceof RoomEventLoops);
+        }
+
+        executor.shutdown(1000);
+    }
+
+    private static void arriveAndAwait(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void assertOrderKept(ReactionExecutor executor) throws InterruptedException {
+        UUID firstRoom = UUID.randomUUID();
+        UUID secondRoom = UUID.randomUUID();
+        List<Integer> firstRoomTasks = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> secondRoomTasks = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> lobbyTasks = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < TASK_COUNT; i++) {
+            int task = i;
+            executor.execute(firstRoom, () -> firstRoomTasks.add(task));
+            executor.execute(secondRoom, () -> secondRoomTasks.add(task));
+            executor.execute(null, () -> lobbyTasks.add(task));
+        }
+
+        executor.shutdown(5000);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            expected.add(i);
+        }
+
+        assertEquals(expected, firstRoomTasks);
+        assertEquals(expected, secondRoomTasks);
+        assertEquals(expected, lobbyTasks);
+    }
+
+}
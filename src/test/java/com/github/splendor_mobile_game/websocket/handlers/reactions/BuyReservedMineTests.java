@@ -8,6 +8,7 @@ import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Deck;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
@@ -30,7 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class BuyReservedMineTests {
 
     private Database database;
-    private Map<TokenType, Integer> tokens;
+    private TokenVector tokens;
     private Card cardToBuy;
     private final String messageUuid = "80bdc250-5365-4caf-8dd9-a33e709a0110";
 
@@ -58,7 +60,8 @@ public class BuyReservedMineTests {
                     "type": "BUY_RESERVED_MINE_RESPONSE",
                     "result": "FAILURE",
                     "data": {
-                        "error": "$error"
+                        "error": "$error",
+                        "code": "$code"
                     }
                 }
                 """.replace("$contextUuid", this.messageUuid);
@@ -93,18 +96,18 @@ public class BuyReservedMineTests {
 
             Field privateField = Game.class.getDeclaredField("revealedCards");
             privateField.setAccessible(true);
-            Map<CardTier, Deck> revealedDecks = (HashMap<CardTier, Deck>) privateField.get(game);
+            Map<CardTier, List<Card>> revealedDecks = (HashMap<CardTier, List<Card>>) privateField.get(game);
             cardToBuy = revealedDecks.get(CardTier.LEVEL_1).get(0);
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.EMERALD, cardToBuy.getCost(TokenType.EMERALD) + additionalEmeraldTokens);
-            tokens.put(TokenType.SAPPHIRE, cardToBuy.getCost(TokenType.SAPPHIRE) + additionalSapphireTokens);
-            tokens.put(TokenType.RUBY, cardToBuy.getCost(TokenType.RUBY) + additionalRubyTokens);
-            tokens.put(TokenType.DIAMOND, cardToBuy.getCost(TokenType.DIAMOND) + additionalDiamondTokens);
-            tokens.put(TokenType.ONYX, cardToBuy.getCost(TokenType.ONYX) + additionalOnyxTokens);
+            tokens.set(TokenType.EMERALD, cardToBuy.getCost(TokenType.EMERALD) + additionalEmeraldTokens);
+            tokens.set(TokenType.SAPPHIRE, cardToBuy.getCost(TokenType.SAPPHIRE) + additionalSapphireTokens);
+            tokens.set(TokenType.RUBY, cardToBuy.getCost(TokenType.RUBY) + additionalRubyTokens);
+            tokens.set(TokenType.DIAMOND, cardToBuy.getCost(TokenType.DIAMOND) + additionalDiamondTokens);
+            tokens.set(TokenType.ONYX, cardToBuy.getCost(TokenType.ONYX) + additionalOnyxTokens);
 
             owner.reserveCard(cardToBuy, false);
         }catch (Exception e){
@@ -219,7 +222,8 @@ public class BuyReservedMineTests {
         assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "Couldn't find a user with given UUID.");
+                .replace("$error", "Couldn't find a user with given UUID.")
+                .replace("$code", "USER_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -252,7 +256,8 @@ public class BuyReservedMineTests {
         assertEquals(user.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You are not a member of any room!");
+                .replace("$error", "You are not a member of any room!")
+                .replace("$code", "USER_NOT_A_MEMBER");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -287,7 +292,8 @@ public class BuyReservedMineTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "Game hasn't started yet.");
+                .replace("$error", "Game hasn't started yet.")
+                .replace("$code", "GAME_NOT_STARTED");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -327,7 +333,8 @@ public class BuyReservedMineTests {
         assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "It's not your turn.");
+                .replace("$error", "It's not your turn.")
+                .replace("$code", "USER_TURN");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -349,7 +356,7 @@ public class BuyReservedMineTests {
         this.database.addUser(owner);
         this.database.addUser(player);
         this.database.addRoom(room);
-        this.database.getAllCards().add(card);
+        this.database.addCard(card);
 
         room.startGame();
         owner.reserveCard(card, false);
@@ -370,7 +377,7 @@ public class BuyReservedMineTests {
         assertTrue(owner.hasPerformedAction());
 
         card = new Card(CardTier.LEVEL_1,0,0,0,0,0,0, TokenType.EMERALD, 3);
-        this.database.getAllCards().add(card);
+        this.database.addCard(card);
         owner.reserveCard(card, false);
 
         message = this.newBaseMessage()
@@ -387,7 +394,8 @@ public class BuyReservedMineTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You have already performed an action.");
+                .replace("$error", "You have already performed an action.")
+                .replace("$code", "USER_TURN");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -427,7 +435,8 @@ public class BuyReservedMineTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "Couldn't find a card with given UUID.");
+                .replace("$error", "Couldn't find a card with given UUID.")
+                .replace("$code", "CARD_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -449,10 +458,9 @@ public class BuyReservedMineTests {
         this.database.addUser(owner);
         this.database.addUser(player);
         this.database.addRoom(room);
-        this.database.getAllCards().add(card);
+        this.database.addCard(card);
 
         room.startGame();
-        room.getGame().getRevealedCards(CardTier.LEVEL_1).remove(card);
 
         String message = this.newBaseMessage()
                 .replace("$userUuid", owner.getUuid().toString())
@@ -468,7 +476,8 @@ public class BuyReservedMineTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "The card is not in the reserved deck.");
+                .replace("$error", "The card is not in the reserved deck.")
+                .replace("$code", "CARD_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -497,18 +506,18 @@ public class BuyReservedMineTests {
 
                 Field privateField = Game.class.getDeclaredField("revealedCards");
                 privateField.setAccessible(true);
-                Map<CardTier, Deck> revealedDecks = (HashMap<CardTier, Deck>) privateField.get(game);
+                Map<CardTier, List<Card>> revealedDecks = (HashMap<CardTier, List<Card>>) privateField.get(game);
                 cardToBuy = revealedDecks.get(CardTier.LEVEL_1).get(0);
 
                 Field privateTokens = User.class.getDeclaredField("tokens");
                 privateTokens.setAccessible(true);
-                tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+                tokens = (TokenVector) privateTokens.get(owner);
 
-                tokens.put(TokenType.RUBY, 0);
-                tokens.put(TokenType.EMERALD, 0);
-                tokens.put(TokenType.SAPPHIRE, 0);
-                tokens.put(TokenType.DIAMOND, 0);
-                tokens.put(TokenType.ONYX, 0);
+                tokens.set(TokenType.RUBY, 0);
+                tokens.set(TokenType.EMERALD, 0);
+                tokens.set(TokenType.SAPPHIRE, 0);
+                tokens.set(TokenType.DIAMOND, 0);
+                tokens.set(TokenType.ONYX, 0);
 
                 owner.reserveCard(cardToBuy, false);
         }catch (Exception e){
@@ -537,7 +546,7 @@ public class BuyReservedMineTests {
             "contextId": "$contextUuid",
             "type": "BUY_RESERVED_MINE_RESPONSE",
             "result": "FAILURE",
-            "data": {"error":"You don't have enough tokens to buy this card"}
+            "data": {"error":"You don't have enough tokens to buy this card","code":"NOT_ENOUGH_TOKENS"}
         }
         """.replace("$contextUuid", messageUuid);
             
@@ -2,6 +2,7 @@ package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -21,6 +22,7 @@ import com.github.splendor_mobile_game.game.model.Card;
 import com.github.splendor_mobile_game.game.model.Deck;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
@@ -55,7 +57,8 @@ public class BuyRevealedMineTests {
                     "type": "BUY_REVEALED_MINE_RESPONSE",
                     "result": "FAILURE",
                     "data": {
-                        "error": "$error"
+                        "error": "$error",
+                        "code": "$code"
                     }
                 }
                 """.replace("$contextUuid", contextUuid);
@@ -86,18 +89,18 @@ public class BuyRevealedMineTests {
         try{
             Field privateField = Game.class.getDeclaredField("revealedCards");
             privateField.setAccessible(true);
-            Map<CardTier,Deck> revealedDecks = (HashMap<CardTier,Deck>)privateField.get(game);
+            Map<CardTier, List<Card>> revealedDecks = (HashMap<CardTier, List<Card>>)privateField.get(game);
             cardToBuy = revealedDecks.get(CardTier.LEVEL_1).get(0);
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            Map<TokenType, Integer> tokens = (HashMap<TokenType,Integer>)privateTokens.get(owner);
+            TokenVector tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY,cardToBuy.getCost(TokenType.RUBY)+2);
-            tokens.put(TokenType.EMERALD,cardToBuy.getCost(TokenType.EMERALD)+1);
-            tokens.put(TokenType.SAPPHIRE,cardToBuy.getCost(TokenType.SAPPHIRE));
-            tokens.put(TokenType.DIAMOND,cardToBuy.getCost(TokenType.DIAMOND));
-            tokens.put(TokenType.ONYX,cardToBuy.getCost(TokenType.ONYX)+1);
+            tokens.set(TokenType.RUBY,cardToBuy.getCost(TokenType.RUBY)+2);
+            tokens.set(TokenType.EMERALD,cardToBuy.getCost(TokenType.EMERALD)+1);
+            tokens.set(TokenType.SAPPHIRE,cardToBuy.getCost(TokenType.SAPPHIRE));
+            tokens.set(TokenType.DIAMOND,cardToBuy.getCost(TokenType.DIAMOND));
+            tokens.set(TokenType.ONYX,cardToBuy.getCost(TokenType.ONYX)+1);
 
         }catch (Exception e){
             e.printStackTrace();
@@ -173,11 +176,11 @@ public class BuyRevealedMineTests {
             privateFieldDecks.setAccessible(true);
             Map<CardTier,Deck> decks = (HashMap<CardTier,Deck>)privateFieldDecks.get(game);
           
-            decks.get(CardTier.LEVEL_1).removeAll(decks.get(CardTier.LEVEL_1));
+            while (decks.get(CardTier.LEVEL_1).draw() != null);
             
             Field privateFieldRevealedCards = Game.class.getDeclaredField("revealedCards");
             privateFieldRevealedCards.setAccessible(true);
-            Map<CardTier,Deck> revealedCards = (HashMap<CardTier,Deck>)privateFieldRevealedCards.get(game);
+            Map<CardTier, List<Card>> revealedCards = (HashMap<CardTier, List<Card>>)privateFieldRevealedCards.get(game);
 
             for(int i=0; i<3;i++){
                 revealedCards.get(CardTier.LEVEL_1).remove(0);
@@ -187,13 +190,13 @@ public class BuyRevealedMineTests {
 
             Field privateFieldTokens = User.class.getDeclaredField("tokens");
             privateFieldTokens.setAccessible(true);
-            Map<TokenType, Integer> tokens = (HashMap<TokenType,Integer>)privateFieldTokens.get(owner);
+            TokenVector tokens = (TokenVector) privateFieldTokens.get(owner);
 
-            tokens.put(TokenType.RUBY,cardToBuy.getCost(TokenType.RUBY)+2);
-            tokens.put(TokenType.EMERALD,cardToBuy.getCost(TokenType.EMERALD)+1);
-            tokens.put(TokenType.SAPPHIRE,cardToBuy.getCost(TokenType.SAPPHIRE));
-            tokens.put(TokenType.DIAMOND,cardToBuy.getCost(TokenType.DIAMOND));
-            tokens.put(TokenType.ONYX,cardToBuy.getCost(TokenType.ONYX)+1);
+            tokens.set(TokenType.RUBY,cardToBuy.getCost(TokenType.RUBY)+2);
+            tokens.set(TokenType.EMERALD,cardToBuy.getCost(TokenType.EMERALD)+1);
+            tokens.set(TokenType.SAPPHIRE,cardToBuy.getCost(TokenType.SAPPHIRE));
+            tokens.set(TokenType.DIAMOND,cardToBuy.getCost(TokenType.DIAMOND));
+            tokens.set(TokenType.ONYX,cardToBuy.getCost(TokenType.ONYX)+1);
 
         }catch (Exception e){
             e.printStackTrace();
@@ -293,7 +296,8 @@ public class BuyRevealedMineTests {
         assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
-                .replace("$error", "Couldn't find a user with given UUID.");
+                .replace("$error", "Couldn't find a user with given UUID.")
+                .replace("$code", "USER_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -328,7 +332,8 @@ public class BuyRevealedMineTests {
         assertEquals(user.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
-                .replace("$error", "You are not a member of any room!");
+                .replace("$error", "You are not a member of any room!")
+                .replace("$code", "USER_NOT_A_MEMBER");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -365,7 +370,8 @@ public class BuyRevealedMineTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
-                .replace("$error", "The game hasn't started yet!");
+                .replace("$error", "The game hasn't started yet!")
+                .replace("$code", "ROOM_IN_GAME");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -407,7 +413,8 @@ public class BuyRevealedMineTests {
         assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
-                .replace("$error", "It is not your turn!");
+                .replace("$error", "It is not your turn!")
+                .replace("$code", "USER_TURN");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -449,7 +456,8 @@ public class BuyRevealedMineTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
-                .replace("$error", "Couldn't find a card with given UUID.");
+                .replace("$error", "Couldn't find a card with given UUID.")
+                .replace("$code", "CARD_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -474,10 +482,9 @@ public class BuyRevealedMineTests {
         this.database.addUser(owner);
         this.database.addUser(player);
         this.database.addRoom(room);
-        this.database.getAllCards().add(card);
+        this.database.addCard(card);
 
         room.startGame();
-        room.getGame().getRevealedCards(CardTier.LEVEL_1).remove(card);
 
         String message = this.newBaseMessage(messageUuid)
                 .replace("$userUuid", owner.getUuid().toString())
@@ -493,7 +500,8 @@ public class BuyRevealedMineTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage(messageUuid)
-                .replace("$error", "The card is not in the revealed deck");
+                .replace("$error", "The card is not in the revealed deck")
+                .replace("$code", "CARD_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -48,7 +48,8 @@ public class CreateRoomTests {
             "type":"$responseType",
             "result":"$result",
             "data":{
-                "error":"$error"
+                "error":"$error",
+                "code":"$code"
             }
         }"""
                 .replace("$responseType", ServerMessageType.CREATE_ROOM_RESPONSE.toString())
@@ -215,7 +216,8 @@ public class CreateRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
-                .replace("$error", "Invalid username credentials.");
+                .replace("$error", "Invalid username credentials.")
+                .replace("$code", "INVALID_USERNAME");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -257,7 +259,8 @@ public class CreateRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
-                .replace("$error", "Invalid username credentials.");
+                .replace("$error", "Invalid username credentials.")
+                .replace("$code", "INVALID_USERNAME");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -299,7 +302,8 @@ public class CreateRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
-                .replace("$error", "Invalid room name format.");
+                .replace("$error", "Invalid room name format.")
+                .replace("$code", "INVALID_USERNAME");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -341,7 +345,8 @@ public class CreateRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
-                .replace("$error", "Invalid room name format.");
+                .replace("$error", "Invalid room name format.")
+                .replace("$code", "INVALID_USERNAME");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -383,7 +388,8 @@ public class CreateRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
-                .replace("$error", "Invalid room password format.");
+                .replace("$error", "Invalid room password format.")
+                .replace("$code", "INVALID_PASSWORD");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -0,0 +1,96 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndTurnTests {
+
+    private Database database;
+
+    private String newBaseMessage() {
+        return """
+                {
+                     "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0110",
+                     "type": "END_TURN",
+                     "data": {
+                         "userUuid": "$userUuid"
+                     }
+                }""";
+    }
+
+    @BeforeEach
+    public void setUp() {
+        this.database = new InMemoryDatabase();
+    }
+
+    @Test
+    public void validEndTurnTest() {
+        Room room = this.createStartedRoom(100000, 100001);
+        User player = room.getCurrentPlayer();
+        player.setPerformedAction(true);
+
+        Messenger messenger = this.endTurn(player.getConnectionHashCode(), player);
+
+        assertNotSame(player, room.getCurrentPlayer());
+        assertFalse(player.hasPerformedAction());
+        assertEquals(2, messenger.getMessages().size());
+    }
+
+    @Test
+    public void endTurnOfPlayerInAnotherRoomTest() {
+        Room room = this.createStartedRoom(100000, 100001);
+        Room otherRoom = this.createStartedRoom(100002, 100003);
+        User otherPlayer = otherRoom.getCurrentPlayer();
+        otherPlayer.setPerformedAction(true);
+
+        // The user of the connection names the current player of the other room
+        long connectionHashCode = room.getCurrentPlayer().getConnectionHashCode();
+        Messenger messenger = this.endTurn(connectionHashCode, otherPlayer);
+
+        assertSame(otherPlayer, otherRoom.getCurrentPlayer());
+        assertTrue(otherPlayer.hasPerformedAction());
+
+        assertEquals(1, messenger.getMessages().size());
+        assertEquals(connectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+
+        JsonObject reply = JsonParser.parseString(messenger.getMessages().get(0).getMessage()).getAsJsonObject();
+        assertEquals("FAILURE", reply.get("result").getAsString());
+        assertEquals("You can't end another player's turn.", reply.get("data").getAsJsonObject().get("error").getAsString());
+    }
+
+    private Messenger endTurn(long connectionHashCode, User user) {
+        UserMessage receivedMessage = new UserMessage(this.newBaseMessage().replace("$userUuid", user.getUuid().toString()));
+        Messenger messenger = new Messenger();
+        EndTurn endTurn = new EndTurn(connectionHashCode, receivedMessage, messenger, this.database);
+        receivedMessage.parseDataToClass(EndTurn.DataDTO.class);
+        endTurn.react();
+        return messenger;
+    }
+
+    private Room createStartedRoom(long ownerConnectionHashCode, long playerConnectionHashCode) {
+        User owner = new User(UUID.randomUUID(), "OWNER", ownerConnectionHashCode);
+        User player = new User(UUID.randomUUID(), "PLAYER", playerConnectionHashCode);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(player);
+        this.database.addUser(owner);
+        this.database.addUser(player);
+        this.database.addRoom(room);
+
+        room.startGame();
+        return room;
+    }
+
+}
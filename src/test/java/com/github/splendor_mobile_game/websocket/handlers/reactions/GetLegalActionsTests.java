@@ -0,0 +1,87 @@
+package com.github.splendor_mobile_game.websocket.handlers.reactions;
+
+import com.github.splendor_mobile_game.database.Database;
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.User;
+import com.github.splendor_mobile_game.websocket.communication.UserMessage;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GetLegalActionsTests {
+
+    private Database database;
+
+    private String newBaseMessage() {
+        return """
+                {
+                     "contextId": "80bdc250-5365-4caf-8dd9-a33e709a0110",
+                     "type": "GET_LEGAL_ACTIONS",
+                     "data": {
+                         "userUuid": "$userUuid"
+                     }
+                }""";
+    }
+
+    @BeforeEach
+    public void setUp() {
+        this.database = new InMemoryDatabase();
+    }
+
+    @Test
+    public void validLegalActionsTest() {
+        Room room = this.createStartedRoom(100000, 100001);
+        User player = room.getCurrentPlayer();
+
+        JsonObject reply = this.getLegalActions(player.getConnectionHashCode(), player);
+
+        assertEquals("OK", reply.get("result").getAsString());
+        assertEquals(player.getUuid().toString(), reply.get("data").getAsJsonObject().get("userUuid").getAsString());
+    }
+
+    @Test
+    public void legalActionsOfPlayerInAnotherRoomTest() {
+        Room room = this.createStartedRoom(100000, 100001);
+        Room otherRoom = this.createStartedRoom(100002, 100003);
+
+        // The user of the connection names the current player of the other room
+        JsonObject reply = this.getLegalActions(room.getCurrentPlayer().getConnectionHashCode(), otherRoom.getCurrentPlayer());
+
+        assertEquals("FAILURE", reply.get("result").getAsString());
+        assertEquals("You can't ask for the actions of another player.", reply.get("data").getAsJsonObject().get("error").getAsString());
+    }
+
+    private JsonObject getLegalActions(long connectionHashCode, User user) {
+        UserMessage receivedMessage = new UserMessage(this.newBaseMessage().replace("$userUuid", user.getUuid().toString()));
+        Messenger messenger = new Messenger();
+        GetLegalActions getLegalActions = new GetLegalActions(connectionHashCode, receivedMessage, messenger, this.database);
+        receivedMessage.parseDataToClass(GetLegalActions.DataDTO.class);
+        getLegalActions.react();
+
+        assertEquals(1, messenger.getMessages().size());
+        assertEquals(connectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
+        return JsonParser.parseString(messenger.getMessages().get(0).getMessage()).getAsJsonObject();
+    }
+
+    private Room createStartedRoom(long ownerConnectionHashCode, long playerConnectionHashCode) {
+        User owner = new User(UUID.randomUUID(), "OWNER", ownerConnectionHashCode);
+        User player = new User(UUID.randomUUID(), "PLAYER", playerConnectionHashCode);
+        Room room = new Room(UUID.randomUUID(), "ROOM", "PASSWORD", owner, this.database);
+        room.joinGame(player);
+        this.database.addUser(owner);
+        this.database.addUser(player);
+        this.database.addRoom(room);
+
+        room.startGame();
+        return room;
+    }
+
+}
@@ -15,6 +15,7 @@ import com.github.splendor_mobile_game.database.InMemoryDatabase;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
@@ -148,25 +149,25 @@ public class GetTokensTest {
         try{
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            Map<TokenType, Integer> tokens = (HashMap<TokenType,Integer>)privateTokens.get(owner);
+            TokenVector tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY,1);
-            tokens.put(TokenType.EMERALD,3);
-            tokens.put(TokenType.SAPPHIRE,1);
-            tokens.put(TokenType.DIAMOND,2);
-            tokens.put(TokenType.ONYX,0);
-            tokens.put(TokenType.GOLD_JOKER,3);
+            tokens.set(TokenType.RUBY,1);
+            tokens.set(TokenType.EMERALD,3);
+            tokens.set(TokenType.SAPPHIRE,1);
+            tokens.set(TokenType.DIAMOND,2);
+            tokens.set(TokenType.ONYX,0);
+            tokens.set(TokenType.GOLD_JOKER,3);
 
             Field privateTokensGame = Game.class.getDeclaredField("tokensOnTable");
             privateTokensGame.setAccessible(true);
-            Map<TokenType, Integer> tokensOnTable = (HashMap<TokenType,Integer>)privateTokensGame.get(game);
-
-            tokensOnTable.put(TokenType.RUBY,3);
-            tokensOnTable.put(TokenType.EMERALD,1);
-            tokensOnTable.put(TokenType.SAPPHIRE,3);
-            tokensOnTable.put(TokenType.DIAMOND,2);
-            tokensOnTable.put(TokenType.ONYX,4);
-            tokensOnTable.put(TokenType.GOLD_JOKER,2);
+            TokenVector tokensOnTable = (TokenVector) privateTokensGame.get(game);
+
+            tokensOnTable.set(TokenType.RUBY,3);
+            tokensOnTable.set(TokenType.EMERALD,1);
+            tokensOnTable.set(TokenType.SAPPHIRE,3);
+            tokensOnTable.set(TokenType.DIAMOND,2);
+            tokensOnTable.set(TokenType.ONYX,4);
+            tokensOnTable.set(TokenType.GOLD_JOKER,2);
 
         }catch (Exception e){
             e.printStackTrace();
@@ -4,9 +4,9 @@ import com.github.splendor_mobile_game.database.Database;
 import com.github.splendor_mobile_game.database.InMemoryDatabase;
 import com.github.splendor_mobile_game.game.enums.TokenType;
 import com.github.splendor_mobile_game.game.model.Card;
-import com.github.splendor_mobile_game.game.model.Deck;
 import com.github.splendor_mobile_game.game.model.Game;
 import com.github.splendor_mobile_game.game.model.Room;
+import com.github.splendor_mobile_game.game.model.TokenVector;
 import com.github.splendor_mobile_game.game.model.User;
 import com.github.splendor_mobile_game.websocket.communication.UserMessage;
 import com.github.splendor_mobile_game.websocket.handlers.Messenger;
@@ -18,8 +18,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -31,7 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class GetTokensTests {
 
     private Database database;
-    private Map<TokenType, Integer> tokens;
+    private TokenVector tokens;
     private final String messageUuid = "80bdc250-5365-4caf-8dd9-a33e709a0110";
 
     private String newBaseMessage() {
@@ -94,7 +92,8 @@ public class GetTokensTests {
                     "type": "GET_TOKENS_RESPONSE",
                     "result": "FAILURE",
                     "data": {
-                        "error": "$error"
+                        "error": "$error",
+                        "code": "$code"
                     }
                 }
                 """.replace("$contextUuid", this.messageUuid);
@@ -185,13 +184,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 8);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 8);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -264,13 +263,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 10);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 10);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -406,13 +405,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 9);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 9);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -485,13 +484,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 10);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 10);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -598,7 +597,8 @@ public class GetTokensTests {
         assertEquals(clientConnectionHashCode, messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "User with this UUID not found");
+                .replace("$error", "User with this UUID not found")
+                .replace("$code", "INVALID_UUID");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -638,7 +638,8 @@ public class GetTokensTests {
         assertEquals(user.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "This user isn't in any room");
+                .replace("$error", "This user isn't in any room")
+                .replace("$code", "ROOM_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -682,7 +683,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You can't take tokens when game didn't start");
+                .replace("$error", "You can't take tokens when game didn't start")
+                .replace("$code", "GAME_NOT_STARTED");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -731,7 +733,8 @@ public class GetTokensTests {
         assertEquals(player.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "It's not your turn");
+                .replace("$error", "It's not your turn")
+                .replace("$code", "NOT_THIS_USER_TURN");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -801,7 +804,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You've already made an action this round");
+                .replace("$error", "You've already made an action this round")
+                .replace("$code", "NOT_THIS_USER_TURN");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -829,13 +833,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 0);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 1);
+            tokens.set(TokenType.RUBY, 0);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 1);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -863,7 +867,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You are trying to return tokens when you already have less than 10");
+                .replace("$error", "You are trying to return tokens when you already have less than 10")
+                .replace("$code", "TOO_MANY_RETURNED_TOKENS");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -891,13 +896,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 0);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 1);
+            tokens.set(TokenType.RUBY, 0);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 1);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -925,7 +930,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You are trying to return tokens when you already have less than 10");
+                .replace("$error", "You are trying to return tokens when you already have less than 10")
+                .replace("$code", "TOO_MANY_RETURNED_TOKENS");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -953,13 +959,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 8);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 8);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -987,7 +993,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You don't have enough tokens to return");
+                .replace("$error", "You don't have enough tokens to return")
+                .replace("$code", "WRONG_TOKEN_CHOICE");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1015,13 +1022,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 9);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 9);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1049,7 +1056,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You don't have enough tokens to return");
+                .replace("$error", "You don't have enough tokens to return")
+                .replace("$code", "WRONG_TOKEN_CHOICE");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1077,13 +1085,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 8);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 8);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1111,7 +1119,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You are trying to return too many tokens");
+                .replace("$error", "You are trying to return too many tokens")
+                .replace("$code", "TOO_MANY_RETURNED_TOKENS");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1139,13 +1148,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 9);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 9);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1173,7 +1182,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You are trying to return too many tokens");
+                .replace("$error", "You are trying to return too many tokens")
+                .replace("$code", "TOO_MANY_RETURNED_TOKENS");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1201,13 +1211,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 8);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 8);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1235,7 +1245,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You have too many tokens");
+                .replace("$error", "You have too many tokens")
+                .replace("$code", "TOO_MANY_TOKENS");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1263,13 +1274,13 @@ public class GetTokensTests {
 
             Field privateTokens = User.class.getDeclaredField("tokens");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(owner);
+            tokens = (TokenVector) privateTokens.get(owner);
 
-            tokens.put(TokenType.RUBY, 9);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 9);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1297,7 +1308,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You have too many tokens");
+                .replace("$error", "You have too many tokens")
+                .replace("$code", "TOO_MANY_TOKENS");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1343,7 +1355,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "You've taken too many RUBY tokens");
+                .replace("$error", "You've taken too many RUBY tokens")
+                .replace("$code", "WRONG_TOKEN_CHOICE");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1371,13 +1384,13 @@ public class GetTokensTests {
 
             Field privateTokens = Game.class.getDeclaredField("tokensOnTable");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(room.getGame());
+            tokens = (TokenVector) privateTokens.get(room.getGame());
 
-            tokens.put(TokenType.RUBY, 0);
-            tokens.put(TokenType.SAPPHIRE, 4);
-            tokens.put(TokenType.EMERALD, 4);
-            tokens.put(TokenType.DIAMOND, 4);
-            tokens.put(TokenType.ONYX, 4);
+            tokens.set(TokenType.RUBY, 0);
+            tokens.set(TokenType.SAPPHIRE, 4);
+            tokens.set(TokenType.EMERALD, 4);
+            tokens.set(TokenType.DIAMOND, 4);
+            tokens.set(TokenType.ONYX, 4);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1405,7 +1418,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "There are not enough RUBY tokens on the table");
+                .replace("$error", "There are not enough RUBY tokens on the table")
+                .replace("$code", "WRONG_TOKEN_CHOICE");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1433,13 +1447,13 @@ public class GetTokensTests {
 
             Field privateTokens = Game.class.getDeclaredField("tokensOnTable");
             privateTokens.setAccessible(true);
-            tokens = (HashMap<TokenType, Integer>) privateTokens.get(room.getGame());
+            tokens = (TokenVector) privateTokens.get(room.getGame());
 
-            tokens.put(TokenType.RUBY, 0);
-            tokens.put(TokenType.SAPPHIRE, 0);
-            tokens.put(TokenType.EMERALD, 0);
-            tokens.put(TokenType.DIAMOND, 0);
-            tokens.put(TokenType.ONYX, 0);
+            tokens.set(TokenType.RUBY, 0);
+            tokens.set(TokenType.SAPPHIRE, 0);
+            tokens.set(TokenType.EMERALD, 0);
+            tokens.set(TokenType.DIAMOND, 0);
+            tokens.set(TokenType.ONYX, 0);
         }catch (Exception e){
                 e.printStackTrace();
         }
@@ -1514,7 +1528,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "Your token choice is wrong");
+                .replace("$error", "Your token choice is wrong")
+                .replace("$code", "WRONG_TOKEN_CHOICE");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1560,7 +1575,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "Your token choice is wrong");
+                .replace("$error", "Your token choice is wrong")
+                .replace("$code", "WRONG_TOKEN_CHOICE");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1606,7 +1622,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "Your token choice is wrong");
+                .replace("$error", "Your token choice is wrong")
+                .replace("$code", "WRONG_TOKEN_CHOICE");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1652,7 +1669,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "Your token choice is wrong");
+                .replace("$error", "Your token choice is wrong")
+                .replace("$code", "WRONG_TOKEN_CHOICE");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
@@ -1698,7 +1716,8 @@ public class GetTokensTests {
         assertEquals(owner.getConnectionHashCode(), messenger.getMessages().get(0).getReceiverHashcode());
 
         String expectedJsonString = this.newBaseErrorMessage()
-                .replace("$error", "Your token choice is wrong");
+                .replace("$error", "Your token choice is wrong")
+                .replace("$code", "WRONG_TOKEN_CHOICE");
 
         String reply = messenger.getMessages().get(0).getMessage();
         
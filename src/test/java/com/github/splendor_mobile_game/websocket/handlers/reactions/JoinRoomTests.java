@@ -46,7 +46,8 @@ public class JoinRoomTests {
             "type":"JOIN_ROOM_RESPONSE",
             "result":"FAILURE",
             "data":{
-                "error":"$error"
+                "error":"$error",
+                "code":"$code"
             }
         }""";
     }
@@ -189,7 +190,8 @@ public class JoinRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
-                .replace("$error","Could not find a room with specified enterCode.");
+                .replace("$error","Could not find a room with specified enterCode.")
+                .replace("$code","ROOM_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -248,7 +250,8 @@ public class JoinRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
-                .replace("$error","Room has already reached maximum player count!");
+                .replace("$error","Room has already reached maximum player count!")
+                .replace("$code","ROOM_FULL");
 
         String reply = messenger.getMessages().get(messenger.getMessages().size() - 1).getMessage();
 
@@ -298,7 +301,8 @@ public class JoinRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
-                .replace("$error","Leave your current room before joining another.");
+                .replace("$error","Leave your current room before joining another.")
+                .replace("$code","USER_ALREADY_IN_ROOM");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -336,7 +340,8 @@ public class JoinRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
-                .replace("$error","Wrong password!");
+                .replace("$error","Wrong password!")
+                .replace("$code","INVALID_PASSWORD");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -391,7 +396,8 @@ public class JoinRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
-                .replace("$error","Invalid enter code format.");
+                .replace("$error","Invalid enter code format.")
+                .replace("$code","INVALID_ENTER_CODE");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -427,7 +433,8 @@ public class JoinRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId","80bdc250-5365-4caf-8dd9-a33e709a0117")
-                .replace("$error","Invalid enter code format.");
+                .replace("$error","Invalid enter code format.")
+                .replace("$code","INVALID_ENTER_CODE");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -51,7 +51,8 @@ public class LeaveRoomTests {
             "type":"LEAVE_ROOM_RESPONSE",
             "result":"FAILURE",
             "data":{
-                "error":"$error"
+                "error":"$error",
+                "code":"$code"
             }
         }""";
     }
@@ -309,7 +310,8 @@ public class LeaveRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
-                .replace("$error", "Could not find a room with specified UUID.");
+                .replace("$error", "Could not find a room with specified UUID.")
+                .replace("$code", "ROOM_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -348,7 +350,8 @@ public class LeaveRoomTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", messageContextId)
-                .replace("$error", "User is not a member of this room");
+                .replace("$error", "User is not a member of this room")
+                .replace("$code", "USER_NOT_A_MEMBER");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
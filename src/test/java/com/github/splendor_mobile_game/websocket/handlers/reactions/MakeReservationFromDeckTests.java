@@ -46,7 +46,8 @@ public class MakeReservationFromDeckTests {
             "type":"MAKE_RESERVATION_FROM_DECK_RESPONSE",
             "result":"FAILURE",
             "data":{
-                "error":"$error"
+                "error":"$error",
+                "code":"$code"
             }
         }""";
     }
@@ -126,7 +127,8 @@ public class MakeReservationFromDeckTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
-                .replace("$error", "Couldn't find a user with given UUID.");
+                .replace("$error", "Couldn't find a user with given UUID.")
+                .replace("$code", "USER_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -160,7 +162,8 @@ public class MakeReservationFromDeckTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
-                .replace("$error", "You are not a member of any room!");
+                .replace("$error", "You are not a member of any room!")
+                .replace("$code", "USER_NOT_A_MEMBER");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -196,7 +199,8 @@ public class MakeReservationFromDeckTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
-                .replace("$error", "The game hasn't started yet!");
+                .replace("$error", "The game hasn't started yet!")
+                .replace("$code", "ROOM_IN_GAME");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -237,7 +241,8 @@ public class MakeReservationFromDeckTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
-                .replace("$error", "It is not your turn!");
+                .replace("$error", "It is not your turn!")
+                .replace("$code", "USER_TURN");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -286,7 +291,8 @@ public class MakeReservationFromDeckTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
-                .replace("$error", "You have reached the current reserved cards limit.");
+                .replace("$error", "You have reached the current reserved cards limit.")
+                .replace("$code", "USER_RESERVATION");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -348,7 +354,8 @@ public class MakeReservationFromDeckTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
-                .replace("$error", "You have reached the limit of reserved cards per game.");
+                .replace("$error", "You have reached the limit of reserved cards per game.")
+                .replace("$code", "USER_RESERVATION");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -397,7 +404,8 @@ public class MakeReservationFromDeckTests {
 
         String expectedJsonString = this.newBaseErrorResponse()
                 .replace("$messageContextId", "02442d1b-2095-4aaa-9db1-0dae99d88e00")
-                .replace("$error", "You have reached the maximum token count on hand.");
+                .replace("$error", "You have reached the maximum token count on hand.")
+                .replace("$code", "TOKEN_COUNT");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -1,7 +1,11 @@
 package com.github.splendor_mobile_game.websocket.handlers.reactions;
 
+import com.github.splendor_mobile_game.database.InMemoryDatabase;
+import com.github.splendor_mobile_game.websocket.handlers.Messenger;
 import com.github.splendor_mobile_game.websocket.handlers.Reaction;
+import com.github.splendor_mobile_game.websocket.handlers.ReactionBinding;
 import com.github.splendor_mobile_game.websocket.handlers.ReactionManager;
+import com.github.splendor_mobile_game.websocket.handlers.UserRequestType;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -89,4 +93,29 @@ public class ReactionManagerTests {
         assertEquals(1, reactions.size());
         assertTrue(reactions.containsKey("test-reaction"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBindingOfValidClassWithoutMatchingRequestType(){
+        ReactionManager manager = new ReactionManager();
+        List<Class<?>> classList = new ArrayList<>();
+        classList.add(TestValidClassWithAnnotation.class);
+        manager.loadReactions(classList);
+        assertTrue(manager.getBindings().isEmpty());
+    }
+
+    @Test
+    public void testBindingOfReaction(){
+        ReactionManager manager = new ReactionManager();
+        List<Class<?>> classList = new ArrayList<>();
+        classList.add(CreateRoom.class);
+        manager.loadReactions(classList);
+
+        ReactionBinding binding = manager.getBindings().get(UserRequestType.CREATE_ROOM);
+        assertNotNull(binding);
+        assertEquals(CreateRoom.class, binding.getReactionClass());
+        assertEquals(CreateRoom.DataDTO.class, binding.getDataClass());
+
+        Reaction reaction = binding.createReaction(100000, null, new Messenger(), new InMemoryDatabase());
+        assertInstanceOf(CreateRoom.class, reaction);
+    }
+}
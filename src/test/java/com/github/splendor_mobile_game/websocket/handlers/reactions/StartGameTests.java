@@ -47,7 +47,8 @@ public class StartGameTests {
                     "type": "START_GAME_RESPONSE",
                     "result": "FAILURE",
                     "data": {
-                        "error": "$error"
+                        "error": "$error",
+                        "code": "$code"
                     }
                 }
                 """;
@@ -112,7 +113,8 @@ public class StartGameTests {
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
-                .replace("$error", "Couldn't find a user with given UUID.");
+                .replace("$error", "Couldn't find a user with given UUID.")
+                .replace("$code", "USER_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -149,7 +151,8 @@ public class StartGameTests {
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
-                .replace("$error", "Couldn't find a room with given UUID.");
+                .replace("$error", "Couldn't find a room with given UUID.")
+                .replace("$code", "ROOM_DOESNT_EXIST");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -191,7 +194,8 @@ public class StartGameTests {
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
-                .replace("$error", "You are not an owner of the room.");
+                .replace("$error", "You are not an owner of the room.")
+                .replace("$code", "ROOM_OWNERSHIP");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -244,7 +248,8 @@ public class StartGameTests {
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
-                .replace("$error", "The game has already started!");
+                .replace("$error", "The game has already started!")
+                .replace("$code", "ROOM_IN_GAME");
 
         reply = messenger.getMessages().get(0).getMessage();
 
@@ -283,7 +288,8 @@ public class StartGameTests {
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
-                .replace("$error", "Cannot start the game due to insufficient or overload number of players.");
+                .replace("$error", "Cannot start the game due to insufficient or overload number of players.")
+                .replace("$code", "ROOM_PLAYER_COUNT");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
@@ -328,7 +334,8 @@ public class StartGameTests {
 
         String expectedJsonString = this.newBaseErrorMessage()
                 .replace("$contextUuid", contextUuid)
-                .replace("$error", "Cannot start the game due to insufficient or overload number of players.");
+                .replace("$error", "Cannot start the game due to insufficient or overload number of players.")
+                .replace("$code", "ROOM_PLAYER_COUNT");
 
         String reply = messenger.getMessages().get(0).getMessage();
 
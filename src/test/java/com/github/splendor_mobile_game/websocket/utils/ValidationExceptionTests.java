@@ -0,0 +1,60 @@
+package com.github.splendor_mobile_game.websocket.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.InvalidUUIDException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.NotThisUserTurnException;
+import com.github.splendor_mobile_game.websocket.handlers.exceptions.PerrmissionDeniedExeption;
+
+public class ValidationExceptionTests {
+
+    @Test
+    public void validationExceptionHasNoStackTraceTest() {
+        NotThisUserTurnException exception = new NotThisUserTurnException("It's not your turn");
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("It's not your turn", exception.getMessage());
+    }
+
+    @Test
+    public void customExceptionHasNoStackTraceTest() {
+        CustomException exception = new CustomException("Invalid message");
+
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    public void causeKeepsItsStackTraceTest() {
+        IllegalStateException cause = new IllegalStateException("broken");
+        CustomException exception = new CustomException("Invalid message", cause);
+
+        assertSame(cause, exception.getCause());
+        assertTrue(cause.getStackTrace().length > 0);
+    }
+
+    @Test
+    public void errorCodeIsDerivedFromClassNameTest() {
+        assertEquals("NOT_THIS_USER_TURN", new NotThisUserTurnException().getCode());
+        assertEquals("PERRMISSION_DENIED", new PerrmissionDeniedExeption().getCode());
+        assertEquals("CUSTOM", new CustomException().getCode());
+        assertEquals("INVALID_UUID", new InvalidUUIDException().getCode());
+    }
+
+    @Test
+    public void errorCodeIsFoundForReportedExceptionTest() {
+        assertEquals("NOT_THIS_USER_TURN", ErrorCodes.ofException(new NotThisUserTurnException()));
+        assertEquals("CUSTOM", ErrorCodes.ofException(new CustomException()));
+        assertNull(ErrorCodes.ofException(new IllegalStateException()));
+    }
+
+    @Test
+    public void errorCodeIsSentWithCustomExceptionTest() {
+        String json = new CustomException("Invalid message").toJsonResponse();
+
+        assertTrue(json.contains("\"code\":\"CUSTOM\""));
+        assertTrue(json.contains("\"error\":\"Invalid message\""));
+    }
+
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonMissingFieldException;
 import com.github.splendor_mobile_game.websocket.utils.json.exceptions.JsonParserException;
+import com.google.gson.JsonElement;
 
 public class JsonParserTest {
 
@@ -31,6 +32,23 @@ public class JsonParserTest {
         Assertions.assertEquals("john@example.com", person.getEmail());
     }
 
+    @Test
+    public void parseJson_jsonTree_returnObject() throws JsonParserException {
+        JsonElement json = com.google.gson.JsonParser.parseString("{ \"name\": \"John\", \"age\": 30, \"email\": \"john@example.com\" }");
+        Person person = JsonParser.parseJson(json, Person.class);
+        Assertions.assertEquals("John", person.getName());
+        Assertions.assertEquals(30, person.getAge());
+        Assertions.assertEquals("john@example.com", person.getEmail());
+    }
+
+    @Test
+    public void parseJson_jsonTreeMissingRequiredField_throwException() {
+        JsonElement json = com.google.gson.JsonParser.parseString("{ \"name\": \"John\", \"age\": 30 }");
+        JsonParserException e = Assertions.assertThrows(JsonParserException.class, () -> JsonParser.parseJson(json, Person.class));
+        Assertions.assertTrue(e instanceof JsonMissingFieldException);
+        Assertions.assertEquals("Missing required field: email", e.getMessage());
+    }
+
     private static class Person {
         private String name;
         private int age;
@@ -99,4 +117,21 @@ public class JsonParserTest {
         // Assertions.assertEquals(30, person.getAge());
         // Assertions.assertEquals("john@example.com", person.getEmail());
     }
-}
\ No newline at end of file
+
+    private static class Tags {
+        String[] tags;
+    }
+
+    @Test
+    public void primitiveArray_returnObject() throws JsonParserException {
+        Tags tags = JsonParser.parseJson("{ \"tags\": [\"a\", \"b\"] }", Tags.class);
+        Assertions.assertArrayEquals(new String[] {"a", "b"}, tags.tags);
+    }
+
+    @Test
+    public void missingArray_throwException() {
+        JsonParserException e = Assertions.assertThrows(JsonParserException.class, () -> JsonParser.parseJson("{}", Tags.class));
+        Assertions.assertTrue(e instanceof JsonMissingFieldException);
+        Assertions.assertEquals("Missing required field: tags", e.getMessage());
+    }
+}